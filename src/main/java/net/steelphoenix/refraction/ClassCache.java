@@ -0,0 +1,139 @@
+package net.steelphoenix.refraction;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * A per class cache backed by a {@link ClassValue}.
+ * Values are stored with the class they belong to, so caching a value never keeps a class or its class loader from being unloaded.
+ * Values can be invalidated per class or for all classes defined by a class loader.
+ * This class is thread safe.
+ *
+ * @param <V> Value type.
+ *
+ * @author SteelPhoenix
+ */
+public final class ClassCache<V> {
+
+	private static final Set<ClassCache<?>> CACHES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+	private final Function<Class<?>, ? extends V> function;
+	private final Map<ClassLoader, List<WeakReference<Class<?>>>> loaded = new WeakHashMap<>();
+	private final ClassValue<V> values = new ClassValue<V>() {
+
+		@Override
+		protected V computeValue(Class<?> type) {
+			V value = function.apply(type);
+			track(type);
+			return value;
+		}
+	};
+
+	public ClassCache(Function<Class<?>, ? extends V> function) {
+		if (function == null) {
+			throw new NullPointerException("Function cannot be null");
+		}
+
+		this.function = function;
+		CACHES.add(this);
+	}
+
+	/**
+	 * Get the value for a class, computing it if it is not cached.
+	 *
+	 * @param type Class.
+	 * @return the value.
+	 */
+	public V get(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return values.get(type);
+	}
+
+	/**
+	 * Invalidate the value of a class.
+	 *
+	 * @param type Class.
+	 */
+	public void invalidate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		values.remove(type);
+	}
+
+	/**
+	 * Invalidate the values of all classes defined by a class loader.
+	 *
+	 * @param loader Class loader or null for the bootstrap class loader.
+	 */
+	public void invalidate(ClassLoader loader) {
+		List<WeakReference<Class<?>>> types;
+		synchronized (loaded) {
+			types = loaded.remove(loader);
+		}
+
+		if (types == null) {
+			return;
+		}
+		for (WeakReference<Class<?>> reference : types) {
+			Class<?> type = reference.get();
+			if (type != null) {
+				values.remove(type);
+			}
+		}
+	}
+
+	/**
+	 * Remember a class so it can be invalidated by class loader.
+	 * Classes are referenced weakly, the list of a class loader does not keep the loader reachable.
+	 *
+	 * @param type Class.
+	 */
+	private void track(Class<?> type) {
+		synchronized (loaded) {
+			List<WeakReference<Class<?>>> types = loaded.computeIfAbsent(type.getClassLoader(), key -> new ArrayList<>());
+
+			// Drop classes that were unloaded, only at powers of two to keep tracking amortized constant time
+			int size = types.size();
+			if (size > 0 && (size & size - 1) == 0) {
+				Iterator<WeakReference<Class<?>>> iterator = types.iterator();
+				while (iterator.hasNext()) {
+					if (iterator.next().get() == null) {
+						iterator.remove();
+					}
+				}
+			}
+
+			types.add(new WeakReference<>(type));
+		}
+	}
+
+	/**
+	 * Invalidate the values of all classes defined by a class loader in all caches.
+	 * This should be called when a class loader is discarded, for example when a plugin is reloaded.
+	 *
+	 * @param loader Class loader or null for the bootstrap class loader.
+	 */
+	public static void invalidateAll(ClassLoader loader) {
+		List<ClassCache<?>> caches;
+		synchronized (CACHES) {
+			caches = new ArrayList<>(CACHES);
+		}
+
+		for (ClassCache<?> cache : caches) {
+			cache.invalidate(loader);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package net.steelphoenix.refraction;
+
+import java.util.function.Function;
+
+import net.steelphoenix.refraction.reflection.ExactReflectionHelper;
+import net.steelphoenix.refraction.reflection.ReflectionHelper;
+import net.steelphoenix.refraction.structure.IStructureModifier;
+import net.steelphoenix.refraction.structure.StructureModifier;
+
+/**
+ * A call site cache for values resolved from a receiver class.
+ * The last four receiver classes are remembered together with their value, other classes are resolved through the fallback and replace the oldest entry.
+ * Caches are meant to be held in a static final field at the call site they serve.
+ * This class is thread safe: entries are immutable, so racing updates at worst cause an extra resolution.
+ *
+ * @param <V> Value type.
+ *
+ * @author SteelPhoenix
+ */
+public final class InlineCache<V> {
+
+	private final Function<Class<?>, ? extends V> resolver;
+	private Entry<V> entry0;
+	private Entry<V> entry1;
+	private Entry<V> entry2;
+	private Entry<V> entry3;
+	private int next;
+
+	public InlineCache(Function<Class<?>, ? extends V> resolver) {
+		if (resolver == null) {
+			throw new NullPointerException("Resolver cannot be null");
+		}
+
+		this.resolver = resolver;
+	}
+
+	/**
+	 * Get the value for a receiver class.
+	 *
+	 * @param type Receiver class.
+	 * @return the value.
+	 */
+	public V get(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		// Unrolled so the common case is a few reference compares
+		Entry<V> entry = entry0;
+		if (entry != null && entry.type == type) {
+			return entry.value;
+		}
+		entry = entry1;
+		if (entry != null && entry.type == type) {
+			return entry.value;
+		}
+		entry = entry2;
+		if (entry != null && entry.type == type) {
+			return entry.value;
+		}
+		entry = entry3;
+		if (entry != null && entry.type == type) {
+			return entry.value;
+		}
+
+		return miss(type);
+	}
+
+	/**
+	 * Get the value for the class of a receiver.
+	 *
+	 * @param receiver Receiver.
+	 * @return the value.
+	 */
+	public V getFor(Object receiver) {
+		// Preconditions
+		if (receiver == null) {
+			throw new NullPointerException("Receiver cannot be null");
+		}
+
+		return get(receiver.getClass());
+	}
+
+	/**
+	 * Remove all cached entries.
+	 */
+	public void clear() {
+		entry0 = null;
+		entry1 = null;
+		entry2 = null;
+		entry3 = null;
+	}
+
+	/**
+	 * Resolve a value and store it in the next slot.
+	 *
+	 * @param type Receiver class.
+	 * @return the value.
+	 */
+	private V miss(Class<?> type) {
+		V value = resolver.apply(type);
+		Entry<V> entry = new Entry<>(type, value);
+
+		// Round robin replacement
+		switch (next++ & 3) {
+			case 0:
+				entry0 = entry;
+				break;
+			case 1:
+				entry1 = entry;
+				break;
+			case 2:
+				entry2 = entry;
+				break;
+			default:
+				entry3 = entry;
+				break;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Create a cache for structure modifiers.
+	 *
+	 * @return the cache.
+	 *
+	 * @see StructureModifier#of(Class)
+	 */
+	public static InlineCache<IStructureModifier<Object>> ofStructureModifiers() {
+		return new InlineCache<>(StructureModifier::of);
+	}
+
+	/**
+	 * Create a cache for exact reflection helpers.
+	 * Helpers are shared between all lookups of the same class, so their query caches are shared as well.
+	 *
+	 * @return the cache.
+	 *
+	 * @see ReflectionHelper#fromClassExact(Class)
+	 */
+	public static InlineCache<ExactReflectionHelper> ofExactHelpers() {
+		return new InlineCache<>(ReflectionHelper::fromClassExact);
+	}
+
+	/**
+	 * An immutable cache entry.
+	 *
+	 * @param <V> Value type.
+	 */
+	private static class Entry<V> {
+
+		private final Class<?> type;
+		private final V value;
+
+		private Entry(Class<?> type, V value) {
+			this.type = type;
+			this.value = value;
+		}
+	}
+}
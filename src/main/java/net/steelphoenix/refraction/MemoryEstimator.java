@@ -0,0 +1,459 @@
+package net.steelphoenix.refraction;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import net.steelphoenix.refraction.graph.GraphWalker;
+
+/**
+ * A memory footprint estimator.
+ * Shallow sizes are computed from field layouts and cached per class, taking the reference size and object alignment of the running VM into account.
+ * Retained sizes are computed by walking the object graph, large collections, maps and arrays are sampled instead of walked completely.
+ * Internals that cannot be accessed, such as the backing arrays and nodes of JDK strings, collections and maps under strong encapsulation, are estimated from their size.
+ * Other inaccessible references are not counted, see {@link GraphWalker#isTransparent(Class)}.
+ * Note that all sizes are estimates, the actual field layout is up to the VM.
+ *
+ * @author SteelPhoenix
+ */
+public class MemoryEstimator {
+
+	private static final int DEFAULT_SAMPLE_LIMIT = 1024;
+	private static final int REFERENCE_SIZE;
+	private static final int HEADER_SIZE;
+	private static final int ARRAY_HEADER_SIZE;
+	private static final int ALIGNMENT;
+	private static final boolean COMPACT_STRINGS;
+	private static final ClassValue<Long> SIZES = new ClassValue<Long>() {
+
+		@Override
+		protected Long computeValue(Class<?> type) {
+			long size = HEADER_SIZE;
+			for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						size += getSize(field.getType());
+					}
+				}
+			}
+			return Long.valueOf(align(size));
+		}
+	};
+
+	static {
+		if ("32".equals(System.getProperty("sun.arch.data.model"))) {
+			REFERENCE_SIZE = 4;
+			HEADER_SIZE = 8;
+			ALIGNMENT = 8;
+		}
+		else {
+			REFERENCE_SIZE = getOption("UseCompressedOops", true) ? 4 : 8;
+			HEADER_SIZE = getOption("UseCompressedClassPointers", true) ? 12 : 16;
+			ALIGNMENT = getOption("ObjectAlignmentInBytes", 8);
+		}
+
+		// Array elements start at an 8 byte boundary after the length
+		ARRAY_HEADER_SIZE = (HEADER_SIZE + 4 + 7) & ~7;
+
+		// Java 8 strings are always backed by chars
+		COMPACT_STRINGS = !System.getProperty("java.specification.version", "1.8").startsWith("1.") && getOption("CompactStrings", true);
+	}
+
+	private MemoryEstimator() {
+		// Nothing
+	}
+
+	/**
+	 * Get the size of a reference.
+	 *
+	 * @return the reference size in bytes.
+	 */
+	public static int getReferenceSize() {
+		return REFERENCE_SIZE;
+	}
+
+	/**
+	 * Get the size of an object header.
+	 *
+	 * @return the header size in bytes.
+	 */
+	public static int getHeaderSize() {
+		return HEADER_SIZE;
+	}
+
+	/**
+	 * Get the object alignment.
+	 *
+	 * @return the alignment in bytes.
+	 */
+	public static int getAlignment() {
+		return ALIGNMENT;
+	}
+
+	/**
+	 * Get the shallow size of instances of a class.
+	 *
+	 * @param type Class.
+	 * @return the shallow size in bytes.
+	 * @throws IllegalArgumentException If the class has no fixed instance size.
+	 */
+	public static long getShallowSize(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (type.isPrimitive() || type.isArray() || type.isInterface()) {
+			throw new IllegalArgumentException("Type has no fixed instance size");
+		}
+
+		return SIZES.get(type).longValue();
+	}
+
+	/**
+	 * Get the shallow size of an object.
+	 * Referenced objects are not included.
+	 *
+	 * @param object Object.
+	 * @return the shallow size in bytes.
+	 */
+	public static long getShallowSize(Object object) {
+		// Preconditions
+		if (object == null) {
+			throw new NullPointerException("Object cannot be null");
+		}
+
+		Class<?> type = object.getClass();
+		if (type.isArray()) {
+			return getArraySize(Array.getLength(object), getSize(type.getComponentType()));
+		}
+
+		return SIZES.get(type).longValue();
+	}
+
+	/**
+	 * Get the retained size of an object.
+	 * This is the shallow size of all objects reachable from it, class and class loader instances excluded.
+	 * Collections, maps and arrays with more than 1024 elements are sampled.
+	 *
+	 * @param root Root object.
+	 * @return the retained size in bytes.
+	 */
+	public static long getRetainedSize(Object root) {
+		return getRetainedSize(root, DEFAULT_SAMPLE_LIMIT);
+	}
+
+	/**
+	 * Get the retained size of an object.
+	 * This is the shallow size of all objects reachable from it, class and class loader instances excluded.
+	 * Only a sample of the elements of large collections, maps and arrays is walked, their size is extrapolated from the sample.
+	 *
+	 * @param root Root object.
+	 * @param sampleLimit Maximum amount of elements walked per collection, map or array.
+	 * @return the retained size in bytes.
+	 */
+	public static long getRetainedSize(Object root, int sampleLimit) {
+		// Preconditions
+		if (root == null) {
+			throw new NullPointerException("Root cannot be null");
+		}
+		if (sampleLimit <= 0) {
+			throw new IllegalArgumentException("Sample limit must be positive");
+		}
+
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Object> sampled = new ArrayList<>();
+		long size = walk(root, sampleLimit, seen, sampled);
+		for (Object container : sampled) {
+			size += sample(container, sampleLimit, seen);
+		}
+		return size;
+	}
+
+	/**
+	 * Walk a graph, only counting objects that have not been seen before.
+	 *
+	 * @param root Root object.
+	 * @param sampleLimit Sample limit.
+	 * @param seen Objects that were counted already.
+	 * @param sampled Output for containers of which the elements should be sampled.
+	 * @return the total shallow size of all newly seen objects.
+	 */
+	private static long walk(Object root, int sampleLimit, Set<Object> seen, List<Object> sampled) {
+		long[] size = new long[1];
+
+		// The filter is consulted once for every object before its references are followed
+		GraphWalker.newBuilder().withFilter(object -> {
+			if (!seen.add(object)) {
+				// Counted through another path
+				return false;
+			}
+
+			size[0] += getShallowSize(object);
+			if (!object.getClass().isArray() && !GraphWalker.isTransparent(object.getClass())) {
+				// We cannot walk the internals, estimate them instead
+				size[0] += getHiddenSize(object);
+			}
+			if (getElementCount(object) > sampleLimit) {
+				sampled.add(object);
+				return false;
+			}
+			return true;
+		}).build().walk(root, object -> {
+			// Nothing
+		});
+
+		return size[0];
+	}
+
+	/**
+	 * Estimate the size retained by the elements of a large container.
+	 *
+	 * @param container Container.
+	 * @param sampleLimit Sample limit.
+	 * @param seen Objects that were counted already.
+	 * @return the estimated size in bytes.
+	 */
+	private static long sample(Object container, int sampleLimit, Set<Object> seen) {
+		long count = getElementCount(container);
+		long step = (count + sampleLimit - 1) / sampleLimit;
+		List<Object> elements = new ArrayList<>(sampleLimit * 2);
+
+		// Evenly spread samples
+		if (container instanceof Object[]) {
+			Object[] array = (Object[]) container;
+			for (int i = 0; i < array.length; i += step) {
+				elements.add(array[i]);
+			}
+		}
+		else if (container instanceof Collection) {
+			long i = 0;
+			for (Object element : (Collection<?>) container) {
+				if (i++ % step == 0) {
+					elements.add(element);
+				}
+			}
+		}
+		else {
+			long i = 0;
+			for (Entry<?, ?> entry : ((Map<?, ?>) container).entrySet()) {
+				if (i++ % step == 0) {
+					elements.add(entry.getKey());
+					elements.add(entry.getValue());
+				}
+			}
+		}
+
+		long size = 0L;
+		List<Object> nested = new ArrayList<>();
+		for (Object element : elements) {
+			if (element != null) {
+				size += walk(element, sampleLimit, seen, nested);
+			}
+		}
+		for (Object child : nested) {
+			size += sample(child, sampleLimit, seen);
+		}
+
+		// Extrapolate to all elements
+		long samples = (count + step - 1) / step;
+		return samples == 0 ? 0L : size * count / samples;
+	}
+
+	/**
+	 * Estimate the size of the internals of an object that cannot be walked.
+	 * Only strings, collections and maps are estimated.
+	 *
+	 * @param object Object.
+	 * @return the estimated size in bytes.
+	 */
+	private static long getHiddenSize(Object object) {
+		if (object instanceof String) {
+			String string = (String) object;
+			return getArraySize(string.length(), COMPACT_STRINGS && isLatin1(string) ? 1 : 2);
+		}
+		if (object instanceof Map) {
+			return getMapSize(object instanceof SortedMap, object instanceof LinkedHashMap, ((Map<?, ?>) object).size());
+		}
+		if (!(object instanceof Collection)) {
+			return 0L;
+		}
+
+		// Sets are backed by maps
+		int size = ((Collection<?>) object).size();
+		if (object instanceof SortedSet) {
+			return getShallowSize(TreeMap.class) + getMapSize(true, false, size);
+		}
+		if (object instanceof HashSet) {
+			return getShallowSize(object instanceof LinkedHashSet ? LinkedHashMap.class : HashMap.class) + getMapSize(false, object instanceof LinkedHashSet, size);
+		}
+		if (object instanceof LinkedList) {
+			return size * align(HEADER_SIZE + 3L * REFERENCE_SIZE);
+		}
+		return getArraySize(size, REFERENCE_SIZE);
+	}
+
+	/**
+	 * Estimate the size of the table and nodes of a map.
+	 *
+	 * @param sorted If the map is a tree.
+	 * @param linked If the nodes are linked in insertion order.
+	 * @param size Amount of entries.
+	 * @return the estimated size in bytes.
+	 */
+	private static long getMapSize(boolean sorted, boolean linked, int size) {
+		// Tree nodes have a key, value, left, right and parent reference and a color
+		if (sorted) {
+			return size * align(HEADER_SIZE + 5L * REFERENCE_SIZE + 1);
+		}
+		if (size == 0) {
+			return 0L;
+		}
+
+		// Hash nodes have a hash, key, value and next reference, tables are kept at most 75% full
+		long capacity = 16L;
+		while (capacity * 3 / 4 < size) {
+			capacity <<= 1;
+		}
+		return getArraySize(capacity, REFERENCE_SIZE) + size * align(HEADER_SIZE + 4L + (linked ? 5L : 3L) * REFERENCE_SIZE);
+	}
+
+	/**
+	 * Get if a string only contains latin-1 characters.
+	 *
+	 * @param string String.
+	 * @return if every character fits in a byte.
+	 */
+	private static boolean isLatin1(String string) {
+		for (int i = 0; i < string.length(); i++) {
+			if (string.charAt(i) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the amount of elements of a container.
+	 *
+	 * @param object Object.
+	 * @return the amount of elements or -1 if the object is not a container that can be sampled.
+	 */
+	private static long getElementCount(Object object) {
+		if (object instanceof Object[]) {
+			return ((Object[]) object).length;
+		}
+		if (object instanceof Collection) {
+			return ((Collection<?>) object).size();
+		}
+		if (object instanceof Map) {
+			return ((Map<?, ?>) object).size();
+		}
+		return -1L;
+	}
+
+	/**
+	 * Get the size of a field or array element.
+	 *
+	 * @param type Field or component type.
+	 * @return the size in bytes.
+	 */
+	private static int getSize(Class<?> type) {
+		if (type == boolean.class || type == byte.class) {
+			return 1;
+		}
+		if (type == char.class || type == short.class) {
+			return 2;
+		}
+		if (type == int.class || type == float.class) {
+			return 4;
+		}
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		return REFERENCE_SIZE;
+	}
+
+	/**
+	 * Get the size of an array.
+	 *
+	 * @param length Array length.
+	 * @param elementSize Element size.
+	 * @return the size in bytes.
+	 */
+	private static long getArraySize(long length, int elementSize) {
+		return align(ARRAY_HEADER_SIZE + length * elementSize);
+	}
+
+	/**
+	 * Align a size to the object alignment.
+	 *
+	 * @param size Size.
+	 * @return the aligned size.
+	 */
+	private static long align(long size) {
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+	/**
+	 * Get a boolean VM option.
+	 *
+	 * @param name Option name.
+	 * @param fallback Value if the option cannot be read.
+	 * @return the option value.
+	 */
+	private static boolean getOption(String name, boolean fallback) {
+		String value = getOption(name);
+		return value == null ? fallback : Boolean.parseBoolean(value);
+	}
+
+	/**
+	 * Get an int VM option.
+	 *
+	 * @param name Option name.
+	 * @param fallback Value if the option cannot be read.
+	 * @return the option value.
+	 */
+	private static int getOption(String name, int fallback) {
+		String value = getOption(name);
+		try {
+			return value == null ? fallback : Integer.parseInt(value);
+		} catch (NumberFormatException exception) {
+			return fallback;
+		}
+	}
+
+	/**
+	 * Get a VM option.
+	 *
+	 * @param name Option name.
+	 * @return the option value or null if it cannot be read.
+	 */
+	private static String getOption(String name) {
+		try {
+			HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+			return bean == null ? null : bean.getVMOption(name).getValue();
+		} catch (IllegalArgumentException | LinkageError | SecurityException exception) {
+			// Not a HotSpot VM or the option does not exist
+			return null;
+		}
+	}
+}
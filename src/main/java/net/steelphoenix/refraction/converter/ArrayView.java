@@ -0,0 +1,57 @@
+package net.steelphoenix.refraction.converter;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A live fixed size list view of an array that converts elements on access.
+ *
+ * @param <T> Element type.
+ *
+ * @author SteelPhoenix
+ */
+class ArrayView<T> extends AbstractList<T> implements IView, RandomAccess {
+
+	private final IConverter<?> owner;
+	private final Object[] backing;
+	private final IConverter<T> converter;
+	private final boolean writable;
+
+	ArrayView(IConverter<?> owner, Object[] backing, IConverter<T> converter, boolean writable) {
+		this.owner = owner;
+		this.backing = backing;
+		this.converter = converter;
+		this.writable = writable;
+	}
+
+	@Override
+	public T get(int index) {
+		return converter.getSpecific(backing[index]);
+	}
+
+	@Override
+	public T set(int index, T element) {
+		if (!writable) {
+			throw new UnsupportedOperationException("View is read only");
+		}
+
+		T previous = converter.getSpecific(backing[index]);
+		backing[index] = converter.getGeneric(element);
+		return previous;
+	}
+
+	@Override
+	public int size() {
+		return backing.length;
+	}
+
+	@Override
+	public IConverter<?> getOwner() {
+		return owner;
+	}
+
+	@Override
+	public Object getBacking() {
+		return backing;
+	}
+}
@@ -0,0 +1,86 @@
+package net.steelphoenix.refraction.converter;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A live collection view that converts elements on access.
+ *
+ * @param <T> Element type.
+ *
+ * @author SteelPhoenix
+ */
+class CollectionView<T> extends AbstractCollection<T> implements IView {
+
+	private final IConverter<?> owner;
+	private final Collection<Object> backing;
+	private final IConverter<T> converter;
+	private final boolean writable;
+
+	CollectionView(IConverter<?> owner, Collection<Object> backing, IConverter<T> converter, boolean writable) {
+		this.owner = owner;
+		this.backing = backing;
+		this.converter = converter;
+		this.writable = writable;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		Iterator<Object> iterator = backing.iterator();
+		return new Iterator<T>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public T next() {
+				return converter.getSpecific(iterator.next());
+			}
+
+			@Override
+			public void remove() {
+				checkWritable();
+				iterator.remove();
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return backing.size();
+	}
+
+	@Override
+	public boolean add(T element) {
+		checkWritable();
+		return backing.add(converter.getGeneric(element));
+	}
+
+	@Override
+	public void clear() {
+		checkWritable();
+		backing.clear();
+	}
+
+	@Override
+	public IConverter<?> getOwner() {
+		return owner;
+	}
+
+	@Override
+	public Object getBacking() {
+		return backing;
+	}
+
+	/**
+	 * Check if this view can be modified.
+	 */
+	private void checkWritable() {
+		if (!writable) {
+			throw new UnsupportedOperationException("View is read only");
+		}
+	}
+}
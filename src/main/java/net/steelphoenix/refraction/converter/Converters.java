@@ -1,12 +1,16 @@
 package net.steelphoenix.refraction.converter;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Function;
 
 import net.steelphoenix.refraction.generator.Generators;
+import net.steelphoenix.refraction.primitives.IPrimitive;
+import net.steelphoenix.refraction.primitives.Primitives;
 
 /**
  * A utility class for converters.
@@ -32,35 +36,7 @@ public class Converters {
 			throw new NullPointerException("Converter cannot be null");
 		}
 
-		return new IConverter<T>() {
-
-			@Override
-			public T getSpecific(Object generic) {
-				try {
-					return converter.getSpecific(generic);
-				} catch (InconvertibleTypeException exception) {
-					throw exception;
-				} catch (RuntimeException exception) {
-					throw new InconvertibleTypeException("Cannot convert to specific type", exception);
-				}
-			}
-
-			@Override
-			public Object getGeneric(T specific) {
-				try {
-					return converter.getGeneric(specific);
-				} catch (InconvertibleTypeException exception) {
-					throw exception;
-				} catch (RuntimeException exception) {
-					throw new InconvertibleTypeException("Cannot convert to generic type", exception);
-				}
-			}
-
-			@Override
-			public Class<T> getSpecificType() {
-				return converter.getSpecificType();
-			}
-		};
+		return new SafeConverter<>(converter);
 	}
 
 	/**
@@ -76,23 +52,7 @@ public class Converters {
 			throw new NullPointerException("Converter cannot be null");
 		}
 
-		return new IConverter<T>() {
-
-			@Override
-			public T getSpecific(Object generic) {
-				return generic == null ? null : converter.getSpecific(generic);
-			}
-
-			@Override
-			public Object getGeneric(T specific) {
-				return specific == null ? null : converter.getGeneric(specific);
-			}
-
-			@Override
-			public Class<T> getSpecificType() {
-				return converter.getSpecificType();
-			}
-		};
+		return new NullConverter<>(converter);
 	}
 
 	/**
@@ -103,6 +63,8 @@ public class Converters {
 	 * @param clazz Collection type class.
 	 * @param converter Source converter.
 	 * @return the changed converter.
+	 *
+	 * @see #viewCollection(IConverter, boolean)
 	 */
 	public static <T extends Collection<U>, U> IConverter<T> convertCollection(Class<T> clazz, IConverter<U> converter) {
 		// Preconditions
@@ -121,7 +83,7 @@ public class Converters {
 				Collection<?> collection = (Collection<?>) generic;
 
 				// Result collection of the correct type
-				Collection<U> result =  (Collection<U>) Generators.getCollectionGenerator().generate(clazz);
+				Collection<U> result =  (Collection<U>) Generators.getSizedCollectionGenerator().generate(clazz, collection.size());
 
 				// Convert elements
 				for (Object object : collection) {
@@ -134,7 +96,7 @@ public class Converters {
 			@SuppressWarnings("unchecked")
 			@Override
 			public Object getGeneric(T specific) {
-				Collection<Object> result = (Collection<Object>) Generators.getCollectionGenerator().generate(specific.getClass());
+				Collection<Object> result = (Collection<Object>) Generators.getSizedCollectionGenerator().generate(specific.getClass(), specific.size());
 
 				// Convert elements
 				for (U u : specific) {
@@ -161,6 +123,8 @@ public class Converters {
 	 * @param keyConverter Source key converter.
 	 * @param valueConverter Source value converter.
 	 * @return the changed converter.
+	 *
+	 * @see #viewMap(IConverter, IConverter, boolean)
 	 */
 	public static <T extends Map<K, V>, K, V> IConverter<T> convertMap(Class<T> clazz, IConverter<K> keyConverter, IConverter<V> valueConverter) {
 		// Preconditions
@@ -182,7 +146,7 @@ public class Converters {
 				Map<?, ?> map = (Map<?, ?>) generic;
 
 				// Result map of the correct type
-				Map<K, V> result =  (Map<K, V>) Generators.getCollectionGenerator().generate(clazz);
+				Map<K, V> result =  (Map<K, V>) Generators.getSizedCollectionGenerator().generate(clazz, map.size());
 
 				// Convert elements
 				for (Entry<?, ?> entry : map.entrySet()) {
@@ -195,7 +159,7 @@ public class Converters {
 			@SuppressWarnings("unchecked")
 			@Override
 			public Object getGeneric(T specific) {
-				Map<Object, Object> result = (Map<Object, Object>) Generators.getCollectionGenerator().generate(specific.getClass());
+				Map<Object, Object> result = (Map<Object, Object>) Generators.getSizedCollectionGenerator().generate(specific.getClass(), specific.size());
 
 				// Convert elements
 				for (Entry<K, V> entry : specific.entrySet()) {
@@ -218,6 +182,8 @@ public class Converters {
 	 * @param <T> Converter type.
 	 * @param converter Source converter.
 	 * @return the changed converter.
+	 *
+	 * @see #viewArray(IConverter, boolean)
 	 */
 	public static <T> IConverter<T[]> convertArray(IConverter<T> converter) {
 		// Preconditions
@@ -262,6 +228,194 @@ public class Converters {
 		});
 	}
 
+	/**
+	 * Get a converter that returns a live view of a collection instead of a copy.
+	 * Elements are converted on access, a view passed back to this converter is unwrapped without copying.
+	 *
+	 * @param <T> Element type.
+	 * @param converter Element converter.
+	 * @param writable If changes to the view should be written through to the collection.
+	 * @return the converter.
+	 */
+	public static <T> IConverter<Collection<T>> viewCollection(IConverter<T> converter, boolean writable) {
+		// Preconditions
+		if (converter == null) {
+			throw new NullPointerException("Converter cannot be null");
+		}
+
+		return convertSafe(new IConverter<Collection<T>>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Collection<T> getSpecific(Object generic) {
+				return new CollectionView<>(this, (Collection<Object>) generic, converter, writable);
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Object getGeneric(Collection<T> specific) {
+				// Our own views do not need to be copied
+				if (specific instanceof IView && ((IView) specific).getOwner() == this) {
+					return ((IView) specific).getBacking();
+				}
+
+				Collection<Object> result = (Collection<Object>) Generators.getSizedCollectionGenerator().generate(specific.getClass(), specific.size());
+				for (T t : specific) {
+					result.add(converter.getGeneric(t));
+				}
+				return result;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Class<Collection<T>> getSpecificType() {
+				return (Class<Collection<T>>) (Class<?>) Collection.class;
+			}
+		});
+	}
+
+	/**
+	 * Get a converter that returns a live view of a list instead of a copy.
+	 * Elements are converted on access, a view passed back to this converter is unwrapped without copying.
+	 *
+	 * @param <T> Element type.
+	 * @param converter Element converter.
+	 * @param writable If changes to the view should be written through to the list.
+	 * @return the converter.
+	 */
+	public static <T> IConverter<List<T>> viewList(IConverter<T> converter, boolean writable) {
+		// Preconditions
+		if (converter == null) {
+			throw new NullPointerException("Converter cannot be null");
+		}
+
+		return convertSafe(new IConverter<List<T>>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public List<T> getSpecific(Object generic) {
+				return new ListView<>(this, (List<Object>) generic, converter, writable);
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Object getGeneric(List<T> specific) {
+				// Our own views do not need to be copied
+				if (specific instanceof IView && ((IView) specific).getOwner() == this) {
+					return ((IView) specific).getBacking();
+				}
+
+				Collection<Object> result = (Collection<Object>) Generators.getSizedCollectionGenerator().generate(specific.getClass(), specific.size());
+				for (T t : specific) {
+					result.add(converter.getGeneric(t));
+				}
+				return result;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Class<List<T>> getSpecificType() {
+				return (Class<List<T>>) (Class<?>) List.class;
+			}
+		});
+	}
+
+	/**
+	 * Get a converter that returns a live view of a map instead of a copy.
+	 * Keys and values are converted on access, a view passed back to this converter is unwrapped without copying.
+	 *
+	 * @param <K> Key type.
+	 * @param <V> Value type.
+	 * @param keyConverter Key converter.
+	 * @param valueConverter Value converter.
+	 * @param writable If changes to the view should be written through to the map.
+	 * @return the converter.
+	 */
+	public static <K, V> IConverter<Map<K, V>> viewMap(IConverter<K> keyConverter, IConverter<V> valueConverter, boolean writable) {
+		// Preconditions
+		if (keyConverter == null) {
+			throw new NullPointerException("Key converter cannot be null");
+		}
+		if (valueConverter == null) {
+			throw new NullPointerException("Value converter cannot be null");
+		}
+
+		return convertSafe(new IConverter<Map<K, V>>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Map<K, V> getSpecific(Object generic) {
+				return new MapView<>(this, (Map<Object, Object>) generic, keyConverter, valueConverter, writable);
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Object getGeneric(Map<K, V> specific) {
+				// Our own views do not need to be copied
+				if (specific instanceof IView && ((IView) specific).getOwner() == this) {
+					return ((IView) specific).getBacking();
+				}
+
+				Map<Object, Object> result = (Map<Object, Object>) Generators.getSizedCollectionGenerator().generate(specific.getClass(), specific.size());
+				for (Entry<K, V> entry : specific.entrySet()) {
+					result.put(keyConverter.getGeneric(entry.getKey()), valueConverter.getGeneric(entry.getValue()));
+				}
+				return result;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Class<Map<K, V>> getSpecificType() {
+				return (Class<Map<K, V>>) (Class<?>) Map.class;
+			}
+		});
+	}
+
+	/**
+	 * Get a converter that returns a live fixed size list view of an array instead of a copy.
+	 * Elements are converted on access, a view passed back to this converter is unwrapped without copying.
+	 *
+	 * @param <T> Element type.
+	 * @param converter Element converter.
+	 * @param writable If changes to the view should be written through to the array.
+	 * @return the converter.
+	 */
+	public static <T> IConverter<List<T>> viewArray(IConverter<T> converter, boolean writable) {
+		// Preconditions
+		if (converter == null) {
+			throw new NullPointerException("Converter cannot be null");
+		}
+
+		return convertSafe(new IConverter<List<T>>() {
+
+			@Override
+			public List<T> getSpecific(Object generic) {
+				return new ArrayView<>(this, (Object[]) generic, converter, writable);
+			}
+
+			@Override
+			public Object getGeneric(List<T> specific) {
+				// Our own views do not need to be copied
+				if (specific instanceof IView && ((IView) specific).getOwner() == this) {
+					return ((IView) specific).getBacking();
+				}
+
+				Object[] generic = new Object[specific.size()];
+				int i = 0;
+				for (T t : specific) {
+					generic[i++] = converter.getGeneric(t);
+				}
+				return generic;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Class<List<T>> getSpecificType() {
+				return (Class<List<T>>) (Class<?>) List.class;
+			}
+		});
+	}
+
 	/**
 	 * Get a converter based on functions.
 	 *
@@ -283,22 +437,354 @@ public class Converters {
 			throw new NullPointerException("Type cannot be null");
 		}
 
-		return convertSafe(new IConverter<T>() {
+		return convertSafe(new FunctionConverter<>(specific, generic, type));
+	}
 
-			@Override
-			public T getSpecific(Object generic) {
-				return specific.apply(generic);
+	/**
+	 * Get a converter that does not convert values.
+	 * Specific values are only checked to be of the given type.
+	 *
+	 * @param <T> Converter type.
+	 * @param type Specific type class.
+	 * @return the converter.
+	 */
+	public static <T> IConverter<T> identity(Class<T> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return new IdentityConverter<>(type);
+	}
+
+	/**
+	 * Get if a converter does not convert values.
+	 *
+	 * @param converter Converter.
+	 * @return if the converter is an identity converter.
+	 *
+	 * @see #identity(Class)
+	 */
+	public static boolean isIdentity(IConverter<?> converter) {
+		return converter instanceof IdentityConverter;
+	}
+
+	/**
+	 * Get a converter that converts values with two converters in sequence.
+	 * Generic values are converted by the first converter, after which its specific values are converted by the second converter.
+	 * The result is fused.
+	 *
+	 * @param <T> Converter type.
+	 * @param first First converter.
+	 * @param second Second converter.
+	 * @return the converter.
+	 *
+	 * @see #fuse(IConverter)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> IConverter<T> chain(IConverter<?> first, IConverter<T> second) {
+		// Preconditions
+		if (first == null) {
+			throw new NullPointerException("First converter cannot be null");
+		}
+		if (second == null) {
+			throw new NullPointerException("Second converter cannot be null");
+		}
+
+		return fuse(new ChainConverter<>((IConverter<Object>[]) new IConverter<?>[] { first, second }, second.getSpecificType(), false, false));
+	}
+
+	/**
+	 * Fuse a converter into as few converter objects as possible.
+	 * Outer null forwarding and exception wrapping is done once for the whole chain, nested chains are flattened and identity conversions are removed.
+	 * The fused converter behaves the same as the source converter, except that intermediate identity conversions no longer check types.
+	 *
+	 * @param <T> Converter type.
+	 * @param converter Source converter.
+	 * @return the fused converter.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> IConverter<T> fuse(IConverter<T> converter) {
+		// Preconditions
+		if (converter == null) {
+			throw new NullPointerException("Converter cannot be null");
+		}
+
+		// Peel outer wrappers, the order of these does not matter
+		boolean safe = false;
+		boolean nullSafe = false;
+		IConverter<?> current = converter;
+		while (true) {
+			if (current instanceof SafeConverter) {
+				safe = true;
+				current = ((SafeConverter<?>) current).converter;
+			}
+			else if (current instanceof NullConverter) {
+				nullSafe = true;
+				current = ((NullConverter<?>) current).converter;
+			}
+			else {
+				break;
 			}
+		}
 
-			@Override
-			public Object getGeneric(T specific) {
-				return generic.apply(specific);
+		List<IConverter<?>> stages = new ArrayList<>();
+		flatten(current, safe, stages);
+
+		// Identity conversions are only kept if we would lose the final type check
+		List<IConverter<?>> result = new ArrayList<>(stages.size());
+		for (int i = 0; i < stages.size(); i++) {
+			IConverter<?> stage = stages.get(i);
+			if (stage instanceof IdentityConverter && (i < stages.size() - 1 || !result.isEmpty() && stage.getSpecificType().isAssignableFrom(result.get(result.size() - 1).getSpecificType()))) {
+				continue;
 			}
+			result.add(stage);
+		}
 
-			@Override
-			public Class<T> getSpecificType() {
-				return type;
+		// Nothing left to fuse
+		if (result.size() == 1 && !safe && !nullSafe) {
+			return (IConverter<T>) result.get(0);
+		}
+
+		return new ChainConverter<>((IConverter<Object>[]) result.toArray(new IConverter<?>[result.size()]), converter.getSpecificType(), safe, nullSafe);
+	}
+
+	/**
+	 * Flatten a converter into conversion stages.
+	 *
+	 * @param converter Converter.
+	 * @param safe If exceptions are already wrapped.
+	 * @param stages Result stages.
+	 */
+	private static void flatten(IConverter<?> converter, boolean safe, List<IConverter<?>> stages) {
+		// Exception wrapping is redundant if the whole chain already does it
+		if (safe && converter instanceof SafeConverter) {
+			flatten(((SafeConverter<?>) converter).converter, safe, stages);
+			return;
+		}
+
+		// Nested chains can only be inlined if they do not handle nulls or exceptions differently
+		if (converter instanceof ChainConverter) {
+			ChainConverter<?> chain = (ChainConverter<?>) converter;
+			if (!chain.nullSafe && (safe || !chain.safe)) {
+				for (IConverter<?> stage : chain.stages) {
+					flatten(stage, safe, stages);
+				}
+				return;
 			}
-		});
+		}
+
+		stages.add(converter);
+	}
+
+	/**
+	 * A converter that rethrows all runtime exceptions as {@link InconvertibleTypeException}.
+	 *
+	 * @param <T> Converter type.
+	 */
+	private static class SafeConverter<T> implements IConverter<T> {
+
+		private final IConverter<T> converter;
+
+		private SafeConverter(IConverter<T> converter) {
+			this.converter = converter;
+		}
+
+		@Override
+		public T getSpecific(Object generic) {
+			try {
+				return converter.getSpecific(generic);
+			} catch (InconvertibleTypeException exception) {
+				throw exception;
+			} catch (RuntimeException exception) {
+				throw new InconvertibleTypeException("Cannot convert to specific type", exception);
+			}
+		}
+
+		@Override
+		public Object getGeneric(T specific) {
+			try {
+				return converter.getGeneric(specific);
+			} catch (InconvertibleTypeException exception) {
+				throw exception;
+			} catch (RuntimeException exception) {
+				throw new InconvertibleTypeException("Cannot convert to generic type", exception);
+			}
+		}
+
+		@Override
+		public Class<T> getSpecificType() {
+			return converter.getSpecificType();
+		}
+	}
+
+	/**
+	 * A converter that forwards null values.
+	 *
+	 * @param <T> Converter type.
+	 */
+	private static class NullConverter<T> implements IConverter<T> {
+
+		private final IConverter<T> converter;
+
+		private NullConverter(IConverter<T> converter) {
+			this.converter = converter;
+		}
+
+		@Override
+		public T getSpecific(Object generic) {
+			return generic == null ? null : converter.getSpecific(generic);
+		}
+
+		@Override
+		public Object getGeneric(T specific) {
+			return specific == null ? null : converter.getGeneric(specific);
+		}
+
+		@Override
+		public Class<T> getSpecificType() {
+			return converter.getSpecificType();
+		}
+	}
+
+	/**
+	 * A converter based on functions.
+	 *
+	 * @param <T> Converter type.
+	 */
+	private static class FunctionConverter<T> implements IConverter<T> {
+
+		private final Function<Object, T> specific;
+		private final Function<T, Object> generic;
+		private final Class<T> type;
+
+		private FunctionConverter(Function<Object, T> specific, Function<T, Object> generic, Class<T> type) {
+			this.specific = specific;
+			this.generic = generic;
+			this.type = type;
+		}
+
+		@Override
+		public T getSpecific(Object generic) {
+			return specific.apply(generic);
+		}
+
+		@Override
+		public Object getGeneric(T specific) {
+			return generic.apply(specific);
+		}
+
+		@Override
+		public Class<T> getSpecificType() {
+			return type;
+		}
+	}
+
+	/**
+	 * A converter that does not convert values.
+	 *
+	 * @param <T> Converter type.
+	 */
+	private static class IdentityConverter<T> implements IConverter<T> {
+
+		private final Class<T> type;
+		private final Class<?> castType;
+
+		private IdentityConverter(Class<T> type) {
+			this.type = type;
+
+			// Primitive values are always boxed
+			IPrimitive primitive = Primitives.getByType(type);
+			this.castType = primitive == null ? type : primitive.getBoxedType();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T getSpecific(Object generic) {
+			return (T) castType.cast(generic);
+		}
+
+		@Override
+		public Object getGeneric(T specific) {
+			return specific;
+		}
+
+		@Override
+		public Class<T> getSpecificType() {
+			return type;
+		}
+	}
+
+	/**
+	 * A converter that converts values with multiple converters in sequence.
+	 * Null forwarding and exception wrapping is done once for all stages.
+	 *
+	 * @param <T> Converter type.
+	 */
+	private static class ChainConverter<T> implements IConverter<T> {
+
+		private final IConverter<Object>[] stages;
+		private final Class<T> type;
+		private final boolean safe;
+		private final boolean nullSafe;
+
+		private ChainConverter(IConverter<Object>[] stages, Class<T> type, boolean safe, boolean nullSafe) {
+			this.stages = stages;
+			this.type = type;
+			this.safe = safe;
+			this.nullSafe = nullSafe;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T getSpecific(Object generic) {
+			if (nullSafe && generic == null) {
+				return null;
+			}
+
+			try {
+				Object value = generic;
+				for (int i = 0; i < stages.length; i++) {
+					value = stages[i].getSpecific(value);
+				}
+
+				// The last stage converts to our type
+				return (T) value;
+			} catch (InconvertibleTypeException exception) {
+				throw exception;
+			} catch (RuntimeException exception) {
+				if (!safe) {
+					throw exception;
+				}
+				throw new InconvertibleTypeException("Cannot convert to specific type", exception);
+			}
+		}
+
+		@Override
+		public Object getGeneric(T specific) {
+			if (nullSafe && specific == null) {
+				return null;
+			}
+
+			try {
+				Object value = specific;
+				for (int i = stages.length - 1; i >= 0; i--) {
+					value = stages[i].getGeneric(value);
+				}
+				return value;
+			} catch (InconvertibleTypeException exception) {
+				throw exception;
+			} catch (RuntimeException exception) {
+				if (!safe) {
+					throw exception;
+				}
+				throw new InconvertibleTypeException("Cannot convert to generic type", exception);
+			}
+		}
+
+		@Override
+		public Class<T> getSpecificType() {
+			return type;
+		}
 	}
 }
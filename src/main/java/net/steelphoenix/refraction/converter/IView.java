@@ -0,0 +1,23 @@
+package net.steelphoenix.refraction.converter;
+
+/**
+ * A live view of a generic container that converts elements on access.
+ *
+ * @author SteelPhoenix
+ */
+interface IView {
+
+	/**
+	 * Get the converter that created this view.
+	 *
+	 * @return the owning converter.
+	 */
+	public IConverter<?> getOwner();
+
+	/**
+	 * Get the generic container this is a view of.
+	 *
+	 * @return the backing container.
+	 */
+	public Object getBacking();
+}
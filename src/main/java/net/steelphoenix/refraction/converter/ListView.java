@@ -0,0 +1,73 @@
+package net.steelphoenix.refraction.converter;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * A live list view that converts elements on access.
+ *
+ * @param <T> Element type.
+ *
+ * @author SteelPhoenix
+ */
+class ListView<T> extends AbstractList<T> implements IView {
+
+	private final IConverter<?> owner;
+	private final List<Object> backing;
+	private final IConverter<T> converter;
+	private final boolean writable;
+
+	ListView(IConverter<?> owner, List<Object> backing, IConverter<T> converter, boolean writable) {
+		this.owner = owner;
+		this.backing = backing;
+		this.converter = converter;
+		this.writable = writable;
+	}
+
+	@Override
+	public T get(int index) {
+		return converter.getSpecific(backing.get(index));
+	}
+
+	@Override
+	public T set(int index, T element) {
+		checkWritable();
+		return converter.getSpecific(backing.set(index, converter.getGeneric(element)));
+	}
+
+	@Override
+	public void add(int index, T element) {
+		checkWritable();
+		backing.add(index, converter.getGeneric(element));
+	}
+
+	@Override
+	public T remove(int index) {
+		checkWritable();
+		return converter.getSpecific(backing.remove(index));
+	}
+
+	@Override
+	public int size() {
+		return backing.size();
+	}
+
+	@Override
+	public IConverter<?> getOwner() {
+		return owner;
+	}
+
+	@Override
+	public Object getBacking() {
+		return backing;
+	}
+
+	/**
+	 * Check if this view can be modified.
+	 */
+	private void checkWritable() {
+		if (!writable) {
+			throw new UnsupportedOperationException("View is read only");
+		}
+	}
+}
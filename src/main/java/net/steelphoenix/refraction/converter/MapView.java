@@ -0,0 +1,182 @@
+package net.steelphoenix.refraction.converter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A live map view that converts keys and values on access.
+ * Lookups convert the key to the generic type instead of converting the whole map.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ *
+ * @author SteelPhoenix
+ */
+class MapView<K, V> extends AbstractMap<K, V> implements IView {
+
+	private final IConverter<?> owner;
+	private final Map<Object, Object> backing;
+	private final IConverter<K> keyConverter;
+	private final IConverter<V> valueConverter;
+	private final boolean writable;
+	private Set<Entry<K, V>> entries;
+
+	MapView(IConverter<?> owner, Map<Object, Object> backing, IConverter<K> keyConverter, IConverter<V> valueConverter, boolean writable) {
+		this.owner = owner;
+		this.backing = backing;
+		this.keyConverter = keyConverter;
+		this.valueConverter = valueConverter;
+		this.writable = writable;
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		// Benign race, entry sets are stateless
+		if (entries == null) {
+			entries = new EntrySet();
+		}
+
+		return entries;
+	}
+
+	@Override
+	public int size() {
+		return backing.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Object generic = toGeneric(key);
+		return generic != null || key == null ? backing.containsKey(generic) : super.containsKey(key);
+	}
+
+	@Override
+	public V get(Object key) {
+		Object generic = toGeneric(key);
+		if (generic == null && key != null) {
+			return super.get(key);
+		}
+
+		return toSpecific(backing.get(generic));
+	}
+
+	@Override
+	public V put(K key, V value) {
+		checkWritable();
+		return toSpecific(backing.put(keyConverter.getGeneric(key), valueConverter.getGeneric(value)));
+	}
+
+	@Override
+	public V remove(Object key) {
+		checkWritable();
+
+		Object generic = toGeneric(key);
+		if (generic == null && key != null) {
+			return super.remove(key);
+		}
+
+		return toSpecific(backing.remove(generic));
+	}
+
+	@Override
+	public void clear() {
+		checkWritable();
+		backing.clear();
+	}
+
+	@Override
+	public IConverter<?> getOwner() {
+		return owner;
+	}
+
+	@Override
+	public Object getBacking() {
+		return backing;
+	}
+
+	/**
+	 * Convert a lookup key to the generic type.
+	 *
+	 * @param key Specific key.
+	 * @return the generic key or null if the key is not of the specific type.
+	 */
+	@SuppressWarnings("unchecked")
+	private Object toGeneric(Object key) {
+		if (key == null || !keyConverter.getSpecificType().isInstance(key)) {
+			return null;
+		}
+
+		try {
+			return keyConverter.getGeneric((K) key);
+		} catch (InconvertibleTypeException | ClassCastException exception) {
+			return null;
+		}
+	}
+
+	/**
+	 * Convert a value to the specific type.
+	 *
+	 * @param value Generic value.
+	 * @return the specific value or null if the value is null.
+	 */
+	private V toSpecific(Object value) {
+		return value == null ? null : valueConverter.getSpecific(value);
+	}
+
+	/**
+	 * Check if this view can be modified.
+	 */
+	private void checkWritable() {
+		if (!writable) {
+			throw new UnsupportedOperationException("View is read only");
+		}
+	}
+
+	/**
+	 * The entry set of this view.
+	 */
+	private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+		@Override
+		public Iterator<Entry<K, V>> iterator() {
+			Iterator<Entry<Object, Object>> iterator = backing.entrySet().iterator();
+			return new Iterator<Entry<K, V>>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public Entry<K, V> next() {
+					Entry<Object, Object> entry = iterator.next();
+					return new SimpleEntry<K, V>(keyConverter.getSpecific(entry.getKey()), valueConverter.getSpecific(entry.getValue())) {
+
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						public V setValue(V value) {
+							checkWritable();
+							entry.setValue(valueConverter.getGeneric(value));
+							return super.setValue(value);
+						}
+					};
+				}
+
+				@Override
+				public void remove() {
+					checkWritable();
+					iterator.remove();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return backing.size();
+		}
+	}
+}
@@ -32,6 +32,22 @@ public class ArrayGenerator implements IValueGenerator {
 		return Array.newInstance(type.getComponentType(), 0);
 	}
 
+	@Override
+	public boolean canGenerate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return type.isArray();
+	}
+
+	@Override
+	public boolean isConstant(Class<?> type) {
+		// Empty arrays cannot be modified so they can be shared
+		return true;
+	}
+
 	/**
 	 * Get the instance.
 	 *
@@ -1,9 +1,17 @@
 package net.steelphoenix.refraction.generator;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -13,17 +21,55 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A generator generating collection and map instances.
  * Initially we try to create an instance of the same time, if that fails we fall back on some Java implementations.
+ * The way to create an instance is resolved once per type, common Java implementations can be created with an expected size.
  * Note that this is a singleton.
  *
  * @author SteelPhoenix
  */
 public class CollectionGenerator implements IValueGenerator {
 
-	private static final IValueGenerator INSTANCE = new CollectionGenerator();
+	private static final CollectionGenerator INSTANCE = new CollectionGenerator();
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+	private static final Map<Class<?>, IFactory> SIZED = new HashMap<>();
+	private static final IFactory NONE = size -> {
+		throw new UngeneratableTypeException("Type is not a generatable collection or map");
+	};
+	private static final ClassValue<IFactory> FACTORIES = new ClassValue<IFactory>() {
+
+		@Override
+		protected IFactory computeValue(Class<?> type) {
+			return resolve(type);
+		}
+	};
+
+	static {
+		// Java implementations we know the sizing constructors of
+		SIZED.put(ArrayList.class, size -> size < 0 ? new ArrayList<>() : new ArrayList<>(size));
+		SIZED.put(ArrayDeque.class, size -> size < 0 ? new ArrayDeque<>() : new ArrayDeque<>(size));
+		SIZED.put(HashMap.class, size -> size < 0 ? new HashMap<>() : new HashMap<>(getCapacity(size)));
+		SIZED.put(HashSet.class, size -> size < 0 ? new HashSet<>() : new HashSet<>(getCapacity(size)));
+		SIZED.put(LinkedHashMap.class, size -> size < 0 ? new LinkedHashMap<>() : new LinkedHashMap<>(getCapacity(size)));
+		SIZED.put(LinkedHashSet.class, size -> size < 0 ? new LinkedHashSet<>() : new LinkedHashSet<>(getCapacity(size)));
+		SIZED.put(IdentityHashMap.class, size -> size < 0 ? new IdentityHashMap<>() : new IdentityHashMap<>(size));
+		SIZED.put(ConcurrentHashMap.class, size -> size < 0 ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(getCapacity(size)));
+		SIZED.put(Vector.class, size -> size < 0 ? new Vector<>() : new Vector<>(size));
+		SIZED.put(Hashtable.class, size -> size < 0 ? new Hashtable<>() : new Hashtable<>(getCapacity(size)));
+
+		// Interfaces, see Liskov Substitution Principle
+		SIZED.put(Collection.class, SIZED.get(ArrayList.class));
+		SIZED.put(List.class, SIZED.get(ArrayList.class));
+		SIZED.put(Map.class, SIZED.get(HashMap.class));
+		SIZED.put(SortedMap.class, size -> new TreeMap<>());
+		SIZED.put(Queue.class, size -> new LinkedList<>());
+		SIZED.put(Set.class, SIZED.get(HashSet.class));
+		SIZED.put(SortedSet.class, size -> new TreeSet<>());
+	}
 
 	private CollectionGenerator() {
 		// Nothing
@@ -31,6 +77,18 @@ public class CollectionGenerator implements IValueGenerator {
 
 	@Override
 	public Object generate(Class<?> type) {
+		return generate(type, -1);
+	}
+
+	/**
+	 * Generate a collection or map for the given type.
+	 * Common Java implementations are created with enough room for the expected amount of elements.
+	 *
+	 * @param type Collection or map type.
+	 * @param expectedSize Expected amount of elements or a negative value if unknown.
+	 * @return the generated value.
+	 */
+	public Object generate(Class<?> type, int expectedSize) {
 		// Preconditions
 		if (type == null) {
 			throw new NullPointerException("Type cannot be null");
@@ -41,43 +99,29 @@ public class CollectionGenerator implements IValueGenerator {
 			throw new UngeneratableTypeException("Type is not a collection or map");
 		}
 
-		// Try to create an instance of the exact same type
 		try {
-			return type.getConstructor().newInstance();
-		} catch (ExceptionInInitializerError | ReflectiveOperationException | SecurityException exception) {
-			// Nothing
+			return FACTORIES.get(type).create(expectedSize);
+		} catch (UngeneratableTypeException exception) {
+			throw exception;
+		} catch (RuntimeException | Error exception) {
+			// Constructor failed
+			throw new UngeneratableTypeException("Cannot generate collection or map", exception);
+		} catch (Throwable throwable) {
+			// Constructor threw a checked exception
+			throw new UngeneratableTypeException("Cannot generate collection or map", throwable);
 		}
+	}
 
-		// We only try to instantiate if the type is an interface
-		// See Liskov Substitution Principle
-		if (type.isInterface()) {
-			if (type.equals(Collection.class)) {
-				return new ArrayList<>();
-			}
-			else if (type.equals(List.class)) {
-				return new ArrayList<>();
-			}
-			else if (type.equals(Map.class)) {
-				return new HashMap<>();
-			}
-			else if (type.equals(SortedMap.class)) {
-				return new TreeMap<>();
-			}
-			else if (type.equals(Queue.class)) {
-				return new LinkedList<>();
-			}
-			else if (type.equals(Set.class)) {
-				return new HashSet<>();
-			}
-			else if (type.equals(SortedSet.class)) {
-				return new TreeSet<>();
-			}
+	@Override
+	public boolean canGenerate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
 		}
 
-		throw new UngeneratableTypeException("Type is not a generatable collection or map");
+		return (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) && FACTORIES.get(type) != NONE;
 	}
 
-
 	/**
 	 * Get the instance.
 	 *
@@ -86,4 +130,63 @@ public class CollectionGenerator implements IValueGenerator {
 	public static IValueGenerator getInstance() {
 		return INSTANCE;
 	}
+
+	/**
+	 * Get the instance as a collection generator, to generate collections with an expected size.
+	 *
+	 * @return the instance.
+	 */
+	public static CollectionGenerator getSizedInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Resolve the factory for a type.
+	 *
+	 * @param type Collection or map type.
+	 * @return the factory.
+	 */
+	private static IFactory resolve(Class<?> type) {
+		IFactory factory = SIZED.get(type);
+		if (factory != null) {
+			return factory;
+		}
+
+		// Try to create an instance of the exact same type
+		try {
+			MethodHandle constructor = MethodHandles.publicLookup().unreflectConstructor(type.getConstructor()).asType(FACTORY_TYPE);
+			return size -> (Object) constructor.invokeExact();
+		} catch (ReflectiveOperationException | SecurityException exception) {
+			// Nothing
+		}
+
+		return NONE;
+	}
+
+	/**
+	 * Get the initial capacity of a hash based collection that fits the given amount of elements without resizing.
+	 *
+	 * @param size Expected amount of elements.
+	 * @return the initial capacity.
+	 */
+	private static int getCapacity(int size) {
+		// Default load factor is 0.75
+		return (int) Math.min(Integer.MAX_VALUE, size * 4L / 3L + 1L);
+	}
+
+	/**
+	 * A factory creating collections or maps.
+	 */
+	@FunctionalInterface
+	private static interface IFactory {
+
+		/**
+		 * Create an instance.
+		 *
+		 * @param size Expected amount of elements or a negative value if unknown.
+		 * @return the created instance.
+		 * @throws Throwable if the constructor throws.
+		 */
+		public Object create(int size) throws Throwable;
+	}
 }
@@ -2,6 +2,8 @@ package net.steelphoenix.refraction.generator;
 
 import java.util.Arrays;
 
+import net.steelphoenix.refraction.ClassCache;
+
 /**
  * A utility class for value generators.
  *
@@ -58,6 +60,15 @@ public class Generators {
 		return CollectionGenerator.getInstance();
 	}
 
+	/**
+	 * Get the value generator for collections and maps that can generate them with an expected size.
+	 *
+	 * @return the value generator.
+	 */
+	public static CollectionGenerator getSizedCollectionGenerator() {
+		return CollectionGenerator.getSizedInstance();
+	}
+
 	/**
 	 * Get a value generator for anything, returning null.
 	 *
@@ -113,13 +124,17 @@ public class Generators {
 
 	/**
 	 * A generator using multiple underlying generators.
+	 * The generator to use is resolved once per type, constant values are generated only once.
+	 * If the resolved generator fails to generate a value the generators after it are tried, like they would be without resolving.
 	 * This generator will throw an exception if no value can be generated.
 	 *
 	 * @author SteelPhoenix
 	 */
 	private static class ValueGenerator implements IValueGenerator {
 
+		private static final Plan NONE = new Plan(-1, false, null);
 		private final IValueGenerator[] generators;
+		private final ClassCache<Plan> plans = new ClassCache<>(this::resolve);
 
 		private ValueGenerator(IValueGenerator[] generators) {
 			if (generators == null) {
@@ -136,34 +151,76 @@ public class Generators {
 				throw new NullPointerException("Type cannot be null");
 			}
 
-			boolean generated = false;
-			Object value = null;
-			for (IValueGenerator generator : generators) {
+			Plan plan = plans.get(type);
+			if (plan.constant) {
+				return plan.value;
+			}
 
-				// Too lazy to check for null values beforehand so we just ignore them
-				if (generator == null) {
+			// Later generators are only tried if the planned generator fails
+			for (int i = plan.index; i >= 0 && i < generators.length; i++) {
+				if (generators[i] == null) {
 					continue;
 				}
 
-				// Try to generate
 				try {
-					value = generator.generate(type);
-					generated = true;
+					return generators[i].generate(type);
 				} catch (UngeneratableTypeException exception) {
 					// Nothing
 				}
-
-				if (generated) {
-					break;
-				}
 			}
 
 			// Not generated
-			if (!generated) {
-				throw new UngeneratableTypeException("Cannot generate value for " + type + " in joined generator " + this);
+			throw new UngeneratableTypeException("Cannot generate value for " + type + " in joined generator " + this);
+		}
+
+		@Override
+		public boolean canGenerate(Class<?> type) {
+			// Preconditions
+			if (type == null) {
+				throw new NullPointerException("Type cannot be null");
 			}
 
-			return value;
+			return plans.get(type) != NONE;
+		}
+
+		@Override
+		public boolean isConstant(Class<?> type) {
+			// Preconditions
+			if (type == null) {
+				throw new NullPointerException("Type cannot be null");
+			}
+
+			return plans.get(type).constant;
+		}
+
+		/**
+		 * Resolve the plan for a type.
+		 *
+		 * @param type Target type.
+		 * @return the plan.
+		 */
+		private Plan resolve(Class<?> type) {
+			for (int i = 0; i < generators.length; i++) {
+				IValueGenerator generator = generators[i];
+
+				// Too lazy to check for null values beforehand so we just ignore them
+				if (generator == null || !generator.canGenerate(type)) {
+					continue;
+				}
+
+				// Constant values are generated once
+				if (generator.isConstant(type)) {
+					try {
+						return new Plan(i, true, generator.generate(type));
+					} catch (UngeneratableTypeException exception) {
+						continue;
+					}
+				}
+
+				return new Plan(i, false, null);
+			}
+
+			return NONE;
 		}
 
 		@Override
@@ -185,4 +242,22 @@ public class Generators {
 			return "ValueGenerator[generators=" + Arrays.toString(generators) + "]";
 		}
 	}
+
+	/**
+	 * A resolved way to generate values for a type.
+	 *
+	 * @author SteelPhoenix
+	 */
+	private static class Plan {
+
+		private final int index;
+		private final boolean constant;
+		private final Object value;
+
+		private Plan(int index, boolean constant, Object value) {
+			this.index = index;
+			this.constant = constant;
+			this.value = value;
+		}
+	}
 }
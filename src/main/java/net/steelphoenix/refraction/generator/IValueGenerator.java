@@ -16,4 +16,31 @@ public interface IValueGenerator {
 	 * @return the generated value.
 	 */
 	public Object generate(Class<?> type);
+
+	/**
+	 * Get if this generator can generate a value for the given type.
+	 * By default this attempts to generate a value, implementations should override this if they can tell without generating.
+	 *
+	 * @param type Target type.
+	 * @return if a value can be generated.
+	 */
+	public default boolean canGenerate(Class<?> type) {
+		try {
+			generate(type);
+			return true;
+		} catch (UngeneratableTypeException exception) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get if this generator always generates the same value for the given type.
+	 * Constant values may be cached and shared by callers.
+	 *
+	 * @param type Target type.
+	 * @return if the generated value is constant.
+	 */
+	public default boolean isConstant(Class<?> type) {
+		return false;
+	}
 }
\ No newline at end of file
@@ -25,6 +25,21 @@ public class NullGenerator implements IValueGenerator {
 		return null;
 	}
 
+	@Override
+	public boolean canGenerate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean isConstant(Class<?> type) {
+		return true;
+	}
+
 	/**
 	 * Get the instance.
 	 *
@@ -28,6 +28,21 @@ public class ObjectGenerator implements IValueGenerator {
 		return null;
 	}
 
+	@Override
+	public boolean canGenerate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return Object.class.isAssignableFrom(type);
+	}
+
+	@Override
+	public boolean isConstant(Class<?> type) {
+		return true;
+	}
+
 	/**
 	 * Get the instance.
 	 *
@@ -35,6 +35,22 @@ public class PrimitiveGenerator implements IValueGenerator {
 		return primitive.getDefaultValue();
 	}
 
+	@Override
+	public boolean canGenerate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return Primitives.getByType(type) != null;
+	}
+
+	@Override
+	public boolean isConstant(Class<?> type) {
+		// Default values are boxed constants
+		return true;
+	}
+
 	/**
 	 * Get the instance.
 	 *
@@ -28,6 +28,21 @@ public class StringGenerator implements IValueGenerator {
 		return null;
 	}
 
+	@Override
+	public boolean canGenerate(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return type == String.class;
+	}
+
+	@Override
+	public boolean isConstant(Class<?> type) {
+		return true;
+	}
+
 	/**
 	 * Get the instance.
 	 *
@@ -0,0 +1,337 @@
+package net.steelphoenix.refraction.graph;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import net.steelphoenix.refraction.structure.FieldAccessException;
+
+/**
+ * An object graph walker.
+ * Graphs are walked iteratively so deep graphs cannot overflow the stack, every object is visited exactly once based on identity.
+ * References are followed through instance fields, array elements and optionally collection and map elements.
+ * Class and class loader instances are visited but never followed.
+ * Reference fields that cannot be accessed (for example JDK internals under strong encapsulation) are not followed, see {@link #isTransparent(Class)}.
+ *
+ * @author SteelPhoenix
+ */
+public final class GraphWalker {
+
+	private static final int SPLIT = 256;
+	private final boolean collections;
+	private final Predicate<Object> filter;
+	private final ForkJoinPool pool;
+
+	private GraphWalker(boolean collections, Predicate<Object> filter, ForkJoinPool pool) {
+		this.collections = collections;
+		this.filter = filter;
+		this.pool = pool;
+	}
+
+	/**
+	 * Walk the graph reachable from a root object.
+	 * If this walker uses a pool the visitor is called from multiple threads.
+	 *
+	 * @param root Root object.
+	 * @param visitor Visitor called once for every reachable object.
+	 * @return the amount of visited objects.
+	 */
+	public long walk(Object root, Consumer<Object> visitor) {
+		// Preconditions
+		if (visitor == null) {
+			throw new NullPointerException("Visitor cannot be null");
+		}
+
+		// Nothing to walk
+		if (root == null) {
+			return 0L;
+		}
+
+		return pool == null ? walkSequential(root, visitor) : walkParallel(root, visitor);
+	}
+
+	/**
+	 * Walk a graph on the current thread.
+	 *
+	 * @param root Root object.
+	 * @param visitor Visitor.
+	 * @return the amount of visited objects.
+	 */
+	private long walkSequential(Object root, Consumer<Object> visitor) {
+		Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		ArrayDeque<Object> work = new ArrayDeque<>();
+		visited.add(root);
+		work.push(root);
+
+		while (!work.isEmpty()) {
+			Object object = work.pop();
+			visitor.accept(object);
+			expand(object, child -> {
+				if (visited.add(child)) {
+					work.push(child);
+				}
+			});
+		}
+
+		return visited.size();
+	}
+
+	/**
+	 * Walk a graph in the pool of this walker.
+	 *
+	 * @param root Root object.
+	 * @param visitor Visitor.
+	 * @return the amount of visited objects.
+	 */
+	private long walkParallel(Object root, Consumer<Object> visitor) {
+		Set<Identity> visited = ConcurrentHashMap.newKeySet();
+		LongAdder count = new LongAdder();
+		visited.add(new Identity(root));
+
+		ArrayDeque<Object> work = new ArrayDeque<>();
+		work.push(root);
+		pool.invoke(new WalkTask(work, visited, visitor, count));
+		return count.sum();
+	}
+
+	/**
+	 * Pass all objects directly referenced by an object to a consumer.
+	 *
+	 * @param object Object.
+	 * @param consumer Reference consumer.
+	 */
+	private void expand(Object object, Consumer<Object> consumer) {
+		// Do not follow objects that would lead to most of the heap
+		if (object instanceof Class || object instanceof ClassLoader || !filter.test(object)) {
+			return;
+		}
+
+		Class<?> type = object.getClass();
+		if (type.isArray()) {
+			// Primitive arrays do not reference anything
+			if (!type.getComponentType().isPrimitive()) {
+				for (Object element : (Object[]) object) {
+					if (element != null) {
+						consumer.accept(element);
+					}
+				}
+			}
+			return;
+		}
+
+		for (MethodHandle getter : ReferenceTable.of(type).getGetters()) {
+			Object value;
+			try {
+				value = (Object) getter.invokeExact(object);
+			} catch (RuntimeException | Error exception) {
+				throw exception;
+			} catch (Throwable throwable) {
+				// Getters do not throw checked exceptions
+				throw new FieldAccessException("Cannot read field", throwable);
+			}
+
+			if (value != null) {
+				consumer.accept(value);
+			}
+		}
+
+		// Elements of collections with inaccessible internals
+		if (!collections) {
+			return;
+		}
+		if (object instanceof Collection) {
+			for (Object element : (Collection<?>) object) {
+				if (element != null) {
+					consumer.accept(element);
+				}
+			}
+		}
+		else if (object instanceof Map) {
+			for (Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+				if (entry.getKey() != null) {
+					consumer.accept(entry.getKey());
+				}
+				if (entry.getValue() != null) {
+					consumer.accept(entry.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get if all reference fields of a class can be followed.
+	 *
+	 * @param type Class.
+	 * @return if no reference field of the class or its superclasses is inaccessible.
+	 */
+	public static boolean isTransparent(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return ReferenceTable.of(type).getHiddenCount() == 0;
+	}
+
+	/**
+	 * Create a new builder instance.
+	 *
+	 * @return a builder to use.
+	 */
+	public static Builder newBuilder() {
+		return new Builder();
+	}
+
+	/**
+	 * A task walking part of a graph.
+	 * Tasks split off half of their work whenever too much is queued.
+	 */
+	private class WalkTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final ArrayDeque<Object> work;
+		private final Set<Identity> visited;
+		private final Consumer<Object> visitor;
+		private final LongAdder count;
+
+		private WalkTask(ArrayDeque<Object> work, Set<Identity> visited, Consumer<Object> visitor, LongAdder count) {
+			this.work = work;
+			this.visited = visited;
+			this.visitor = visitor;
+			this.count = count;
+		}
+
+		@Override
+		protected void compute() {
+			List<WalkTask> forked = new ArrayList<>();
+			while (!work.isEmpty()) {
+				Object object = work.pop();
+				visitor.accept(object);
+				count.increment();
+				expand(object, child -> {
+					if (visited.add(new Identity(child))) {
+						work.push(child);
+					}
+				});
+
+				// Hand off half of our work
+				if (work.size() > SPLIT) {
+					ArrayDeque<Object> split = new ArrayDeque<>();
+					for (int i = work.size() / 2; i > 0; i--) {
+						split.push(work.pollLast());
+					}
+
+					WalkTask task = new WalkTask(split, visited, visitor, count);
+					task.fork();
+					forked.add(task);
+				}
+			}
+
+			for (WalkTask task : forked) {
+				task.join();
+			}
+		}
+	}
+
+	/**
+	 * An identity based key.
+	 */
+	private static class Identity {
+
+		private final Object object;
+
+		private Identity(Object object) {
+			this.object = object;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(object);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof Identity && ((Identity) object).object == this.object;
+		}
+	}
+
+	/**
+	 * A graph walker builder.
+	 *
+	 * @author SteelPhoenix
+	 */
+	public static class Builder {
+
+		private boolean collections = true;
+		private Predicate<Object> filter = object -> true;
+		private ForkJoinPool pool = null;
+
+		private Builder() {
+			// Nothing
+		}
+
+		/**
+		 * Set if collection and map elements should be followed.
+		 * This is enabled by default, as the internals of most collections cannot be accessed.
+		 *
+		 * @param collections If elements should be followed.
+		 * @return this for chaining.
+		 */
+		public Builder withCollections(boolean collections) {
+			this.collections = collections;
+			return this;
+		}
+
+		/**
+		 * Set which objects should be followed.
+		 * Objects that do not match are still visited, but their references are not.
+		 *
+		 * @param filter Object filter.
+		 * @return this for chaining.
+		 */
+		public Builder withFilter(Predicate<Object> filter) {
+			// Preconditions
+			if (filter == null) {
+				throw new NullPointerException("Filter cannot be null");
+			}
+
+			this.filter = filter;
+			return this;
+		}
+
+		/**
+		 * Set the pool to walk graphs in.
+		 *
+		 * @param pool Pool or null to walk graphs on the calling thread.
+		 * @return this for chaining.
+		 *
+		 * @see ForkJoinPool#commonPool()
+		 */
+		public Builder withPool(ForkJoinPool pool) {
+			this.pool = pool;
+			return this;
+		}
+
+		/**
+		 * Build the walker.
+		 *
+		 * @return the built walker.
+		 */
+		public GraphWalker build() {
+			return new GraphWalker(collections, filter, pool);
+		}
+	}
+}
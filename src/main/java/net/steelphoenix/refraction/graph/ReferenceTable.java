@@ -0,0 +1,80 @@
+package net.steelphoenix.refraction.graph;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+import net.steelphoenix.refraction.reflection.ReflectionHelper;
+
+/**
+ * All reference fields of a class hierarchy.
+ * Tables are computed once per class, fields that cannot be accessed are left out and only counted.
+ *
+ * @author SteelPhoenix
+ */
+class ReferenceTable {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final ClassValue<ReferenceTable> CACHE = new ClassValue<ReferenceTable>() {
+
+		@Override
+		protected ReferenceTable computeValue(Class<?> type) {
+			return new ReferenceTable(type);
+		}
+	};
+	private final MethodHandle[] getters;
+	private final int hidden;
+
+	private ReferenceTable(Class<?> type) {
+		List<MethodHandle> getters = new ArrayList<>();
+		int hidden = 0;
+		for (IField field : ReflectionHelper.fromClassFuzzy(type).getFields(null, true)) {
+			// Only instance references can lead to other objects
+			if (field.isStatic() || field.getField().getType().isPrimitive()) {
+				continue;
+			}
+
+			try {
+				getters.add(Handles.getter(field.getField()).asType(GETTER_TYPE));
+			} catch (IllegalStateException exception) {
+				// Not accessible, we cannot follow it
+				hidden++;
+			}
+		}
+
+		this.getters = getters.toArray(new MethodHandle[getters.size()]);
+		this.hidden = hidden;
+	}
+
+	/**
+	 * Get the getters of all reference fields.
+	 * All getters have type (Object)Object.
+	 *
+	 * @return the getters, this array should not be modified.
+	 */
+	MethodHandle[] getGetters() {
+		return getters;
+	}
+
+	/**
+	 * Get the amount of reference fields that cannot be followed.
+	 *
+	 * @return the amount of inaccessible reference fields.
+	 */
+	int getHiddenCount() {
+		return hidden;
+	}
+
+	/**
+	 * Get the reference table of a class.
+	 *
+	 * @param type Class.
+	 * @return the reference table.
+	 */
+	static ReferenceTable of(Class<?> type) {
+		return CACHE.get(type);
+	}
+}
@@ -0,0 +1,458 @@
+package net.steelphoenix.refraction.member;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.steelphoenix.refraction.ClassCache;
+import net.steelphoenix.refraction.Util;
+import net.steelphoenix.refraction.primitives.Primitives;
+
+/**
+ * A utility class to bind members to functional interfaces.
+ * Members are bound with {@link LambdaMetafactory}, giving the same implementation a lambda or method reference would have.
+ * Methods and constructors are spun with a private lookup on their declaring class, so the lambda is defined in the class loader of the member and unloads with it.
+ * Fields, and members the metafactory cannot link directly, are bound with a lambda calling their method handle, which is defined in the class loader of this library.
+ * Only interfaces that cannot be linked either way (for example interfaces of other class loaders since Java 14, or with more than four parameters) are bound through {@link MethodHandleProxies}.
+ * For static members the instance parameter can be left out of the functional interface.
+ *
+ * @author SteelPhoenix
+ */
+class Binders {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final ClassCache<Map<Entry<Member, Class<?>>, Optional<CallSite>>> CALL_SITES = new ClassCache<>(type -> new ConcurrentHashMap<>());
+	private static final ClassCache<Optional<CallSite>> CAPTURING_SITES = new ClassCache<>(Binders::capturingSite);
+	private static final int MAX_CAPTURED_ARITY = 4;
+
+	private Binders() {
+		// Nothing
+	}
+
+	/**
+	 * Bind a method to a functional interface.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @param method Target method.
+	 * @return the functional interface instance.
+	 */
+	static <F> F bind(Class<F> type, Method method) {
+		Method sam = getFunctionalMethod(type);
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+		// Static methods may be bound with or without an ignored instance parameter
+		if (sam.getParameterCount() == method.getParameterCount() + (isStatic ? 0 : 1)) {
+			F result = metafactory(type, sam, method, lookup -> lookup.unreflect(method));
+			if (result != null) {
+				return result;
+			}
+		}
+
+		MethodHandle handle = Handles.method(method);
+		if (isStatic && sam.getParameterCount() == method.getParameterCount()) {
+			handle = MethodHandles.insertArguments(handle, 0, (Object) null);
+		}
+		return capture(type, sam, handle);
+	}
+
+	/**
+	 * Bind a constructor to a functional interface.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @param constructor Target constructor.
+	 * @return the functional interface instance.
+	 */
+	static <F> F bind(Class<F> type, Constructor<?> constructor) {
+		Method sam = getFunctionalMethod(type);
+		if (!Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+			F result = metafactory(type, sam, constructor, lookup -> lookup.unreflectConstructor(constructor));
+			if (result != null) {
+				return result;
+			}
+		}
+
+		return capture(type, sam, Handles.constructor(constructor));
+	}
+
+	/**
+	 * Bind a field to a functional interface.
+	 * Functional interfaces returning a value are bound to the getter, all others to the setter.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @param field Target field.
+	 * @param readOnly If binding to the setter is not allowed.
+	 * @return the functional interface instance.
+	 */
+	static <F> F bind(Class<F> type, Field field, boolean readOnly) {
+		Method sam = getFunctionalMethod(type);
+		boolean getter = sam.getReturnType() != void.class;
+		if (!getter && readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		// The metafactory does not take field handles, so they are always captured
+		MethodHandle handle = getter ? Handles.getter(field) : Handles.setter(field);
+		if (Modifier.isStatic(field.getModifiers()) && sam.getParameterCount() == handle.type().parameterCount() - 1) {
+			handle = MethodHandles.insertArguments(handle, 0, (Object) null);
+		}
+		return capture(type, sam, handle);
+	}
+
+	/**
+	 * Get the single abstract method of a functional interface.
+	 *
+	 * @param type Functional interface.
+	 * @return the abstract method.
+	 * @throws IllegalArgumentException If the type is not a functional interface.
+	 */
+	private static Method getFunctionalMethod(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (!type.isInterface()) {
+			throw new IllegalArgumentException("Type is not an interface");
+		}
+
+		Method result = null;
+		for (Method method : type.getMethods()) {
+			if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) {
+				continue;
+			}
+			if (result != null && !(result.getName().equals(method.getName()) && MethodType.methodType(result.getReturnType(), result.getParameterTypes()).equals(MethodType.methodType(method.getReturnType(), method.getParameterTypes())))) {
+				throw new IllegalArgumentException("Type is not a functional interface");
+			}
+			result = method;
+		}
+
+		if (result == null) {
+			throw new IllegalArgumentException("Type is not a functional interface");
+		}
+		return result;
+	}
+
+	/**
+	 * Bind a member with the metafactory.
+	 * The lambda is spun with a private lookup on the declaring class if the functional interface is visible from its class loader.
+	 * Otherwise public members of classes linkable by this library are spun with the lookup of this library.
+	 * Call sites are cached per member and functional interface, so every member is only spun into a class once.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @param sam Functional method.
+	 * @param member Target member.
+	 * @param unreflector Direct method handle factory.
+	 * @return the functional interface instance or null if the member cannot be bound this way.
+	 */
+	private static <F> F metafactory(Class<F> type, Method sam, Member member, Unreflector unreflector) {
+		Class<?> declarer = member.getDeclaringClass();
+		Optional<CallSite> site = CALL_SITES.get(declarer).computeIfAbsent(Util.newTuple(member, type), key -> {
+			CallSite result = null;
+			if (isVisible(type, declarer.getClassLoader())) {
+				try {
+					result = callSite(Handles.privateLookup(declarer), type, sam, unreflector);
+				} catch (IllegalStateException exception) {
+					// Package is not open to us
+				}
+			}
+			if (result == null && isPublic(member) && isLinkable(declarer) && isLinkable(type)) {
+				result = callSite(LOOKUP, type, sam, unreflector);
+			}
+			return Optional.ofNullable(result);
+		});
+
+		return site.isPresent() ? create(type, site.get().getTarget()) : null;
+	}
+
+	/**
+	 * Link a metafactory call site.
+	 *
+	 * @param lookup Caller lookup, the lambda is defined in its class loader.
+	 * @param type Functional interface.
+	 * @param sam Functional method.
+	 * @param unreflector Direct method handle factory.
+	 * @return the call site or null if the member cannot be bound this way.
+	 */
+	private static CallSite callSite(MethodHandles.Lookup lookup, Class<?> type, Method sam, Unreflector unreflector) {
+		MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+		try {
+			MethodHandle implementation = unreflector.unreflect(lookup);
+			return LambdaMetafactory.metafactory(lookup, sam.getName(), MethodType.methodType(type), samType, implementation, specialize(samType, implementation.type()));
+		} catch (LambdaConversionException | IllegalAccessException | IllegalArgumentException | LinkageError exception) {
+			// Not accessible, an invalid caller or the signatures do not match
+			return null;
+		}
+	}
+
+	/**
+	 * Bind a method handle with a lambda that calls it.
+	 * The lambda class is spun once per functional interface and captures the handle, falling back on a proxy for interfaces it cannot link.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @param sam Functional method.
+	 * @param handle Method handle.
+	 * @return the functional interface instance.
+	 */
+	private static <F> F capture(Class<F> type, Method sam, MethodHandle handle) {
+		MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+		try {
+			handle = handle.asType(samType);
+		} catch (WrongMethodTypeException exception) {
+			throw new IllegalArgumentException("Member of type " + handle.type() + " cannot be bound to " + samType, exception);
+		}
+
+		Optional<CallSite> site = CAPTURING_SITES.get(type);
+		if (site.isPresent()) {
+			// Boxing between the lambda and the handle is undone once both are inlined
+			return create(type, site.get().getTarget().bindTo(handle.asType(MethodType.genericMethodType(samType.parameterCount()))));
+		}
+		return MethodHandleProxies.asInterfaceInstance(type, handle);
+	}
+
+	/**
+	 * Link the metafactory call site of a lambda calling a captured method handle.
+	 *
+	 * @param type Functional interface.
+	 * @return the call site taking the generic method handle or nothing if the interface cannot be linked.
+	 */
+	private static Optional<CallSite> capturingSite(Class<?> type) {
+		Method sam = getFunctionalMethod(type);
+		int arity = sam.getParameterCount();
+		if (arity > MAX_CAPTURED_ARITY || !isLinkable(type)) {
+			return Optional.empty();
+		}
+
+		MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+		try {
+			MethodHandle implementation = LOOKUP.findStatic(Binders.class, "invoke" + arity, MethodType.genericMethodType(arity).insertParameterTypes(0, MethodHandle.class));
+			return Optional.of(LambdaMetafactory.metafactory(LOOKUP, sam.getName(), MethodType.methodType(type, MethodHandle.class), samType, implementation, samType));
+		} catch (LambdaConversionException | ReflectiveOperationException | LinkageError exception) {
+			// Not linkable from here
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Create a functional interface instance.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @param factory Factory handle without parameters.
+	 * @return the functional interface instance.
+	 */
+	private static <F> F create(Class<F> type, MethodHandle factory) {
+		Object result;
+		try {
+			result = factory.invoke();
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Factories do not throw checked exceptions
+			throw new IllegalStateException("Cannot bind member", throwable);
+		}
+
+		return type.cast(result);
+	}
+
+	/**
+	 * Get if a class can be linked by the metafactory without being kept loaded by this library.
+	 * This is the case if it is defined by the loader of this library or one of its parents.
+	 *
+	 * @param type Class.
+	 * @return if the class is linkable.
+	 */
+	private static boolean isLinkable(Class<?> type) {
+		return isVisible(type, Binders.class.getClassLoader());
+	}
+
+	/**
+	 * Get if a class is defined by a class loader or one of its parents.
+	 *
+	 * @param type Class.
+	 * @param loader Class loader or null for the bootstrap class loader.
+	 * @return if the class is visible from the class loader.
+	 */
+	private static boolean isVisible(Class<?> type, ClassLoader loader) {
+		ClassLoader target = type.getClassLoader();
+		if (target == null) {
+			return true;
+		}
+
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == target) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the instantiated method type for the metafactory.
+	 * This is the functional method type, specialized to the implementation types where the implementation is more specific.
+	 *
+	 * @param samType Functional method type.
+	 * @param implementation Implementation type.
+	 * @return the instantiated method type.
+	 */
+	private static MethodType specialize(MethodType samType, MethodType implementation) {
+		if (samType.parameterCount() != implementation.parameterCount()) {
+			throw new IllegalArgumentException("Parameter count mismatch");
+		}
+
+		MethodType result = samType.changeReturnType(specialize(samType.returnType(), implementation.returnType()));
+		for (int i = 0; i < samType.parameterCount(); i++) {
+			result = result.changeParameterType(i, specialize(samType.parameterType(i), implementation.parameterType(i)));
+		}
+		return result;
+	}
+
+	/**
+	 * Get the specialized version of a type.
+	 *
+	 * @param type Functional method type.
+	 * @param implementation Implementation type.
+	 * @return the specialized type.
+	 */
+	private static Class<?> specialize(Class<?> type, Class<?> implementation) {
+		if (type.isPrimitive()) {
+			return type;
+		}
+		if (implementation.isPrimitive()) {
+			implementation = implementation == void.class ? type : Primitives.getByType(implementation).getBoxedType();
+		}
+		return type.isAssignableFrom(implementation) ? implementation : type;
+	}
+
+	/**
+	 * Get if a member and its declaring class are public.
+	 *
+	 * @param member Member.
+	 * @return if the member is public.
+	 */
+	private static boolean isPublic(Member member) {
+		if (!Modifier.isPublic(member.getModifiers())) {
+			return false;
+		}
+
+		for (Class<?> clazz = member.getDeclaringClass(); clazz != null; clazz = clazz.getEnclosingClass()) {
+			if (!Modifier.isPublic(clazz.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get if a method is a public method of {@link Object}.
+	 *
+	 * @param method Method.
+	 * @return if the method is implemented by every object.
+	 */
+	private static boolean isObjectMethod(Method method) {
+		try {
+			return Modifier.isPublic(Object.class.getMethod(method.getName(), method.getParameterTypes()).getModifiers());
+		} catch (NoSuchMethodException exception) {
+			return false;
+		}
+	}
+
+	/**
+	 * Invoke a captured handle without arguments.
+	 *
+	 * @param handle Handle.
+	 * @return the result.
+	 * @throws Throwable If the handle throws.
+	 */
+	private static Object invoke0(MethodHandle handle) throws Throwable {
+		return handle.invokeExact();
+	}
+
+	/**
+	 * Invoke a captured handle with one argument.
+	 *
+	 * @param handle Handle.
+	 * @param a First argument.
+	 * @return the result.
+	 * @throws Throwable If the handle throws.
+	 */
+	private static Object invoke1(MethodHandle handle, Object a) throws Throwable {
+		return handle.invokeExact(a);
+	}
+
+	/**
+	 * Invoke a captured handle with two arguments.
+	 *
+	 * @param handle Handle.
+	 * @param a First argument.
+	 * @param b Second argument.
+	 * @return the result.
+	 * @throws Throwable If the handle throws.
+	 */
+	private static Object invoke2(MethodHandle handle, Object a, Object b) throws Throwable {
+		return handle.invokeExact(a, b);
+	}
+
+	/**
+	 * Invoke a captured handle with three arguments.
+	 *
+	 * @param handle Handle.
+	 * @param a First argument.
+	 * @param b Second argument.
+	 * @param c Third argument.
+	 * @return the result.
+	 * @throws Throwable If the handle throws.
+	 */
+	private static Object invoke3(MethodHandle handle, Object a, Object b, Object c) throws Throwable {
+		return handle.invokeExact(a, b, c);
+	}
+
+	/**
+	 * Invoke a captured handle with four arguments.
+	 *
+	 * @param handle Handle.
+	 * @param a First argument.
+	 * @param b Second argument.
+	 * @param c Third argument.
+	 * @param d Fourth argument.
+	 * @return the result.
+	 * @throws Throwable If the handle throws.
+	 */
+	private static Object invoke4(MethodHandle handle, Object a, Object b, Object c, Object d) throws Throwable {
+		return handle.invokeExact(a, b, c, d);
+	}
+
+	/**
+	 * A factory of direct method handles.
+	 */
+	@FunctionalInterface
+	private interface Unreflector {
+
+		/**
+		 * Get the handle.
+		 *
+		 * @param lookup Lookup to use.
+		 * @return the handle.
+		 * @throws IllegalAccessException If the member cannot be accessed.
+		 */
+		public MethodHandle unreflect(MethodHandles.Lookup lookup) throws IllegalAccessException;
+	}
+}
@@ -0,0 +1,408 @@
+package net.steelphoenix.refraction.member;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * A field wrapper implementation backed by method handles.
+ * All access checks are done once on creation.
+ *
+ * @author SteelPhoenix
+ */
+class DirectField extends SimpleField {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private final Class<?> type;
+	private final MethodHandle getter;
+	private final MethodHandle setter;
+	private final MethodHandle exactGetter;
+	private final MethodHandle exactSetter;
+	private final boolean readOnly;
+
+	DirectField(Field field, boolean readOnly) {
+		super(field);
+
+		this.type = field.getType();
+		this.exactGetter = Handles.getter(field);
+		this.exactSetter = readOnly ? null : setter(field);
+		this.getter = exactGetter.asType(GETTER_TYPE);
+		this.setter = exactSetter == null ? null : exactSetter.asType(SETTER_TYPE);
+		this.readOnly = readOnly;
+	}
+
+	private DirectField(DirectField field) {
+		super(field.getField());
+
+		this.type = field.type;
+		this.exactGetter = field.exactGetter;
+		this.exactSetter = null;
+		this.getter = field.getter;
+		this.setter = null;
+		this.readOnly = true;
+	}
+
+	@Override
+	public Object get(Object instance) {
+		try {
+			return (Object) getter.invokeExact(instance);
+		} catch (NullPointerException exception) {
+			// No NPE because technically null instances are supported if the field is static
+			throw new IllegalArgumentException("Instance cannot be null for non-static fields", exception);
+		} catch (ClassCastException exception) {
+			throw new IllegalArgumentException("Instance is not of type " + getDeclarer().getName(), exception);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Getters do not throw checked exceptions
+			throw new IllegalStateException("Cannot get field", throwable);
+		}
+	}
+
+	@Override
+	public void set(Object instance, Object value) {
+		if (setter == null) {
+			if (readOnly) {
+				// We cannot change values because we are read only
+				throw new UnsupportedOperationException("Field accessor is read only");
+			}
+
+			// Not invokable
+			throw new IllegalStateException("Cannot set field");
+		}
+
+		try {
+			setter.invokeExact(instance, value);
+		} catch (NullPointerException | ClassCastException exception) {
+			// Null instance, null primitive or incorrect type
+			throw new IllegalArgumentException("Cannot set field to " + value, exception);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Setters do not throw checked exceptions
+			throw new IllegalStateException("Cannot set field", throwable);
+		}
+	}
+
+	@Override
+	public boolean getBoolean(Object instance) {
+		// Widening conversions are left to reflection
+		if (type != boolean.class) {
+			return super.getBoolean(instance);
+		}
+
+		try {
+			return (boolean) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public byte getByte(Object instance) {
+		if (type != byte.class) {
+			return super.getByte(instance);
+		}
+
+		try {
+			return (byte) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public char getChar(Object instance) {
+		if (type != char.class) {
+			return super.getChar(instance);
+		}
+
+		try {
+			return (char) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public double getDouble(Object instance) {
+		if (type != double.class) {
+			return super.getDouble(instance);
+		}
+
+		try {
+			return (double) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public float getFloat(Object instance) {
+		if (type != float.class) {
+			return super.getFloat(instance);
+		}
+
+		try {
+			return (float) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public int getInt(Object instance) {
+		if (type != int.class) {
+			return super.getInt(instance);
+		}
+
+		try {
+			return (int) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public long getLong(Object instance) {
+		if (type != long.class) {
+			return super.getLong(instance);
+		}
+
+		try {
+			return (long) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public short getShort(Object instance) {
+		if (type != short.class) {
+			return super.getShort(instance);
+		}
+
+		try {
+			return (short) exactGetter.invokeExact(instance);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot get field");
+		}
+	}
+
+	@Override
+	public void setBoolean(Object instance, boolean value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		// Widening conversions and unwritable fields are left to reflection
+		if (type != boolean.class || exactSetter == null) {
+			super.setBoolean(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setByte(Object instance, byte value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != byte.class || exactSetter == null) {
+			super.setByte(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setChar(Object instance, char value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != char.class || exactSetter == null) {
+			super.setChar(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setDouble(Object instance, double value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != double.class || exactSetter == null) {
+			super.setDouble(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setFloat(Object instance, float value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != float.class || exactSetter == null) {
+			super.setFloat(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setInt(Object instance, int value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != int.class || exactSetter == null) {
+			super.setInt(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setLong(Object instance, long value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != long.class || exactSetter == null) {
+			super.setLong(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public void setShort(Object instance, short value) {
+		if (readOnly) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		if (type != short.class || exactSetter == null) {
+			super.setShort(instance, value);
+			return;
+		}
+
+		try {
+			exactSetter.invokeExact(instance, value);
+		} catch (Throwable throwable) {
+			throw translate(throwable, "Cannot set field");
+		}
+	}
+
+	@Override
+	public <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, getField(), readOnly);
+	}
+
+	@Override
+	public IField asReadOnly() {
+		return readOnly ? this : new DirectField(this);
+	}
+
+	@Override
+	public IField asDirect() {
+		// We are already direct
+		return this;
+	}
+
+	@Override
+	IField tier() {
+		// Already backed by method handles
+		return null;
+	}
+
+	/**
+	 * Get an exact setter for a field.
+	 *
+	 * @param field Target field.
+	 * @return the setter or null if the field cannot be written.
+	 */
+	private static MethodHandle setter(Field field) {
+		try {
+			return Handles.setter(field);
+		} catch (IllegalStateException exception) {
+			// Static final fields can still be read
+			return null;
+		}
+	}
+
+	/**
+	 * Translate an exception thrown by a primitive accessor.
+	 *
+	 * @param throwable Thrown exception.
+	 * @param message Exception message.
+	 * @return the exception to throw.
+	 */
+	private RuntimeException translate(Throwable throwable, String message) {
+		if (throwable instanceof NullPointerException) {
+			// No NPE because technically null instances are supported if the field is static
+			return new IllegalArgumentException("Instance cannot be null for non-static fields", throwable);
+		}
+		if (throwable instanceof ClassCastException) {
+			return new IllegalArgumentException("Instance is not of type " + getDeclarer().getName(), throwable);
+		}
+		if (throwable instanceof RuntimeException) {
+			return (RuntimeException) throwable;
+		}
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+
+		// Accessors do not throw checked exceptions
+		return new IllegalStateException(message, throwable);
+	}
+}
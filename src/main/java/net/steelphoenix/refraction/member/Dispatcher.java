@@ -0,0 +1,317 @@
+package net.steelphoenix.refraction.member;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.steelphoenix.refraction.ClassCache;
+import net.steelphoenix.refraction.primitives.Primitives;
+import net.steelphoenix.refraction.structure.IStructureModifier;
+
+/**
+ * A dispatcher for all fields and methods declared by a single class.
+ * Members are addressed by slot, which is their index in {@link Members#getFields(Class)} or {@link Members#getMethods(Class)}.
+ * Structure modifier indices are mapped to slots with {@link #indexOf(IStructureModifier, int)}.
+ * Method handles are only created for slots that are used and are shared by every caller, so the cost of a class is bounded by its used members rather than by its callers.
+ * Dispatch goes through this table of method handles, not through a generated class: every call loads the handle of its slot and invokes it.
+ * This is cheaper than reflection but not as fast as generated code, members on hot paths should be bound with {@link IField#bindTo(Class)} or {@link IMethod#bindTo(Class)} instead.
+ * Dispatchers are cached with their class and do not keep it from being unloaded.
+ * Access checks are suppressed for all members.
+ * This class is thread safe.
+ *
+ * @author SteelPhoenix
+ */
+public final class Dispatcher {
+
+	private static final ClassCache<Dispatcher> CACHE = new ClassCache<>(Dispatcher::new);
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private final Class<?> type;
+	private final Field[] fields;
+	private final Class<?>[] valueTypes;
+	private final boolean[] staticFields;
+	private final Method[] methods;
+	private final boolean[] staticMethods;
+	private final Map<Member, Integer> slots = new HashMap<>();
+	private final MethodHandle[] getters;
+	private final MethodHandle[] setters;
+	private final MethodHandle[] invokers;
+
+	private Dispatcher(Class<?> type) {
+		this.type = type;
+
+		List<IField> fields = Members.getFields(type);
+		this.fields = new Field[fields.size()];
+		this.valueTypes = new Class<?>[this.fields.length];
+		this.staticFields = new boolean[this.fields.length];
+		for (int i = 0; i < this.fields.length; i++) {
+			this.fields[i] = fields.get(i).getField();
+			this.staticFields[i] = Modifier.isStatic(this.fields[i].getModifiers());
+			slots.put(this.fields[i], i);
+
+			// Primitive fields take their boxed type
+			Class<?> valueType = this.fields[i].getType();
+			this.valueTypes[i] = valueType.isPrimitive() ? Primitives.getByType(valueType).getBoxedType() : valueType;
+		}
+
+		List<IMethod> methods = Members.getMethods(type);
+		this.methods = new Method[methods.size()];
+		this.staticMethods = new boolean[this.methods.length];
+		for (int i = 0; i < this.methods.length; i++) {
+			this.methods[i] = methods.get(i).getMethod();
+			this.staticMethods[i] = Modifier.isStatic(this.methods[i].getModifiers());
+			slots.put(this.methods[i], i);
+		}
+
+		// Handles are created on first use, unused members cost nothing
+		this.getters = new MethodHandle[this.fields.length];
+		this.setters = new MethodHandle[this.fields.length];
+		this.invokers = new MethodHandle[this.methods.length];
+	}
+
+	/**
+	 * Get the class this dispatcher is for.
+	 *
+	 * @return the class.
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * Get the number of field slots.
+	 *
+	 * @return the number of declared fields.
+	 */
+	public int getFieldCount() {
+		return fields.length;
+	}
+
+	/**
+	 * Get the number of method slots.
+	 *
+	 * @return the number of declared methods.
+	 */
+	public int getMethodCount() {
+		return methods.length;
+	}
+
+	/**
+	 * Get the slot of a field.
+	 *
+	 * @param field Field.
+	 * @return the slot or -1 if the field is not declared by this class.
+	 */
+	public int indexOf(Field field) {
+		// Preconditions
+		if (field == null) {
+			throw new NullPointerException("Field cannot be null");
+		}
+
+		return slots.getOrDefault(field, -1);
+	}
+
+	/**
+	 * Get the slot of a field.
+	 *
+	 * @param field Field.
+	 * @return the slot or -1 if the field is not declared by this class.
+	 */
+	public int indexOf(IField field) {
+		// Preconditions
+		if (field == null) {
+			throw new NullPointerException("Field cannot be null");
+		}
+
+		return indexOf(field.getField());
+	}
+
+	/**
+	 * Get the slot of a structure modifier field.
+	 * Fields declared by a superclass of the modifier target have their slot in the dispatcher of that superclass.
+	 *
+	 * @param modifier Structure modifier.
+	 * @param index Field index in the modifier.
+	 * @return the slot or -1 if the field is not declared by this class.
+	 *
+	 * @see IField#getDeclarer()
+	 */
+	public int indexOf(IStructureModifier<?> modifier, int index) {
+		// Preconditions
+		if (modifier == null) {
+			throw new NullPointerException("Modifier cannot be null");
+		}
+
+		return indexOf(modifier.getField(index));
+	}
+
+	/**
+	 * Get the slot of a method.
+	 *
+	 * @param method Method.
+	 * @return the slot or -1 if the method is not declared by this class.
+	 */
+	public int indexOf(Method method) {
+		// Preconditions
+		if (method == null) {
+			throw new NullPointerException("Method cannot be null");
+		}
+
+		return slots.getOrDefault(method, -1);
+	}
+
+	/**
+	 * Get the slot of a method.
+	 *
+	 * @param method Method.
+	 * @return the slot or -1 if the method is not declared by this class.
+	 */
+	public int indexOf(IMethod method) {
+		// Preconditions
+		if (method == null) {
+			throw new NullPointerException("Method cannot be null");
+		}
+
+		return indexOf(method.getMethod());
+	}
+
+	/**
+	 * Get the value of a field.
+	 *
+	 * @param index Field slot.
+	 * @param instance Instance or null for static fields.
+	 * @return the value.
+	 * @throws IndexOutOfBoundsException If there is no such slot.
+	 * @throws IllegalArgumentException If the instance is not of the declaring class.
+	 */
+	public Object get(int index, Object instance) {
+		MethodHandle getter = getters[index];
+		if (getter == null) {
+			getter = Handles.getter(fields[index]).asType(GETTER_TYPE);
+			getters[index] = getter;
+		}
+		checkInstance(staticFields[index], instance);
+
+		try {
+			return (Object) getter.invokeExact(instance);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Getters do not throw checked exceptions
+			throw new IllegalStateException("Cannot get field", throwable);
+		}
+	}
+
+	/**
+	 * Set the value of a field.
+	 *
+	 * @param index Field slot.
+	 * @param instance Instance or null for static fields.
+	 * @param value New value.
+	 * @throws IndexOutOfBoundsException If there is no such slot.
+	 * @throws IllegalArgumentException If the instance is not of the declaring class or the value is not of the field type.
+	 * @throws IllegalStateException If the field is static and final.
+	 */
+	public void set(int index, Object instance, Object value) {
+		MethodHandle setter = setters[index];
+		if (setter == null) {
+			setter = Handles.setter(fields[index]).asType(SETTER_TYPE);
+			setters[index] = setter;
+		}
+		checkInstance(staticFields[index], instance);
+		if (value == null ? fields[index].getType().isPrimitive() : !valueTypes[index].isInstance(value)) {
+			throw new IllegalArgumentException("Cannot set field of type " + fields[index].getType().getName() + " to " + value);
+		}
+
+		try {
+			setter.invokeExact(instance, value);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Setters do not throw checked exceptions
+			throw new IllegalStateException("Cannot set field", throwable);
+		}
+	}
+
+	/**
+	 * Invoke a method.
+	 *
+	 * @param index Method slot.
+	 * @param instance Instance or null for static methods.
+	 * @param args Method arguments.
+	 * @return the return value or null for void methods.
+	 * @throws IndexOutOfBoundsException If there is no such slot.
+	 */
+	public Object invoke(int index, Object instance, Object... args) {
+		MethodHandle invoker = invokers[index];
+		if (invoker == null) {
+			Handles.access(methods[index]);
+			invoker = Invokers.of(methods[index]);
+			invokers[index] = invoker;
+		}
+		checkInstance(staticMethods[index], instance);
+
+		try {
+			return (Object) invoker.invokeExact(instance, args);
+		} catch (InvocationTargetException exception) {
+			// Method itself threw an exception
+			throw new RuntimeException("An internal error occured", exception.getCause());
+		} catch (NullPointerException | ClassCastException exception) {
+			// Incorrect arguments
+			throw new IllegalArgumentException("Cannot invoke method with " + Arrays.toString(args), exception);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Invokers only throw checked exceptions wrapped
+			throw new IllegalStateException("Cannot invoke method", throwable);
+		}
+	}
+
+	/**
+	 * Check the instance used for a member.
+	 *
+	 * @param isStatic If the member is static.
+	 * @param instance Instance or null for static members.
+	 * @throws IllegalArgumentException If the member is not static and the instance is not of the declaring class.
+	 */
+	private void checkInstance(boolean isStatic, Object instance) {
+		if (isStatic) {
+			return;
+		}
+		if (instance == null) {
+			// No NPE because technically null instances are supported if the member is static
+			throw new IllegalArgumentException("Instance cannot be null for non-static members");
+		}
+		if (!type.isInstance(instance)) {
+			throw new IllegalArgumentException("Instance is not of type " + type.getName());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Dispatcher[type=" + type.getName() + ", fields=" + fields.length + ", methods=" + methods.length + "]";
+	}
+
+	/**
+	 * Get the dispatcher for a class.
+	 *
+	 * @param type Class.
+	 * @return the dispatcher.
+	 */
+	public static Dispatcher of(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return CACHE.get(type);
+	}
+}
@@ -0,0 +1,224 @@
+package net.steelphoenix.refraction.member;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A utility class for method handles.
+ * All handles are created from accessible members, scope restrictions are ignored whenever possible.
+ *
+ * @author SteelPhoenix
+ */
+public class Handles {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final Method PRIVATE_LOOKUP_IN = getPrivateLookupIn();
+
+	private Handles() {
+		// Nothing
+	}
+
+	/**
+	 * Get a getter for a field.
+	 * The handle has type (Object)F where F is the field type.
+	 * For static fields the instance argument is ignored.
+	 *
+	 * @param field Target field.
+	 * @return the getter.
+	 * @throws IllegalStateException If the field cannot be accessed.
+	 */
+	public static MethodHandle getter(Field field) {
+		// Preconditions
+		if (field == null) {
+			throw new NullPointerException("Field cannot be null");
+		}
+
+		access(field);
+
+		MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflectGetter(field);
+		} catch (IllegalAccessException exception) {
+			// Not accessible
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+
+		// Static fields do not take an instance
+		if (Modifier.isStatic(field.getModifiers())) {
+			return MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(MethodType.methodType(field.getType(), Object.class));
+	}
+
+	/**
+	 * Get a setter for a field.
+	 * The handle has type (Object, F)void where F is the field type.
+	 * For static fields the instance argument is ignored.
+	 *
+	 * @param field Target field.
+	 * @return the setter.
+	 * @throws IllegalStateException If the field cannot be accessed or is static and final.
+	 */
+	public static MethodHandle setter(Field field) {
+		// Preconditions
+		if (field == null) {
+			throw new NullPointerException("Field cannot be null");
+		}
+
+		access(field);
+
+		MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflectSetter(field);
+		} catch (IllegalAccessException exception) {
+			// Not accessible or static final
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+
+		// Static fields do not take an instance
+		if (Modifier.isStatic(field.getModifiers())) {
+			return MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+	}
+
+	/**
+	 * Get a handle for a constructor.
+	 * The handle has type (P...)T where P are the parameter types and T is the declaring class.
+	 *
+	 * @param constructor Target constructor.
+	 * @return the constructor handle.
+	 * @throws IllegalStateException If the constructor cannot be accessed.
+	 */
+	public static MethodHandle constructor(Constructor<?> constructor) {
+		// Preconditions
+		if (constructor == null) {
+			throw new NullPointerException("Constructor cannot be null");
+		}
+
+		access(constructor);
+
+		try {
+			return LOOKUP.unreflectConstructor(constructor);
+		} catch (IllegalAccessException exception) {
+			// Not accessible
+			throw new IllegalStateException("Cannot invoke constructor", exception);
+		}
+	}
+
+	/**
+	 * Get a handle for a method.
+	 * The handle has type (Object, P...)R where P are the parameter types and R is the return type.
+	 * For static methods the instance argument is ignored.
+	 *
+	 * @param method Target method.
+	 * @return the method handle.
+	 * @throws IllegalStateException If the method cannot be accessed.
+	 */
+	public static MethodHandle method(Method method) {
+		// Preconditions
+		if (method == null) {
+			throw new NullPointerException("Method cannot be null");
+		}
+
+		access(method);
+
+		MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflect(method).asFixedArity();
+		} catch (IllegalAccessException exception) {
+			// Not accessible
+			throw new IllegalStateException("Cannot invoke method", exception);
+		}
+
+		// Static methods do not take an instance
+		if (Modifier.isStatic(method.getModifiers())) {
+			return MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(handle.type().changeParameterType(0, Object.class));
+	}
+
+	/**
+	 * Get a lookup with private access to a class.
+	 * Lambdas spun with this lookup are defined in the class loader of the class.
+	 * Since Java 14 the metafactory only accepts the lookup if the class is in the same module as this library, for unnamed modules this means the same class loader.
+	 *
+	 * @param type Target class.
+	 * @return the lookup.
+	 * @throws IllegalStateException If the class cannot be accessed privately.
+	 */
+	public static MethodHandles.Lookup privateLookup(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		try {
+			if (PRIVATE_LOOKUP_IN != null) {
+				return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, type, LOOKUP);
+			}
+
+			// Java 8 only has a private constructor
+			Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+			constructor.setAccessible(true);
+			return constructor.newInstance(type, Integer.valueOf(MethodHandles.Lookup.PUBLIC | MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED | MethodHandles.Lookup.PACKAGE));
+		} catch (InvocationTargetException exception) {
+			// Package is not open to us
+			throw new IllegalStateException("Cannot access " + type.getName(), exception.getCause());
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			throw new IllegalStateException("Cannot access " + type.getName(), exception);
+		}
+	}
+
+	/**
+	 * Make a member accessible.
+	 *
+	 * @param member Target member.
+	 * @throws IllegalStateException If the member cannot be made accessible.
+	 */
+	static void access(AccessibleObject member) {
+		if (isAccessible(member)) {
+			return;
+		}
+
+		try {
+			member.setAccessible(true);
+		} catch (RuntimeException exception) {
+			// Security managers and module restrictions both end up here
+			throw new IllegalStateException("Cannot access member", exception);
+		}
+	}
+
+	/**
+	 * Get {@code MethodHandles.privateLookupIn} if it is available.
+	 *
+	 * @return the method or null if this runtime does not have it.
+	 */
+	private static Method getPrivateLookupIn() {
+		try {
+			return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+		} catch (NoSuchMethodException exception) {
+			// Java 8
+			return null;
+		}
+	}
+
+	/**
+	 * Get if access checks are suppressed for a member.
+	 * {@link AccessibleObject#isAccessible()} is deprecated since Java 9 but its replacement does not exist on Java 8.
+	 *
+	 * @param member Member.
+	 * @return if the member was made accessible.
+	 */
+	@SuppressWarnings("deprecation")
+	static boolean isAccessible(AccessibleObject member) {
+		return member.isAccessible();
+	}
+}
@@ -25,4 +25,18 @@ public interface IConstructor extends IMember {
 	 * @return the constructor.
 	 */
 	public Constructor<?> getConstructor();
+
+	/**
+	 * Bind this constructor to a functional interface.
+	 * The functional method takes the constructor parameters and returns the constructed instance.
+	 * Public constructors of public classes are bound like a constructor reference would be, other constructors are bound through a method handle proxy.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @return the functional interface instance calling this constructor.
+	 * @throws IllegalArgumentException If the type is not a functional interface or its signature does not match.
+	 */
+	public default <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, getConstructor());
+	}
 }
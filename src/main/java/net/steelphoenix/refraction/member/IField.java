@@ -32,6 +32,166 @@ public interface IField extends IMember {
 	 */
 	public void set(Object instance, Object value);
 
+	/**
+	 * Get a boolean field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default boolean getBoolean(Object instance) {
+		return (Boolean) get(instance);
+	}
+
+	/**
+	 * Get a byte field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default byte getByte(Object instance) {
+		return (Byte) get(instance);
+	}
+
+	/**
+	 * Get a char field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default char getChar(Object instance) {
+		return (Character) get(instance);
+	}
+
+	/**
+	 * Get a double field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default double getDouble(Object instance) {
+		return (Double) get(instance);
+	}
+
+	/**
+	 * Get a float field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default float getFloat(Object instance) {
+		return (Float) get(instance);
+	}
+
+	/**
+	 * Get an int field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default int getInt(Object instance) {
+		return (Integer) get(instance);
+	}
+
+	/**
+	 * Get a long field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default long getLong(Object instance) {
+		return (Long) get(instance);
+	}
+
+	/**
+	 * Get a short field value without boxing.
+	 *
+	 * @param instance Instance to read from or null for static fields.
+	 * @return the current value.
+	 */
+	public default short getShort(Object instance) {
+		return (Short) get(instance);
+	}
+
+	/**
+	 * Set a boolean field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setBoolean(Object instance, boolean value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set a byte field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setByte(Object instance, byte value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set a char field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setChar(Object instance, char value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set a double field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setDouble(Object instance, double value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set a float field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setFloat(Object instance, float value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set an int field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setInt(Object instance, int value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set a long field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setLong(Object instance, long value) {
+		set(instance, value);
+	}
+
+	/**
+	 * Set a short field value without boxing.
+	 *
+	 * @param instance Instance to write to or null for static fields.
+	 * @param value New value.
+	 */
+	public default void setShort(Object instance, short value) {
+		set(instance, value);
+	}
+
 	/**
 	 * Get the underlying field.
 	 *
@@ -39,6 +199,20 @@ public interface IField extends IMember {
 	 */
 	public Field getField();
 
+	/**
+	 * Bind this field to a functional interface.
+	 * Functional methods returning a value read the field and take the instance, others write the field and take the instance and the new value.
+	 * For static fields the instance may be left out.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @return the functional interface instance accessing this field.
+	 * @throws IllegalArgumentException If the type is not a functional interface or its signature does not match.
+	 */
+	public default <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, getField(), false);
+	}
+
 	/**
 	 * Get a read only version of this field.
 	 * This instance throws an exception when calling {@link #set(Object, Object)}.
@@ -46,4 +220,16 @@ public interface IField extends IMember {
 	 * @return a read-only instance.
 	 */
 	public IField asReadOnly();
+
+	/**
+	 * Get a direct version of this field.
+	 * This instance is made accessible once and is backed by method handles, making repeated access cheaper.
+	 * If the field cannot be made accessible, an instance using regular reflection is returned instead.
+	 * The default implementation returns this instance.
+	 *
+	 * @return a direct instance.
+	 */
+	public default IField asDirect() {
+		return this;
+	}
 }
@@ -28,4 +28,18 @@ public interface IMethod extends IMember {
 	 * @return the method.
 	 */
 	public Method getMethod();
+
+	/**
+	 * Bind this method to a functional interface.
+	 * The functional method takes the instance followed by the method parameters, for static methods the instance may be left out.
+	 * Public methods of public classes are bound like a method reference would be, other methods are bound through a method handle proxy.
+	 *
+	 * @param <F> Functional interface type.
+	 * @param type Functional interface.
+	 * @return the functional interface instance calling this method.
+	 * @throws IllegalArgumentException If the type is not a functional interface or its signature does not match.
+	 */
+	public default <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, getMethod());
+	}
 }
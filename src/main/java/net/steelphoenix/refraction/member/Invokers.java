@@ -0,0 +1,94 @@
+package net.steelphoenix.refraction.member;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A utility class for method handles with the calling convention of reflection.
+ * Arguments are passed as an array and are unboxed and widened as needed, exceptions thrown by the member itself are wrapped in an {@link InvocationTargetException}.
+ * Exceptions thrown while converting arguments are not wrapped, so callers can tell them apart.
+ *
+ * @author SteelPhoenix
+ */
+class Invokers {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodHandle WRAP;
+
+	static {
+		try {
+			WRAP = LOOKUP.findConstructor(InvocationTargetException.class, MethodType.methodType(void.class, Throwable.class));
+		} catch (ReflectiveOperationException exception) {
+			throw new ExceptionInInitializerError(exception);
+		}
+	}
+
+	private Invokers() {
+		// Nothing
+	}
+
+	/**
+	 * Get an invoker for a method.
+	 * The handle has type (Object, Object[])Object, for static methods the instance argument is ignored.
+	 *
+	 * @param method Target method.
+	 * @return the invoker.
+	 * @throws IllegalStateException If the method cannot be accessed.
+	 */
+	static MethodHandle of(Method method) {
+		MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflect(method).asFixedArity();
+		} catch (IllegalAccessException exception) {
+			// Not accessible
+			throw new IllegalStateException("Cannot invoke method", exception);
+		}
+
+		handle = wrapExceptions(handle);
+		if (Modifier.isStatic(method.getModifiers())) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+
+		int count = method.getParameterCount();
+		return handle.asType(MethodType.genericMethodType(count + 1)).asSpreader(Object[].class, count);
+	}
+
+	/**
+	 * Get an invoker for a constructor.
+	 * The handle has type (Object[])Object.
+	 *
+	 * @param constructor Target constructor.
+	 * @return the invoker.
+	 * @throws IllegalStateException If the constructor cannot be accessed.
+	 */
+	static MethodHandle of(Constructor<?> constructor) {
+		MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflectConstructor(constructor).asFixedArity();
+		} catch (IllegalAccessException exception) {
+			// Not accessible
+			throw new IllegalStateException("Cannot invoke constructor", exception);
+		}
+
+		int count = constructor.getParameterCount();
+		return wrapExceptions(handle).asType(MethodType.genericMethodType(count)).asSpreader(Object[].class, count);
+	}
+
+	/**
+	 * Wrap all exceptions thrown by a handle in an {@link InvocationTargetException}.
+	 *
+	 * @param handle Handle.
+	 * @return the wrapping handle.
+	 */
+	private static MethodHandle wrapExceptions(MethodHandle handle) {
+		MethodHandle thrower = MethodHandles.throwException(handle.type().returnType(), InvocationTargetException.class);
+		thrower = MethodHandles.filterArguments(thrower, 0, WRAP);
+		thrower = MethodHandles.dropArguments(thrower, 1, handle.type().parameterList());
+		return MethodHandles.catchException(handle, Throwable.class, thrower);
+	}
+}
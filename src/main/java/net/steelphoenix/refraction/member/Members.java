@@ -1,23 +1,37 @@
 package net.steelphoenix.refraction.member;
 
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import net.steelphoenix.refraction.ClassCache;
 
 /**
  * A utility class for members.
- * All wrappers are cached.
+ * All wrappers are canonical: every member has a single wrapper and a single reflected instance, no matter which copy of the member is wrapped.
+ * Members are keyed by declaring class, name and descriptor. Cached wrappers do not keep classes from being unloaded.
  *
  * @author SteelPhoenix
+ *
+ * @see ClassCache#invalidateAll(ClassLoader)
  */
 public class Members {
 
-	private static final Map<Constructor<?>, IConstructor> CONSTRUCTOR_CACHE = new ConcurrentHashMap<>();
-	private static final Map<Field, IField> FIELD_CACHE = new ConcurrentHashMap<>();
-	private static final Map<Method, IMethod> METHOD_CACHE = new ConcurrentHashMap<>();
-	private static final Map<Class<?>, IType> TYPE_CACHE = new ConcurrentHashMap<>();
+	private static final ClassCache<Table<IConstructor>> CONSTRUCTOR_CACHE = new ClassCache<>(type -> new Table<>(type.getDeclaredConstructors(), Members::getKey, SimpleConstructor::new));
+	private static final ClassCache<Table<IField>> FIELD_CACHE = new ClassCache<>(type -> new Table<>(type.getDeclaredFields(), Field::getName, SimpleField::new));
+	private static final ClassCache<Table<IMethod>> METHOD_CACHE = new ClassCache<>(type -> new Table<>(type.getDeclaredMethods(), Members::getKey, SimpleMethod::new));
+	private static final ClassCache<IType> TYPE_CACHE = new ClassCache<>(SimpleType::new);
+	private static volatile int tierThreshold = 64;
 
 	private Members() {
 		// Nothing
@@ -35,7 +49,7 @@ public class Members {
 			throw new NullPointerException("Constructor cannot be null");
 		}
 
-		return CONSTRUCTOR_CACHE.computeIfAbsent(constructor, member -> new SimpleConstructor(member));
+		return CONSTRUCTOR_CACHE.get(constructor.getDeclaringClass()).get(constructor, getKey(constructor), SimpleConstructor::new);
 	}
 
 	/**
@@ -50,7 +64,7 @@ public class Members {
 			throw new NullPointerException("Field cannot be null");
 		}
 
-		return FIELD_CACHE.computeIfAbsent(field, member -> new SimpleField(member));
+		return FIELD_CACHE.get(field.getDeclaringClass()).get(field, field.getName(), SimpleField::new);
 	}
 
 	/**
@@ -65,7 +79,7 @@ public class Members {
 			throw new NullPointerException("Method cannot be null");
 		}
 
-		return METHOD_CACHE.computeIfAbsent(method, member -> new SimpleMethod(member));
+		return METHOD_CACHE.get(method.getDeclaringClass()).get(method, getKey(method), SimpleMethod::new);
 	}
 
 	/**
@@ -80,6 +94,169 @@ public class Members {
 			throw new NullPointerException("Type cannot be null");
 		}
 
-		return TYPE_CACHE.computeIfAbsent(type, member -> new SimpleType(member));
+		return TYPE_CACHE.get(type);
+	}
+
+	/**
+	 * Get the wrappers of all constructors declared by a class.
+	 * Unlike {@link Class#getDeclaredConstructors()} this does not copy anything.
+	 *
+	 * @param type Declaring class.
+	 * @return an unmodifiable list of the canonical wrappers.
+	 */
+	public static List<IConstructor> getConstructors(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return CONSTRUCTOR_CACHE.get(type).getDeclared();
+	}
+
+	/**
+	 * Get the wrappers of all fields declared by a class.
+	 * Unlike {@link Class#getDeclaredFields()} this does not copy anything.
+	 *
+	 * @param type Declaring class.
+	 * @return an unmodifiable list of the canonical wrappers.
+	 */
+	public static List<IField> getFields(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return FIELD_CACHE.get(type).getDeclared();
+	}
+
+	/**
+	 * Get the wrappers of all methods declared by a class.
+	 * Unlike {@link Class#getDeclaredMethods()} this does not copy anything.
+	 *
+	 * @param type Declaring class.
+	 * @return an unmodifiable list of the canonical wrappers.
+	 */
+	public static List<IMethod> getMethods(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return METHOD_CACHE.get(type).getDeclared();
+	}
+
+	/**
+	 * Get the number of calls after which a wrapper moves from reflection to method handles.
+	 *
+	 * @return the threshold.
+	 */
+	public static int getTierThreshold() {
+		return tierThreshold;
+	}
+
+	/**
+	 * Set the number of calls after which a wrapper moves from reflection to method handles.
+	 * Wrappers that already moved are not affected.
+	 *
+	 * @param threshold Threshold.
+	 */
+	public static void setTierThreshold(int threshold) {
+		// Preconditions
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("Threshold must be positive");
+		}
+
+		tierThreshold = threshold;
+	}
+
+	/**
+	 * Get if a member can be accessed without access checks.
+	 * This is the case if it was made accessible or if it and its declaring classes are public.
+	 *
+	 * @param <M> Member type.
+	 * @param member Member.
+	 * @return if the member is accessible.
+	 */
+	static <M extends AccessibleObject & Member> boolean isAccessible(M member) {
+		if (Handles.isAccessible(member)) {
+			return true;
+		}
+		if (!Modifier.isPublic(member.getModifiers())) {
+			return false;
+		}
+
+		for (Class<?> clazz = member.getDeclaringClass(); clazz != null; clazz = clazz.getEnclosingClass()) {
+			if (!Modifier.isPublic(clazz.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the key of a constructor.
+	 *
+	 * @param constructor Constructor.
+	 * @return the key.
+	 */
+	private static String getKey(Constructor<?> constructor) {
+		return "<init>" + MethodType.methodType(void.class, constructor.getParameterTypes()).toMethodDescriptorString();
+	}
+
+	/**
+	 * Get the key of a method.
+	 *
+	 * @param method Method.
+	 * @return the key.
+	 */
+	private static String getKey(Method method) {
+		return method.getName() + MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+	}
+
+	/**
+	 * The canonical wrappers of one kind of member declared by a class.
+	 *
+	 * @param <W> Wrapper type.
+	 */
+	private static class Table<W> {
+
+		private final List<W> declared;
+		private final Map<String, W> wrappers = new ConcurrentHashMap<>();
+
+		@SuppressWarnings("unchecked")
+		private <M> Table(M[] members, Function<M, String> key, Function<M, ? extends W> wrapper) {
+			Object[] declared = new Object[members.length];
+			for (int i = 0; i < members.length; i++) {
+				W value = wrapper.apply(members[i]);
+				wrappers.put(key.apply(members[i]), value);
+				declared[i] = value;
+			}
+
+			this.declared = Collections.unmodifiableList((List<W>) Arrays.asList(declared));
+		}
+
+		/**
+		 * Get the wrappers of all declared members.
+		 *
+		 * @return the wrappers.
+		 */
+		private List<W> getDeclared() {
+			return declared;
+		}
+
+		/**
+		 * Get the canonical wrapper of a member.
+		 * Members that were not declared when the table was created (for example members hidden from reflection) get a wrapper on first use.
+		 *
+		 * @param <M> Member type.
+		 * @param member Member.
+		 * @param key Member key.
+		 * @param wrapper Wrapper factory.
+		 * @return the wrapper.
+		 */
+		private <M> W get(M member, String key, Function<M, ? extends W> wrapper) {
+			W value = wrappers.get(key);
+			return value != null ? value : wrappers.computeIfAbsent(key, k -> wrapper.apply(member));
+		}
 	}
 }
@@ -1,8 +1,10 @@
 package net.steelphoenix.refraction.member;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -17,6 +19,9 @@ import net.steelphoenix.refraction.Util;
 public class SimpleConstructor implements IConstructor {
 
 	private final Constructor<?> constructor;
+	private MethodHandle tiered;
+	private int calls;
+	private boolean reflective;
 
 	public SimpleConstructor(Constructor<?> constructor) {
 		if (constructor == null) {
@@ -28,6 +33,25 @@ public class SimpleConstructor implements IConstructor {
 
 	@Override
 	public Object invoke(Object... args) {
+		// Hot constructors move to method handles
+		MethodHandle invoker = tier();
+		if (invoker != null) {
+			try {
+				return (Object) invoker.invokeExact(args);
+			} catch (InvocationTargetException exception) {
+				// Constructor itself threw an exception
+				throw new RuntimeException("An internal error occured", exception.getCause());
+			} catch (NullPointerException | ClassCastException exception) {
+				// Incorrect arguments
+				throw new IllegalArgumentException("Cannot invoke constructor with " + Arrays.toString(args), exception);
+			} catch (RuntimeException | Error exception) {
+				throw exception;
+			} catch (Throwable throwable) {
+				// Invokers only throw checked exceptions wrapped
+				throw new IllegalStateException("Cannot invoke constructor", throwable);
+			}
+		}
+
 		try {
 			return constructor.newInstance(args);
 		} catch (IllegalAccessException | InstantiationException exception) {
@@ -39,11 +63,39 @@ public class SimpleConstructor implements IConstructor {
 		}
 	}
 
+	/**
+	 * Get the invoker to use instead of reflection.
+	 * Calls are counted without synchronization, the invoker is created once the tier threshold is reached.
+	 * The race is benign: lost increments only delay moving and creating the invoker twice is harmless.
+	 * Constructors that reflection cannot access without access checks are never moved, neither are constructors of abstract classes.
+	 *
+	 * @return the invoker or null to use reflection.
+	 *
+	 * @see Members#getTierThreshold()
+	 */
+	private MethodHandle tier() {
+		MethodHandle tiered = this.tiered;
+		if (tiered != null || reflective) {
+			return tiered;
+		}
+		if (++calls >= Members.getTierThreshold()) {
+			tiered = Members.isAccessible(constructor) && !Modifier.isAbstract(constructor.getDeclaringClass().getModifiers()) ? Invokers.of(constructor) : null;
+			reflective = tiered == null;
+			this.tiered = tiered;
+		}
+		return tiered;
+	}
+
 	@Override
 	public Constructor<?> getConstructor() {
 		return constructor;
 	}
 
+	@Override
+	public <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, constructor);
+	}
+
 	@Override
 	public int getModifiers() {
 		return constructor.getModifiers();
@@ -2,6 +2,7 @@ package net.steelphoenix.refraction.member;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -16,6 +17,8 @@ import net.steelphoenix.refraction.Util;
 public class SimpleField implements IField {
 
 	private final Field field;
+	private IField tiered;
+	private int calls;
 
 	public SimpleField(Field field) {
 		if (field == null) {
@@ -28,9 +31,12 @@ public class SimpleField implements IField {
 	@Override
 	public Object get(Object instance) {
 		// Preconditions
-		if (!isStatic() && instance == null) {
-			// No NPE because technically null instances are supported if the field is static
-			throw new IllegalArgumentException("Instance cannot be null for non-static fields");
+		checkInstance(instance);
+
+		// Hot fields move to method handles
+		IField direct = tier();
+		if (direct != null) {
+			return direct.get(instance);
 		}
 
 		try {
@@ -44,9 +50,12 @@ public class SimpleField implements IField {
 	@Override
 	public void set(Object instance, Object value) {
 		// Preconditions
-		if (!isStatic() && instance == null) {
-			// No NPE because technically null instances are supported if the field is static
-			throw new IllegalArgumentException("Instance cannot be null for non-static fields");
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.set(instance, value);
+			return;
 		}
 
 		try {
@@ -57,16 +66,327 @@ public class SimpleField implements IField {
 		}
 	}
 
+	@Override
+	public boolean getBoolean(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getBoolean(instance);
+		}
+
+		try {
+			return field.getBoolean(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public byte getByte(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getByte(instance);
+		}
+
+		try {
+			return field.getByte(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public char getChar(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getChar(instance);
+		}
+
+		try {
+			return field.getChar(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public double getDouble(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getDouble(instance);
+		}
+
+		try {
+			return field.getDouble(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public float getFloat(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getFloat(instance);
+		}
+
+		try {
+			return field.getFloat(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public int getInt(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getInt(instance);
+		}
+
+		try {
+			return field.getInt(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public long getLong(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getLong(instance);
+		}
+
+		try {
+			return field.getLong(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public short getShort(Object instance) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			return direct.getShort(instance);
+		}
+
+		try {
+			return field.getShort(instance);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot get field", exception);
+		}
+	}
+
+	@Override
+	public void setBoolean(Object instance, boolean value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setBoolean(instance, value);
+			return;
+		}
+
+		try {
+			field.setBoolean(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setByte(Object instance, byte value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setByte(instance, value);
+			return;
+		}
+
+		try {
+			field.setByte(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setChar(Object instance, char value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setChar(instance, value);
+			return;
+		}
+
+		try {
+			field.setChar(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setDouble(Object instance, double value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setDouble(instance, value);
+			return;
+		}
+
+		try {
+			field.setDouble(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setFloat(Object instance, float value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setFloat(instance, value);
+			return;
+		}
+
+		try {
+			field.setFloat(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setInt(Object instance, int value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setInt(instance, value);
+			return;
+		}
+
+		try {
+			field.setInt(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setLong(Object instance, long value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setLong(instance, value);
+			return;
+		}
+
+		try {
+			field.setLong(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
+	@Override
+	public void setShort(Object instance, short value) {
+		// Preconditions
+		checkInstance(instance);
+
+		IField direct = tier();
+		if (direct != null) {
+			direct.setShort(instance, value);
+			return;
+		}
+
+		try {
+			field.setShort(instance, value);
+		} catch (IllegalAccessException exception) {
+			// Not invokable
+			throw new IllegalStateException("Cannot set field", exception);
+		}
+	}
+
 	@Override
 	public Field getField() {
 		return field;
 	}
 
+	@Override
+	public <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, field, false);
+	}
+
 	@Override
 	public IField asReadOnly() {
 		return new SimpleReadOnlyField(getField());
 	}
 
+	@Override
+	public IField asDirect() {
+		try {
+			return new DirectField(getField(), false);
+		} catch (IllegalStateException exception) {
+			// Not accessible, we stay on reflection
+			return this;
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return field.hashCode();
@@ -121,6 +441,41 @@ public class SimpleField implements IField {
 		return "Field[field=" + Util.fieldToString(field) + "]";
 	}
 
+	/**
+	 * Get the direct accessor to use instead of reflection.
+	 * Calls are counted without synchronization, the direct accessor is created once the tier threshold is reached.
+	 * The race is benign: lost increments only delay moving and creating the accessor twice is harmless.
+	 * Fields that reflection cannot write are never moved, so moving does not change which accesses are allowed.
+	 *
+	 * @return the direct accessor or null to use reflection.
+	 *
+	 * @see Members#getTierThreshold()
+	 */
+	IField tier() {
+		IField tiered = this.tiered;
+		if (tiered != null) {
+			return tiered == this ? null : tiered;
+		}
+		if (++calls >= Members.getTierThreshold()) {
+			tiered = Members.isAccessible(field) && (Handles.isAccessible(field) || !Modifier.isFinal(getModifiers())) ? asDirect() : this;
+			this.tiered = tiered;
+			return tiered == this ? null : tiered;
+		}
+		return null;
+	}
+
+	/**
+	 * Check if an instance can be used to access this field.
+	 *
+	 * @param instance Instance.
+	 */
+	private void checkInstance(Object instance) {
+		if (!isStatic() && instance == null) {
+			// No NPE because technically null instances are supported if the field is static
+			throw new IllegalArgumentException("Instance cannot be null for non-static fields");
+		}
+	}
+
 	/**
 	 * A read only implementation where trying to set a value throws an exception.
 	 *
@@ -137,10 +492,73 @@ public class SimpleField implements IField {
 			throw new UnsupportedOperationException("Field accessor is read only");
 		}
 
+		@Override
+		public void setBoolean(Object instance, boolean value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setByte(Object instance, byte value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setChar(Object instance, char value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setDouble(Object instance, double value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setFloat(Object instance, float value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setInt(Object instance, int value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setLong(Object instance, long value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public void setShort(Object instance, short value) {
+			// We cannot change values because we are read only
+			throw new UnsupportedOperationException("Field accessor is read only");
+		}
+
+		@Override
+		public <F> F bindTo(Class<F> type) {
+			return Binders.bind(type, getField(), true);
+		}
+
 		@Override
 		public IField asReadOnly() {
 			// We are already read only
 			return this;
 		}
+
+		@Override
+		public IField asDirect() {
+			try {
+				return new DirectField(getField(), true);
+			} catch (IllegalStateException exception) {
+				// Not accessible, we stay on reflection
+				return this;
+			}
+		}
 	}
 }
\ No newline at end of file
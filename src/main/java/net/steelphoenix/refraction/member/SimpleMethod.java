@@ -1,6 +1,7 @@
 package net.steelphoenix.refraction.member;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -17,6 +18,9 @@ import net.steelphoenix.refraction.Util;
 public class SimpleMethod implements IMethod {
 
 	private final Method method;
+	private MethodHandle tiered;
+	private int calls;
+	private boolean reflective;
 
 	public SimpleMethod(Method method) {
 		if (method == null) {
@@ -34,6 +38,25 @@ public class SimpleMethod implements IMethod {
 			throw new IllegalArgumentException("Instance cannot be null for non-static methods");
 		}
 
+		// Hot methods move to method handles
+		MethodHandle invoker = tier();
+		if (invoker != null) {
+			try {
+				return (Object) invoker.invokeExact(instance, args);
+			} catch (InvocationTargetException exception) {
+				// Method itself threw an exception
+				throw new RuntimeException("An internal error occured", exception.getCause());
+			} catch (NullPointerException | ClassCastException exception) {
+				// Incorrect instance or arguments
+				throw new IllegalArgumentException("Cannot invoke method with " + Arrays.toString(args), exception);
+			} catch (RuntimeException | Error exception) {
+				throw exception;
+			} catch (Throwable throwable) {
+				// Invokers only throw checked exceptions wrapped
+				throw new IllegalStateException("Cannot invoke method", throwable);
+			}
+		}
+
 		try {
 			return method.invoke(instance, args);
 		} catch (IllegalAccessException exception) {
@@ -45,11 +68,39 @@ public class SimpleMethod implements IMethod {
 		}
 	}
 
+	/**
+	 * Get the invoker to use instead of reflection.
+	 * Calls are counted without synchronization, the invoker is created once the tier threshold is reached.
+	 * The race is benign: lost increments only delay moving and creating the invoker twice is harmless.
+	 * Methods that reflection cannot access without access checks are never moved.
+	 *
+	 * @return the invoker or null to use reflection.
+	 *
+	 * @see Members#getTierThreshold()
+	 */
+	private MethodHandle tier() {
+		MethodHandle tiered = this.tiered;
+		if (tiered != null || reflective) {
+			return tiered;
+		}
+		if (++calls >= Members.getTierThreshold()) {
+			tiered = Members.isAccessible(method) ? Invokers.of(method) : null;
+			reflective = tiered == null;
+			this.tiered = tiered;
+		}
+		return tiered;
+	}
+
 	@Override
 	public Method getMethod() {
 		return method;
 	}
 
+	@Override
+	public <F> F bindTo(Class<F> type) {
+		return Binders.bind(type, method);
+	}
+
 	@Override
 	public int getModifiers() {
 		return method.getModifiers();
@@ -3,6 +3,7 @@ package net.steelphoenix.refraction.member;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 
 import net.steelphoenix.refraction.Util;
@@ -28,17 +29,18 @@ public class SimpleType implements IType {
 
 	@Override
 	public Collection<IConstructor> getConstructors() {
-		return Arrays.stream(type.getDeclaredConstructors()).map(Members::wrap).collect(Collectors.toSet());
+		// Callers may modify the result, the cached wrappers are only copied
+		return new HashSet<>(Members.getConstructors(type));
 	}
 
 	@Override
 	public Collection<IField> getFields() {
-		return Arrays.stream(type.getDeclaredFields()).map(Members::wrap).collect(Collectors.toSet());
+		return new HashSet<>(Members.getFields(type));
 	}
 
 	@Override
 	public Collection<IMethod> getMethods() {
-		return Arrays.stream(type.getDeclaredMethods()).map(Members::wrap).collect(Collectors.toSet());
+		return new HashSet<>(Members.getMethods(type));
 	}
 
 	@Override
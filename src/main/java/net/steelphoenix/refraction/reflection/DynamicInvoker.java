@@ -0,0 +1,571 @@
+package net.steelphoenix.refraction.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.steelphoenix.refraction.ClassCache;
+import net.steelphoenix.refraction.Util;
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IMethod;
+import net.steelphoenix.refraction.member.Members;
+import net.steelphoenix.refraction.primitives.IPrimitive;
+import net.steelphoenix.refraction.primitives.Primitives;
+
+/**
+ * A call site for invoking methods by name with runtime arguments.
+ * The most specific applicable overload is selected like the compiler would if the argument types were their runtime classes.
+ * This happens in three phases: subtyping only, then with unboxing and primitive widening, then with varargs.
+ * Resolutions are cached per receiver class and argument classes, repeated calls with the same classes skip resolution entirely.
+ * The cache is stored with the receiver class and does not keep it from being unloaded.
+ * Without forced access, methods of non-public classes are invoked through the public method they override, like the compiler would.
+ * Invokers are meant to be held in a static final field at the call site they serve.
+ *
+ * @author SteelPhoenix
+ */
+public final class DynamicInvoker {
+
+	private static final int STRICT = 0;
+	private static final int LOOSE = 1;
+	private static final int VARARGS = 2;
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	private static final Object[] NO_ARGS = new Object[0];
+	private final String name;
+	private final boolean force;
+	private final ClassCache<Map<Signature, MethodHandle>> cache = new ClassCache<>(type -> new ConcurrentHashMap<>());
+	private volatile Resolved last;
+
+	public DynamicInvoker(String name) {
+		this(name, false);
+	}
+
+	public DynamicInvoker(String name, boolean force) {
+		if (name == null) {
+			throw new NullPointerException("Name cannot be null");
+		}
+
+		this.name = name;
+		this.force = force;
+	}
+
+	/**
+	 * Get the name of the invoked methods.
+	 *
+	 * @return the method name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get if non-public methods can be invoked.
+	 *
+	 * @return if scope restrictions are ignored.
+	 */
+	public boolean isForceAccess() {
+		return force;
+	}
+
+	/**
+	 * Invoke the most specific instance method applicable to the given arguments.
+	 *
+	 * @param instance Instance to invoke the method on.
+	 * @param args Method arguments.
+	 * @return the returned value (may be null).
+	 * @throws UnknownElementException If no method is applicable.
+	 * @throws IllegalArgumentException If multiple methods are applicable but none is the most specific.
+	 */
+	public Object invoke(Object instance, Object... args) {
+		// Preconditions
+		if (instance == null) {
+			throw new NullPointerException("Instance cannot be null");
+		}
+
+		return invoke(instance.getClass(), false, instance, args);
+	}
+
+	/**
+	 * Invoke the most specific static method applicable to the given arguments.
+	 *
+	 * @param type Class declaring or inheriting the method.
+	 * @param args Method arguments.
+	 * @return the returned value (may be null).
+	 * @throws UnknownElementException If no method is applicable.
+	 * @throws IllegalArgumentException If multiple methods are applicable but none is the most specific.
+	 */
+	public Object invokeStatic(Class<?> type, Object... args) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return invoke(type, true, null, args);
+	}
+
+	/**
+	 * Get the method that would be invoked for the given argument classes.
+	 *
+	 * @param type Receiver class.
+	 * @param isStatic If static methods should be resolved.
+	 * @param argTypes Argument classes, null for null arguments.
+	 * @return the resolved method.
+	 * @throws UnknownElementException If no method is applicable.
+	 * @throws IllegalArgumentException If multiple methods are applicable but none is the most specific.
+	 */
+	public IMethod resolve(Class<?> type, boolean isStatic, Class<?>... argTypes) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (argTypes == null) {
+			throw new NullPointerException("Argument types cannot be null");
+		}
+
+		return Members.wrap(select(type, isStatic, argTypes).method);
+	}
+
+	/**
+	 * Invoke a method.
+	 *
+	 * @param type Receiver class.
+	 * @param isStatic If static methods should be invoked.
+	 * @param instance Instance or null.
+	 * @param args Method arguments.
+	 * @return the returned value.
+	 */
+	private Object invoke(Class<?> type, boolean isStatic, Object instance, Object[] args) {
+		if (args == null) {
+			args = NO_ARGS;
+		}
+
+		// Most call sites only ever see one combination
+		Resolved resolved = last;
+		MethodHandle invoker;
+		if (resolved != null && resolved.matches(type, isStatic, args)) {
+			invoker = resolved.invoker;
+		}
+		else {
+			Class<?>[] argTypes = new Class<?>[args.length];
+			for (int i = 0; i < args.length; i++) {
+				argTypes[i] = args[i] == null ? null : args[i].getClass();
+			}
+
+			invoker = cache.get(type).computeIfAbsent(new Signature(isStatic, argTypes), signature -> select(type, isStatic, argTypes).toInvoker());
+			last = new Resolved(type, isStatic, argTypes, invoker);
+		}
+
+		try {
+			return (Object) invoker.invokeExact(instance, args);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Method threw a checked exception
+			throw new RuntimeException("An internal error occured", throwable);
+		}
+	}
+
+	/**
+	 * Select the most specific applicable method.
+	 *
+	 * @param type Receiver class.
+	 * @param isStatic If static methods should be selected.
+	 * @param argTypes Argument classes.
+	 * @return the selected candidate.
+	 */
+	private Candidate select(Class<?> type, boolean isStatic, Class<?>[] argTypes) {
+		List<Method> methods = getMethods(type, isStatic);
+		for (int phase = STRICT; phase <= VARARGS; phase++) {
+			List<Candidate> applicable = new ArrayList<>();
+			for (Method method : methods) {
+				Class<?>[] params = getParameters(method, phase, argTypes.length);
+				if (params != null && isApplicable(params, argTypes, phase)) {
+					applicable.add(new Candidate(method, params, phase == VARARGS, force ? null : getOwner(type, method)));
+				}
+			}
+
+			if (applicable.isEmpty()) {
+				continue;
+			}
+
+			// The most specific method is more specific than all others
+			outer:
+			for (Candidate candidate : applicable) {
+				for (Candidate other : applicable) {
+					if (other != candidate && !isMoreSpecific(candidate.params, other.params)) {
+						continue outer;
+					}
+				}
+				return candidate;
+			}
+			throw new IllegalArgumentException("Ambiguous method call in " + type.getName() + ": " + Util.methodToString(type, name, argTypes));
+		}
+
+		throw new UnknownElementException("No applicable method in " + type.getName() + ": " + Util.methodToString(type, name, argTypes));
+	}
+
+	/**
+	 * Get all candidate methods.
+	 * Overridden methods and bridge methods are left out, interfaces are searched for default methods.
+	 *
+	 * @param type Receiver class.
+	 * @param isStatic If static methods should be returned.
+	 * @return the candidates.
+	 */
+	private List<Method> getMethods(Class<?> type, boolean isStatic) {
+		List<Method> result = new ArrayList<>();
+		Set<List<Class<?>>> seen = new HashSet<>();
+		Deque<Class<?>> interfaces = new ArrayDeque<>();
+
+		// Receiver first so overriding methods shadow the superclass methods they override
+		for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+			addMethods(clazz, isStatic, result, seen);
+			interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+		}
+
+		// Static interface methods are not inherited
+		Set<Class<?>> visited = new HashSet<>();
+		while (!isStatic && !interfaces.isEmpty()) {
+			Class<?> clazz = interfaces.poll();
+			if (visited.add(clazz)) {
+				addMethods(clazz, false, result, seen);
+				interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Add the candidate methods declared by a class.
+	 *
+	 * @param clazz Declaring class.
+	 * @param isStatic If static methods should be added.
+	 * @param result Result list.
+	 * @param seen Parameter lists of methods already added.
+	 */
+	private void addMethods(Class<?> clazz, boolean isStatic, List<Method> result, Set<List<Class<?>>> seen) {
+		for (IMethod member : Members.getMethods(clazz)) {
+			Method method = member.getMethod();
+			if (!method.getName().equals(name) || method.isBridge() || Modifier.isStatic(method.getModifiers()) != isStatic) {
+				continue;
+			}
+			if (!force && !Modifier.isPublic(method.getModifiers())) {
+				continue;
+			}
+			if (seen.add(Arrays.asList(method.getParameterTypes()))) {
+				result.add(method);
+			}
+		}
+	}
+
+	/**
+	 * Get the public class or interface to invoke a public method through.
+	 * This is the declaring class if it is public, otherwise the first public supertype of the receiver class declaring or inheriting the same method.
+	 * If there is no such type the declaring class is returned and access checks are suppressed instead.
+	 *
+	 * @param type Receiver class.
+	 * @param method Public method.
+	 * @return the class.
+	 */
+	private static Class<?> getOwner(Class<?> type, Method method) {
+		if (isPublic(method.getDeclaringClass())) {
+			return method.getDeclaringClass();
+		}
+
+		Set<Class<?>> visited = new HashSet<>();
+		Deque<Class<?>> queue = new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			Class<?> clazz = queue.poll();
+			if (!visited.add(clazz)) {
+				continue;
+			}
+			if (isPublic(clazz) && hasPublicMethod(clazz, method)) {
+				return clazz;
+			}
+
+			if (clazz.getSuperclass() != null) {
+				queue.add(clazz.getSuperclass());
+			}
+			queue.addAll(Arrays.asList(clazz.getInterfaces()));
+		}
+		return method.getDeclaringClass();
+	}
+
+	/**
+	 * Get if a class declares or inherits a public method with the same signature.
+	 *
+	 * @param clazz Class.
+	 * @param method Method.
+	 * @return if the method is a member of the class.
+	 */
+	private static boolean hasPublicMethod(Class<?> clazz, Method method) {
+		try {
+			return Modifier.isStatic(clazz.getMethod(method.getName(), method.getParameterTypes()).getModifiers()) == Modifier.isStatic(method.getModifiers());
+		} catch (NoSuchMethodException exception) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get if a class and all classes enclosing it are public.
+	 *
+	 * @param clazz Class.
+	 * @return if the class is public.
+	 */
+	private static boolean isPublic(Class<?> clazz) {
+		for (; clazz != null; clazz = clazz.getEnclosingClass()) {
+			if (!Modifier.isPublic(clazz.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the parameter types of a method as seen by a call with a given amount of arguments.
+	 *
+	 * @param method Method.
+	 * @param phase Resolution phase.
+	 * @param count Argument count.
+	 * @return the parameter types or null if the method cannot take that many arguments.
+	 */
+	private static Class<?>[] getParameters(Method method, int phase, int count) {
+		Class<?>[] params = method.getParameterTypes();
+		if (phase != VARARGS) {
+			return params.length == count ? params : null;
+		}
+		if (!method.isVarArgs() || count < params.length - 1) {
+			return null;
+		}
+
+		// Expand the variable arity parameter
+		Class<?>[] expanded = Arrays.copyOf(params, count);
+		Class<?> component = params[params.length - 1].getComponentType();
+		for (int i = params.length - 1; i < count; i++) {
+			expanded[i] = component;
+		}
+		return expanded;
+	}
+
+	/**
+	 * Get if a method is applicable.
+	 *
+	 * @param params Parameter types.
+	 * @param argTypes Argument classes.
+	 * @param phase Resolution phase.
+	 * @return if all arguments can be passed.
+	 */
+	private static boolean isApplicable(Class<?>[] params, Class<?>[] argTypes, int phase) {
+		for (int i = 0; i < params.length; i++) {
+			if (!isConvertible(argTypes[i], params[i], phase != STRICT)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get if an argument can be passed to a parameter.
+	 * Arguments are always boxed, so primitive parameters are only applicable once unboxing is allowed.
+	 *
+	 * @param argType Argument class or null for null arguments.
+	 * @param param Parameter type.
+	 * @param loose If unboxing and primitive widening are allowed.
+	 * @return if the argument is convertible.
+	 */
+	private static boolean isConvertible(Class<?> argType, Class<?> param, boolean loose) {
+		if (argType == null) {
+			return !param.isPrimitive();
+		}
+		if (!param.isPrimitive()) {
+			return param.isAssignableFrom(argType);
+		}
+		if (!loose) {
+			return false;
+		}
+
+		IPrimitive primitive = Primitives.getByType(argType);
+		return primitive != null && (primitive.getPrimitiveType() == param || isWidening(primitive.getPrimitiveType(), param));
+	}
+
+	/**
+	 * Get if one parameter list is at least as specific as another.
+	 *
+	 * @param params Parameter types.
+	 * @param others Other parameter types.
+	 * @return if every parameter is a subtype of the other parameter.
+	 */
+	private static boolean isMoreSpecific(Class<?>[] params, Class<?>[] others) {
+		for (int i = 0; i < params.length; i++) {
+			Class<?> param = params[i];
+			Class<?> other = others[i];
+			if (param == other) {
+				continue;
+			}
+			if (param.isPrimitive() ? !(other.isPrimitive() && isWidening(param, other)) : other.isPrimitive() || !other.isAssignableFrom(param)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get if a primitive widening conversion exists.
+	 *
+	 * @param from Source primitive type.
+	 * @param to Target primitive type.
+	 * @return if from can be widened to to.
+	 */
+	private static boolean isWidening(Class<?> from, Class<?> to) {
+		if (from == byte.class) {
+			return to == short.class || to == int.class || to == long.class || to == float.class || to == double.class;
+		}
+		if (from == short.class || from == char.class) {
+			return to == int.class || to == long.class || to == float.class || to == double.class;
+		}
+		if (from == int.class) {
+			return to == long.class || to == float.class || to == double.class;
+		}
+		if (from == long.class) {
+			return to == float.class || to == double.class;
+		}
+		return from == float.class && to == double.class;
+	}
+
+	/**
+	 * An applicable method.
+	 */
+	private static class Candidate {
+
+		private final Method method;
+		private final Class<?>[] params;
+		private final boolean varargs;
+		private final Class<?> owner;
+
+		private Candidate(Method method, Class<?>[] params, boolean varargs, Class<?> owner) {
+			this.method = method;
+			this.params = params;
+			this.varargs = varargs;
+			this.owner = owner;
+		}
+
+		/**
+		 * Get an invoker of type (Object, Object[])Object.
+		 *
+		 * @return the invoker.
+		 */
+		private MethodHandle toInvoker() {
+			MethodHandle handle = owner == null || owner == method.getDeclaringClass() ? Handles.method(method) : getPublicHandle();
+			if (varargs) {
+				int fixed = method.getParameterCount() - 1;
+				handle = handle.asCollector(method.getParameterTypes()[fixed], params.length - fixed);
+			}
+
+			// Boxing, unboxing and widening are done by the handle
+			return handle.asType(MethodType.genericMethodType(params.length + 1)).asSpreader(Object[].class, params.length).asType(INVOKER_TYPE);
+		}
+
+		/**
+		 * Get a handle of type (Object, P...)R invoking the method through its public owner.
+		 * This is the handle the compiler would link to, so no access checks need to be suppressed.
+		 *
+		 * @return the method handle.
+		 */
+		private MethodHandle getPublicHandle() {
+			try {
+				// The public method may have a less specific return type
+				MethodType type = MethodType.methodType(owner.getMethod(method.getName(), method.getParameterTypes()).getReturnType(), method.getParameterTypes());
+				if (Modifier.isStatic(method.getModifiers())) {
+					return MethodHandles.dropArguments(MethodHandles.publicLookup().findStatic(owner, method.getName(), type).asFixedArity(), 0, Object.class);
+				}
+
+				MethodHandle handle = MethodHandles.publicLookup().findVirtual(owner, method.getName(), type).asFixedArity();
+				return handle.asType(handle.type().changeParameterType(0, Object.class));
+			} catch (ReflectiveOperationException exception) {
+				// Not accessible
+				throw new IllegalStateException("Cannot invoke method", exception);
+			}
+		}
+	}
+
+	/**
+	 * A resolution cache key, the receiver class is the cache itself.
+	 */
+	private static class Signature {
+
+		private final boolean isStatic;
+		private final Class<?>[] argTypes;
+		private final int hash;
+
+		private Signature(boolean isStatic, Class<?>[] argTypes) {
+			this.isStatic = isStatic;
+			this.argTypes = argTypes;
+			this.hash = Arrays.hashCode(argTypes) * 31 + (isStatic ? 1 : 0);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Signature)) {
+				return false;
+			}
+
+			Signature other = (Signature) object;
+			return isStatic == other.isStatic && Arrays.equals(argTypes, other.argTypes);
+		}
+	}
+
+	/**
+	 * The last resolution, checked without allocating.
+	 */
+	private static class Resolved {
+
+		private final Class<?> type;
+		private final boolean isStatic;
+		private final Class<?>[] argTypes;
+		private final MethodHandle invoker;
+
+		private Resolved(Class<?> type, boolean isStatic, Class<?>[] argTypes, MethodHandle invoker) {
+			this.type = type;
+			this.isStatic = isStatic;
+			this.argTypes = argTypes;
+			this.invoker = invoker;
+		}
+
+		/**
+		 * Get if this resolution applies to a call.
+		 *
+		 * @param type Receiver class.
+		 * @param isStatic If the call is static.
+		 * @param args Call arguments.
+		 * @return if the classes match.
+		 */
+		private boolean matches(Class<?> type, boolean isStatic, Object[] args) {
+			if (this.type != type || this.isStatic != isStatic || argTypes.length != args.length) {
+				return false;
+			}
+
+			for (int i = 0; i < args.length; i++) {
+				if ((args[i] == null ? null : args[i].getClass()) != argTypes[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
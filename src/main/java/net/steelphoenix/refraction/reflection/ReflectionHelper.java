@@ -1,7 +1,6 @@
 package net.steelphoenix.refraction.reflection;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
@@ -197,7 +196,7 @@ public abstract class ReflectionHelper {
 	 * @return a list of matching constructors.
 	 */
 	public static List<IConstructor> getConstructors(Class<?> type, Object instance, IQueryMatcher<IConstructor> matcher, boolean recursive) {
-		return query(type, instance, matcher, recursive, clazz -> Arrays.stream(clazz.getDeclaredConstructors()).map(Members::wrap).toArray(IConstructor[]::new));
+		return query(type, instance, matcher, recursive, Members::getConstructors);
 	}
 
 	/**
@@ -210,7 +209,7 @@ public abstract class ReflectionHelper {
 	 * @return a list of matching fields.
 	 */
 	public static List<IField> getFields(Class<?> type, Object instance, IQueryMatcher<IField> matcher, boolean recursive) {
-		return query(type, instance, matcher, recursive, clazz -> Arrays.stream(clazz.getDeclaredFields()).map(Members::wrap).toArray(IField[]::new));
+		return query(type, instance, matcher, recursive, Members::getFields);
 	}
 
 	/**
@@ -223,7 +222,7 @@ public abstract class ReflectionHelper {
 	 * @return a list of matching methods.
 	 */
 	public static List<IMethod> getMethods(Class<?> type, Object instance, IQueryMatcher<IMethod> matcher, boolean recursive) {
-		return query(type, instance, matcher, recursive, clazz -> Arrays.stream(clazz.getDeclaredMethods()).map(Members::wrap).toArray(IMethod[]::new));
+		return query(type, instance, matcher, recursive, Members::getMethods);
 	}
 
 	/**
@@ -237,7 +236,7 @@ public abstract class ReflectionHelper {
 	 * @param provider Member provider.
 	 * @return a list of matching members.
 	 */
-	private static <T extends IMember> List<T> query(Class<?> type, Object instance, IQueryMatcher<T> matcher, boolean recursive, Function<Class<?>, T[]> provider) {
+	private static <T extends IMember> List<T> query(Class<?> type, Object instance, IQueryMatcher<T> matcher, boolean recursive, Function<Class<?>, List<T>> provider) {
 		// Preconditions
 		if (type == null) {
 			throw new NullPointerException("Type cannot be null");
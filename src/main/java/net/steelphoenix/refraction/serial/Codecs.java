@@ -0,0 +1,410 @@
+package net.steelphoenix.refraction.serial;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import net.steelphoenix.refraction.member.IField;
+import net.steelphoenix.refraction.primitives.IPrimitive;
+import net.steelphoenix.refraction.primitives.Primitives;
+
+/**
+ * A utility class for field and value codecs.
+ * Primitive fields are encoded through the primitive field accessors and are never boxed.
+ * Reference values are prefixed with a null marker, lengths are encoded as ints.
+ *
+ * @author SteelPhoenix
+ */
+class Codecs {
+
+	private static final byte NULL = 0;
+	private static final byte PRESENT = 1;
+
+	private Codecs() {
+		// Nothing
+	}
+
+	/**
+	 * Get the codec for a field.
+	 *
+	 * @param field Field.
+	 * @return the field codec.
+	 * @throws IllegalArgumentException If the field type is not supported.
+	 */
+	static IFieldCodec field(IField field) {
+		Class<?> type = field.getField().getType();
+		if (type == boolean.class) {
+			return codec((target, buffer) -> buffer.put(field.getBoolean(target) ? PRESENT : NULL), (target, buffer) -> field.setBoolean(target, buffer.get() != NULL));
+		}
+		else if (type == byte.class) {
+			return codec((target, buffer) -> buffer.put(field.getByte(target)), (target, buffer) -> field.setByte(target, buffer.get()));
+		}
+		else if (type == char.class) {
+			return codec((target, buffer) -> buffer.putChar(field.getChar(target)), (target, buffer) -> field.setChar(target, buffer.getChar()));
+		}
+		else if (type == double.class) {
+			return codec((target, buffer) -> buffer.putDouble(field.getDouble(target)), (target, buffer) -> field.setDouble(target, buffer.getDouble()));
+		}
+		else if (type == float.class) {
+			return codec((target, buffer) -> buffer.putFloat(field.getFloat(target)), (target, buffer) -> field.setFloat(target, buffer.getFloat()));
+		}
+		else if (type == int.class) {
+			return codec((target, buffer) -> buffer.putInt(field.getInt(target)), (target, buffer) -> field.setInt(target, buffer.getInt()));
+		}
+		else if (type == long.class) {
+			return codec((target, buffer) -> buffer.putLong(field.getLong(target)), (target, buffer) -> field.setLong(target, buffer.getLong()));
+		}
+		else if (type == short.class) {
+			return codec((target, buffer) -> buffer.putShort(field.getShort(target)), (target, buffer) -> field.setShort(target, buffer.getShort()));
+		}
+
+		IValueCodec codec = value(type);
+		return codec((target, buffer) -> codec.write(field.get(target), buffer), (target, buffer) -> field.set(target, codec.read(buffer)));
+	}
+
+	/**
+	 * Get the codec for values of a reference type.
+	 *
+	 * @param type Value type.
+	 * @return the value codec.
+	 * @throws IllegalArgumentException If the type is not supported.
+	 */
+	static IValueCodec value(Class<?> type) {
+		IPrimitive primitive = Primitives.getByType(type);
+
+		// Boxed primitives
+		if (primitive != null) {
+			IValueCodec codec = primitive(primitive.getPrimitiveType());
+			return nullable(codec::write, codec::read);
+		}
+
+		// Strings
+		if (type == String.class) {
+			return nullable((value, buffer) -> {
+				byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+				buffer.putInt(bytes.length);
+				buffer.put(bytes);
+			}, buffer -> {
+				byte[] bytes = new byte[readLength(buffer, Byte.BYTES)];
+				buffer.get(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			});
+		}
+
+		// Enums, the constants are part of the schema hash so ordinals are stable
+		if (type.isEnum()) {
+			Object[] constants = type.getEnumConstants();
+			return nullable((value, buffer) -> buffer.putInt(((Enum<?>) value).ordinal()), buffer -> readConstant(constants, buffer));
+		}
+
+		// Arrays
+		if (type.isArray()) {
+			return array(type.getComponentType());
+		}
+
+		// Nested objects, the schema is resolved lazily as types may reference themselves
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			throw new IllegalArgumentException("Unsupported type " + type.getName());
+		}
+		return nullable((value, buffer) -> {
+			if (value.getClass() != type) {
+				throw new IllegalArgumentException("Cannot encode " + value.getClass().getName() + " as " + type.getName());
+			}
+			Schema.of(type).writeBody(value, buffer);
+		}, buffer -> Schema.of(type).readBody(buffer, null));
+	}
+
+	/**
+	 * Get the signature of a type as used in schema hashes.
+	 *
+	 * @param type Type.
+	 * @return the type signature.
+	 */
+	static String signature(Class<?> type) {
+		if (type.isArray()) {
+			return "[" + signature(type.getComponentType());
+		}
+		if (type.isEnum()) {
+			StringBuilder builder = new StringBuilder(type.getName()).append('{');
+			for (Object constant : type.getEnumConstants()) {
+				builder.append(((Enum<?>) constant).name()).append(',');
+			}
+			return builder.append('}').toString();
+		}
+
+		return type.getName();
+	}
+
+	/**
+	 * Get the codec for boxed values of a primitive type.
+	 *
+	 * @param type Primitive type.
+	 * @return the value codec.
+	 */
+	private static IValueCodec primitive(Class<?> type) {
+		if (type == boolean.class) {
+			return value((value, buffer) -> buffer.put((Boolean) value ? PRESENT : NULL), buffer -> buffer.get() != NULL);
+		}
+		else if (type == byte.class) {
+			return value((value, buffer) -> buffer.put((Byte) value), ByteBuffer::get);
+		}
+		else if (type == char.class) {
+			return value((value, buffer) -> buffer.putChar((Character) value), ByteBuffer::getChar);
+		}
+		else if (type == double.class) {
+			return value((value, buffer) -> buffer.putDouble((Double) value), ByteBuffer::getDouble);
+		}
+		else if (type == float.class) {
+			return value((value, buffer) -> buffer.putFloat((Float) value), ByteBuffer::getFloat);
+		}
+		else if (type == int.class) {
+			return value((value, buffer) -> buffer.putInt((Integer) value), ByteBuffer::getInt);
+		}
+		else if (type == long.class) {
+			return value((value, buffer) -> buffer.putLong((Long) value), ByteBuffer::getLong);
+		}
+		return value((value, buffer) -> buffer.putShort((Short) value), ByteBuffer::getShort);
+	}
+
+	/**
+	 * Get the codec for arrays.
+	 *
+	 * @param component Component type.
+	 * @return the value codec.
+	 */
+	private static IValueCodec array(Class<?> component) {
+		// Byte arrays are copied in bulk
+		if (component == byte.class) {
+			return nullable((value, buffer) -> {
+				byte[] array = (byte[]) value;
+				buffer.putInt(array.length);
+				buffer.put(array);
+			}, buffer -> {
+				byte[] array = new byte[readLength(buffer, Byte.BYTES)];
+				buffer.get(array);
+				return array;
+			});
+		}
+
+		// Other primitive arrays are encoded element by element without boxing
+		if (component == int.class) {
+			return nullable((value, buffer) -> {
+				int[] array = (int[]) value;
+				buffer.putInt(array.length);
+				for (int element : array) {
+					buffer.putInt(element);
+				}
+			}, buffer -> {
+				int[] array = new int[readLength(buffer, Integer.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.getInt();
+				}
+				return array;
+			});
+		}
+		else if (component == long.class) {
+			return nullable((value, buffer) -> {
+				long[] array = (long[]) value;
+				buffer.putInt(array.length);
+				for (long element : array) {
+					buffer.putLong(element);
+				}
+			}, buffer -> {
+				long[] array = new long[readLength(buffer, Long.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.getLong();
+				}
+				return array;
+			});
+		}
+		else if (component == double.class) {
+			return nullable((value, buffer) -> {
+				double[] array = (double[]) value;
+				buffer.putInt(array.length);
+				for (double element : array) {
+					buffer.putDouble(element);
+				}
+			}, buffer -> {
+				double[] array = new double[readLength(buffer, Double.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.getDouble();
+				}
+				return array;
+			});
+		}
+		else if (component == boolean.class) {
+			return nullable((value, buffer) -> {
+				boolean[] array = (boolean[]) value;
+				buffer.putInt(array.length);
+				for (boolean element : array) {
+					buffer.put(element ? PRESENT : NULL);
+				}
+			}, buffer -> {
+				boolean[] array = new boolean[readLength(buffer, Byte.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.get() != NULL;
+				}
+				return array;
+			});
+		}
+		else if (component == char.class) {
+			return nullable((value, buffer) -> {
+				char[] array = (char[]) value;
+				buffer.putInt(array.length);
+				for (char element : array) {
+					buffer.putChar(element);
+				}
+			}, buffer -> {
+				char[] array = new char[readLength(buffer, Character.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.getChar();
+				}
+				return array;
+			});
+		}
+		else if (component == float.class) {
+			return nullable((value, buffer) -> {
+				float[] array = (float[]) value;
+				buffer.putInt(array.length);
+				for (float element : array) {
+					buffer.putFloat(element);
+				}
+			}, buffer -> {
+				float[] array = new float[readLength(buffer, Float.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.getFloat();
+				}
+				return array;
+			});
+		}
+		else if (component == short.class) {
+			return nullable((value, buffer) -> {
+				short[] array = (short[]) value;
+				buffer.putInt(array.length);
+				for (short element : array) {
+					buffer.putShort(element);
+				}
+			}, buffer -> {
+				short[] array = new short[readLength(buffer, Short.BYTES)];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = buffer.getShort();
+				}
+				return array;
+			});
+		}
+
+		// Object arrays go through the element codec, every element takes at least a byte
+		IValueCodec codec = value(component);
+		return nullable((value, buffer) -> {
+			int length = Array.getLength(value);
+			buffer.putInt(length);
+			for (int i = 0; i < length; i++) {
+				codec.write(Array.get(value, i), buffer);
+			}
+		}, buffer -> {
+			Object array = Array.newInstance(component, readLength(buffer, Byte.BYTES));
+			for (int i = 0; i < Array.getLength(array); i++) {
+				Array.set(array, i, codec.read(buffer));
+			}
+			return array;
+		});
+	}
+
+	/**
+	 * Read a length and check it against the remaining input.
+	 *
+	 * @param buffer Buffer to read from.
+	 * @param size Minimum encoded size of an element in bytes.
+	 * @return the length.
+	 * @throws IncompatibleSchemaException If the length is negative or there are not enough bytes left.
+	 */
+	private static int readLength(ByteBuffer buffer, int size) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining() / size) {
+			throw new IncompatibleSchemaException("Invalid length " + length + " with " + buffer.remaining() + " bytes remaining");
+		}
+		return length;
+	}
+
+	/**
+	 * Read an enum constant by ordinal.
+	 *
+	 * @param constants Enum constants.
+	 * @param buffer Buffer to read from.
+	 * @return the constant.
+	 * @throws IncompatibleSchemaException If the ordinal is out of bounds.
+	 */
+	private static Object readConstant(Object[] constants, ByteBuffer buffer) {
+		int ordinal = buffer.getInt();
+		if (ordinal < 0 || ordinal >= constants.length) {
+			throw new IncompatibleSchemaException("Invalid ordinal " + ordinal + " for " + constants.length + " constants");
+		}
+		return constants[ordinal];
+	}
+
+	/**
+	 * Create a field codec.
+	 *
+	 * @param writer Field encoder.
+	 * @param reader Field decoder.
+	 * @return the field codec.
+	 */
+	private static IFieldCodec codec(BiConsumer<Object, ByteBuffer> writer, BiConsumer<Object, ByteBuffer> reader) {
+		return new IFieldCodec() {
+
+			@Override
+			public void write(Object target, ByteBuffer buffer) {
+				writer.accept(target, buffer);
+			}
+
+			@Override
+			public void read(Object target, ByteBuffer buffer) {
+				reader.accept(target, buffer);
+			}
+		};
+	}
+
+	/**
+	 * Create a value codec.
+	 *
+	 * @param writer Value encoder.
+	 * @param reader Value decoder.
+	 * @return the value codec.
+	 */
+	private static IValueCodec value(BiConsumer<Object, ByteBuffer> writer, Function<ByteBuffer, Object> reader) {
+		return new IValueCodec() {
+
+			@Override
+			public void write(Object value, ByteBuffer buffer) {
+				writer.accept(value, buffer);
+			}
+
+			@Override
+			public Object read(ByteBuffer buffer) {
+				return reader.apply(buffer);
+			}
+		};
+	}
+
+	/**
+	 * Create a value codec with a null marker.
+	 *
+	 * @param writer Non-null value encoder.
+	 * @param reader Non-null value decoder.
+	 * @return the value codec.
+	 */
+	private static IValueCodec nullable(BiConsumer<Object, ByteBuffer> writer, Function<ByteBuffer, Object> reader) {
+		return value((value, buffer) -> {
+			if (value == null) {
+				buffer.put(NULL);
+				return;
+			}
+
+			buffer.put(PRESENT);
+			writer.accept(value, buffer);
+		}, buffer -> buffer.get() == NULL ? null : reader.apply(buffer));
+	}
+}
@@ -0,0 +1,27 @@
+package net.steelphoenix.refraction.serial;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for a single field.
+ *
+ * @author SteelPhoenix
+ */
+interface IFieldCodec {
+
+	/**
+	 * Encode the field value of an instance.
+	 *
+	 * @param target Instance to read from.
+	 * @param buffer Buffer to write to.
+	 */
+	public void write(Object target, ByteBuffer buffer);
+
+	/**
+	 * Decode a field value into an instance.
+	 *
+	 * @param target Instance to write to.
+	 * @param buffer Buffer to read from.
+	 */
+	public void read(Object target, ByteBuffer buffer);
+}
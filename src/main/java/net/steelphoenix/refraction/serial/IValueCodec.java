@@ -0,0 +1,27 @@
+package net.steelphoenix.refraction.serial;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for values of a single type.
+ *
+ * @author SteelPhoenix
+ */
+interface IValueCodec {
+
+	/**
+	 * Encode a value.
+	 *
+	 * @param value Value to encode.
+	 * @param buffer Buffer to write to.
+	 */
+	public void write(Object value, ByteBuffer buffer);
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param buffer Buffer to read from.
+	 * @return the decoded value.
+	 */
+	public Object read(ByteBuffer buffer);
+}
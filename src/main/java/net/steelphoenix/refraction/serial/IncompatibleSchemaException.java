@@ -0,0 +1,27 @@
+package net.steelphoenix.refraction.serial;
+
+/**
+ * An exception for when encoded data was written with a different schema.
+ *
+ * @author SteelPhoenix
+ */
+public class IncompatibleSchemaException extends RuntimeException {
+
+	private static final long serialVersionUID = 4312764935185043542L;
+
+	public IncompatibleSchemaException() {
+		super();
+	}
+
+	public IncompatibleSchemaException(String message) {
+		super(message);
+	}
+
+	public IncompatibleSchemaException(Throwable cause) {
+		super(cause);
+	}
+
+	public IncompatibleSchemaException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,330 @@
+package net.steelphoenix.refraction.serial;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+import net.steelphoenix.refraction.primitives.Primitives;
+import net.steelphoenix.refraction.reflection.ReflectionHelper;
+import net.steelphoenix.refraction.structure.FieldAccessException;
+
+/**
+ * A binary serialization schema for a class.
+ * All non-static, non-transient fields of the class hierarchy are encoded in a stable order: superclass fields first, then by name.
+ * Values are written directly to and read directly from a {@link ByteBuffer} in the buffer's byte order.
+ * Supported field types are primitives, boxed primitives, strings, enums, arrays of supported types and concrete classes with a no-args constructor that only have supported field types.
+ * Note that object graphs with cycles cannot be encoded.
+ *
+ * @param <T> Encoded type.
+ *
+ * @author SteelPhoenix
+ */
+public final class Schema<T> {
+
+	private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+	private static final long FNV_PRIME = 0x100000001B3L;
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+	private static final ClassValue<Schema<?>> CACHE = new ClassValue<Schema<?>>() {
+
+		@Override
+		protected Schema<?> computeValue(Class<?> type) {
+			return new Schema<>(type);
+		}
+	};
+	private final Class<T> type;
+	private final List<IField> fields;
+	private final IFieldCodec[] codecs;
+	private final MethodHandle constructor;
+	private volatile long hash = 0L;
+	private volatile boolean hashed = false;
+
+	private Schema(Class<T> type) {
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (type.isPrimitive() || type.isArray() || type.isInterface()) {
+			throw new IllegalArgumentException("Type is not a class");
+		}
+
+		// Stable order, the order of reflected fields is not specified
+		List<IField> fields = ReflectionHelper.fromClassFuzzy(type).getFields(null, true).stream()
+				.filter(field -> !field.isStatic() && !Modifier.isTransient(field.getModifiers()))
+				.sorted(Comparator.comparingInt((IField field) -> getDepth(field.getDeclarer())).thenComparing(field -> field.getField().getName()))
+				.map(IField::asDirect)
+				.collect(Collectors.toList());
+
+		this.type = type;
+		this.fields = Collections.unmodifiableList(fields);
+		this.codecs = fields.stream().map(Codecs::field).toArray(IFieldCodec[]::new);
+		this.constructor = getConstructor(type);
+	}
+
+	/**
+	 * Get the encoded type.
+	 *
+	 * @return the encoded type.
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Get all encoded fields in encoding order.
+	 *
+	 * @return the encoded fields.
+	 */
+	public List<IField> getFields() {
+		return fields;
+	}
+
+	/**
+	 * Get the hash of this schema.
+	 * The hash covers the encoded type, field order, field types and the schemas of nested types.
+	 *
+	 * @return the schema hash.
+	 */
+	public long getHash() {
+		// Benign race, the hash is always the same
+		if (!hashed) {
+			hash = getHash(new HashSet<>());
+			hashed = true;
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Encode a value, prefixed with the schema hash.
+	 *
+	 * @param value Value to encode.
+	 * @param buffer Buffer to write to.
+	 * @return the buffer.
+	 */
+	public ByteBuffer encode(T value, ByteBuffer buffer) {
+		// Preconditions
+		if (value == null) {
+			throw new NullPointerException("Value cannot be null");
+		}
+		if (buffer == null) {
+			throw new NullPointerException("Buffer cannot be null");
+		}
+
+		buffer.putLong(getHash());
+		writeBody(value, buffer);
+		return buffer;
+	}
+
+	/**
+	 * Decode a value into a new instance.
+	 *
+	 * @param buffer Buffer to read from.
+	 * @return the decoded value.
+	 * @throws IncompatibleSchemaException If the value was encoded with a different schema or the input is truncated or corrupt.
+	 */
+	public T decode(ByteBuffer buffer) {
+		return decode(buffer, null);
+	}
+
+	/**
+	 * Decode a value into an existing instance.
+	 *
+	 * @param buffer Buffer to read from.
+	 * @param target Instance to decode into or null to create a new instance.
+	 * @return the decoded value.
+	 * @throws IncompatibleSchemaException If the value was encoded with a different schema or the input is truncated or corrupt.
+	 */
+	public T decode(ByteBuffer buffer, T target) {
+		// Preconditions
+		if (buffer == null) {
+			throw new NullPointerException("Buffer cannot be null");
+		}
+
+		int position = buffer.position();
+		long hash = buffer.getLong();
+		if (hash != getHash()) {
+			// Leave the buffer as it was
+			buffer.position(position);
+			throw new IncompatibleSchemaException("Schema hash mismatch for " + type.getName() + " (expected: " + Long.toHexString(getHash()) + ", actual: " + Long.toHexString(hash) + ")");
+		}
+
+		try {
+			return type.cast(readBody(buffer, target));
+		} catch (BufferUnderflowException exception) {
+			throw new IncompatibleSchemaException("Truncated input for " + type.getName(), exception);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Schema[type=" + type.getName() + ",fields=" + fields.size() + "]";
+	}
+
+	/**
+	 * Encode all field values without a header.
+	 *
+	 * @param value Value to encode.
+	 * @param buffer Buffer to write to.
+	 */
+	void writeBody(Object value, ByteBuffer buffer) {
+		try {
+			for (IFieldCodec codec : codecs) {
+				codec.write(value, buffer);
+			}
+		} catch (IllegalArgumentException | IllegalStateException exception) {
+			throw new FieldAccessException("Cannot read field", exception);
+		}
+	}
+
+	/**
+	 * Decode all field values without a header.
+	 *
+	 * @param buffer Buffer to read from.
+	 * @param target Instance to decode into or null to create a new instance.
+	 * @return the instance.
+	 */
+	Object readBody(ByteBuffer buffer, Object target) {
+		Object result = target == null ? instantiate() : target;
+		try {
+			for (IFieldCodec codec : codecs) {
+				codec.read(result, buffer);
+			}
+		} catch (IllegalArgumentException | IllegalStateException exception) {
+			throw new FieldAccessException("Cannot write field", exception);
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the hash of this schema.
+	 *
+	 * @param visited Types already hashed, these are not hashed again to support self referencing types.
+	 * @return the schema hash.
+	 */
+	private long getHash(Set<Class<?>> visited) {
+		visited.add(type);
+
+		long hash = hash(FNV_OFFSET, type.getName());
+		for (IField field : fields) {
+			hash = hash(hash, field.getDeclarer().getName());
+			hash = hash(hash, field.getField().getName());
+			hash = hash(hash, Codecs.signature(field.getField().getType()));
+
+			// Nested types are part of our schema
+			Class<?> nested = field.getField().getType();
+			while (nested.isArray()) {
+				nested = nested.getComponentType();
+			}
+			if (isNested(nested) && !visited.contains(nested)) {
+				hash = hash * FNV_PRIME ^ of(nested).getHash(visited);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Create a new instance.
+	 *
+	 * @return the created instance.
+	 */
+	private Object instantiate() {
+		if (constructor == null) {
+			throw new IllegalStateException("Cannot instantiate " + type.getName());
+		}
+
+		try {
+			return (Object) constructor.invokeExact();
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Constructor threw a checked exception
+			throw new RuntimeException("An internal error occured", throwable);
+		}
+	}
+
+	/**
+	 * Get the schema for a class.
+	 *
+	 * @param <T> Encoded type.
+	 * @param type Encoded type class.
+	 * @return the schema.
+	 * @throws IllegalArgumentException If the class has fields that are not supported.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Schema<T> of(Class<T> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return (Schema<T>) CACHE.get(type);
+	}
+
+	/**
+	 * Get if a type is encoded with its own schema.
+	 *
+	 * @param type Type.
+	 * @return if the type is nested.
+	 */
+	private static boolean isNested(Class<?> type) {
+		return !type.isPrimitive() && !type.isEnum() && type != String.class && Primitives.getByType(type) == null;
+	}
+
+	/**
+	 * Get the depth of a class in its hierarchy.
+	 *
+	 * @param type Class.
+	 * @return the amount of superclasses.
+	 */
+	private static int getDepth(Class<?> type) {
+		int depth = 0;
+		for (Class<?> clazz = type.getSuperclass(); clazz != null; clazz = clazz.getSuperclass()) {
+			depth++;
+		}
+		return depth;
+	}
+
+	/**
+	 * Get the no-args constructor of a class.
+	 *
+	 * @param type Class.
+	 * @return the constructor or null if there is none.
+	 */
+	private static MethodHandle getConstructor(Class<?> type) {
+		try {
+			return Handles.constructor(type.getDeclaredConstructor()).asType(CONSTRUCTOR_TYPE);
+		} catch (IllegalStateException | ReflectiveOperationException | SecurityException exception) {
+			// Instances can still be decoded into
+			return null;
+		}
+	}
+
+	/**
+	 * Add a string to a 64 bit FNV-1a hash.
+	 *
+	 * @param hash Current hash.
+	 * @param string String.
+	 * @return the new hash.
+	 */
+	private static long hash(long hash, String string) {
+		for (byte b : string.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xFF;
+			hash *= FNV_PRIME;
+		}
+
+		// Separator so field boundaries are part of the hash
+		hash ^= 0xFF;
+		hash *= FNV_PRIME;
+		return hash;
+	}
+}
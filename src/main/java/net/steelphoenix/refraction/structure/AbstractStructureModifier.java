@@ -1,6 +1,9 @@
 package net.steelphoenix.refraction.structure;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import net.steelphoenix.refraction.converter.IConverter;
 import net.steelphoenix.refraction.converter.InconvertibleTypeException;
@@ -17,10 +20,12 @@ import net.steelphoenix.refraction.member.IField;
  */
 public abstract class AbstractStructureModifier<T> implements IConverter<T>, IStructureModifier<T> {
 
+	private static volatile int parallelThreshold = 8192;
 	private final Class<?> targetType;
 	private final Class<T> objectType;
 	private final Class<?> fieldType;
 	private Object target = null;
+	private Class<?> checked = null;
 
 	protected AbstractStructureModifier(Class<?> targetType, Class<T> objectType, Class<?> fieldType) {
 		if (targetType == null) {
@@ -134,6 +139,171 @@ public abstract class AbstractStructureModifier<T> implements IConverter<T>, ISt
 		return write(Generators.getDefaultGenerator());
 	}
 
+	@Override
+	public Object[] readAll(Object[] dest) {
+		// Preconditions
+		if (dest == null) {
+			throw new NullPointerException("Destination cannot be null");
+		}
+		if (dest.length < size()) {
+			throw new IllegalArgumentException("Destination is too small (fields: " + size() + ", length: " + dest.length + ")");
+		}
+
+		Object target = getTarget();
+		try {
+			for (int i = 0; i < size(); i++) {
+				dest[i] = getSpecific(read0(getField(i), target));
+			}
+		} catch (ClassCastException | InconvertibleTypeException exception) {
+			throw new FieldAccessException("Cannot convert value to the correct type", exception);
+		}
+		return dest;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public IStructureModifier<T> writeAll(Object[] src) {
+		// Preconditions
+		if (src == null) {
+			throw new NullPointerException("Source cannot be null");
+		}
+		if (src.length < size()) {
+			throw new IllegalArgumentException("Source is too small (fields: " + size() + ", length: " + src.length + ")");
+		}
+
+		Object target = getTarget();
+		try {
+			for (int i = 0; i < size(); i++) {
+				write0(getField(i), target, getGeneric((T) src[i]));
+			}
+		} catch (ClassCastException exception) {
+			throw new FieldAccessException("Cannot convert value to the correct type", exception);
+		}
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> copyTo(Object target) {
+		// Preconditions
+		if (target == null) {
+			throw new NullPointerException("Target cannot be null");
+		}
+		checkTarget(target);
+
+		copy(getTarget(), target);
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> swap(Object target) {
+		// Preconditions
+		if (target == null) {
+			throw new NullPointerException("Target cannot be null");
+		}
+		checkTarget(target);
+
+		Object current = getTarget();
+		for (int i = 0; i < size(); i++) {
+			IField field = getField(i);
+
+			// Shared between instances
+			if (field.isStatic()) {
+				continue;
+			}
+
+			Object value = read0(field, current);
+			write0(field, current, read0(field, target));
+			write0(field, target, value);
+		}
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> readEach(Collection<?> targets, int index, Consumer<? super T> consumer) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (index < 0 || index >= size()) {
+			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+		if (consumer == null) {
+			throw new NullPointerException("Consumer cannot be null");
+		}
+
+		IField field = getField(index);
+		forEach(targets, target -> {
+			try {
+				consumer.accept(getSpecific(read0(field, target)));
+			} catch (ClassCastException | InconvertibleTypeException exception) {
+				throw new FieldAccessException("Cannot convert value to the correct type", exception);
+			}
+		});
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> writeEach(Collection<?> targets, int index, T value) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (index < 0 || index >= size()) {
+			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+
+		// Same value for every target so we only convert once
+		IField field = getField(index);
+		Object generic = getGeneric(value);
+		forEach(targets, target -> write0(field, target, generic));
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> mapEach(Collection<?> targets, int index, UnaryOperator<T> function) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (index < 0 || index >= size()) {
+			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+		if (function == null) {
+			throw new NullPointerException("Function cannot be null");
+		}
+
+		IField field = getField(index);
+		forEach(targets, target -> {
+			try {
+				write0(field, target, getGeneric(function.apply(getSpecific(read0(field, target)))));
+			} catch (ClassCastException | InconvertibleTypeException exception) {
+				throw new FieldAccessException("Cannot convert value to the correct type", exception);
+			}
+		});
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> write(Collection<?> targets, IValueGenerator generator) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (generator == null) {
+			throw new NullPointerException("Generator cannot be null");
+		}
+
+		forEach(targets, target -> {
+			for (int i = 0; i < size(); i++) {
+				IField field = getField(i);
+
+				// The generator should generate a value of the correct type if it does its job
+				write0(field, target, generator.generate(field.getField().getType()));
+			}
+		});
+		return this;
+	}
+
 	@Override
 	public <U> IStructureModifier<U> withType(Class<?> type, IConverter<U> converter) {
 		// Preconditions
@@ -155,20 +325,79 @@ public abstract class AbstractStructureModifier<T> implements IConverter<T>, ISt
 	 */
 	protected void setTarget(Object target) {
 		// Preconditions
-		if (target != null && !targetType.isAssignableFrom(target.getClass())) {
-			throw new IllegalArgumentException(target + " is not of type " + targetType);
+		if (target != null) {
+			checkTarget(target);
 		}
 
 		this.target = target;
 	}
 
 	/**
-	 * Get a field by index.
+	 * Check if an instance can be used as target.
+	 *
+	 * @param target Target.
+	 */
+	protected void checkTarget(Object target) {
+		// Targets are usually of the exact same class so we only do the full check once
+		if (target.getClass() == checked) {
+			return;
+		}
+
+		if (!targetType.isAssignableFrom(target.getClass())) {
+			throw new IllegalArgumentException(target + " is not of type " + targetType);
+		}
+
+		checked = target.getClass();
+	}
+
+	/**
+	 * Run an action for every target.
+	 * Targets are checked before the action is run, batches above the parallel threshold run on the common fork-join pool.
 	 *
-	 * @param index Field index.
-	 * @return the field.
+	 * @param targets Targets.
+	 * @param action Action.
 	 */
-	protected abstract IField getField(int index);
+	private void forEach(Collection<?> targets, Consumer<Object> action) {
+		Consumer<Object> checked = target -> {
+			// Preconditions
+			if (target == null) {
+				throw new NullPointerException("Target cannot be null");
+			}
+			checkTarget(target);
+
+			action.accept(target);
+		};
+
+		if (targets.size() >= parallelThreshold) {
+			targets.parallelStream().forEach(checked);
+			return;
+		}
+
+		for (Object target : targets) {
+			checked.accept(target);
+		}
+	}
+
+	/**
+	 * Copy all non-static field values from one instance to another.
+	 * Implementations may override this with a faster copy routine.
+	 *
+	 * @param source Instance to read from.
+	 * @param destination Instance to write to.
+	 */
+	protected void copy(Object source, Object destination) {
+		for (int i = 0; i < size(); i++) {
+			IField field = getField(i);
+
+			// Shared between instances
+			if (!field.isStatic()) {
+				write0(field, destination, read0(field, source));
+			}
+		}
+	}
+
+	@Override
+	public abstract IField getField(int index);
 
 	/**
 	 * Read a field value.
@@ -199,4 +428,27 @@ public abstract class AbstractStructureModifier<T> implements IConverter<T>, ISt
 			throw new FieldAccessException("Cannot write field", exception);
 		}
 	}
+
+	/**
+	 * Get the amount of targets from which batch operations run in parallel.
+	 *
+	 * @return the parallel threshold.
+	 */
+	public static int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Set the amount of targets from which batch operations run in parallel.
+	 *
+	 * @param threshold Parallel threshold, use {@link Integer#MAX_VALUE} to never run in parallel.
+	 */
+	public static void setParallelThreshold(int threshold) {
+		// Preconditions
+		if (threshold < 1) {
+			throw new IllegalArgumentException("Threshold must be positive");
+		}
+
+		parallelThreshold = threshold;
+	}
 }
@@ -0,0 +1,163 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * The result of a columnar extraction.
+ * Every column is an array of the field type with one value per extracted instance.
+ *
+ * @author SteelPhoenix
+ *
+ * @see Projection#extract(java.util.Collection)
+ */
+public final class Columns {
+
+	private final Object[] columns;
+	private final int rows;
+
+	Columns(Object[] columns, int rows) {
+		if (columns == null) {
+			throw new NullPointerException("Columns cannot be null");
+		}
+
+		this.columns = columns;
+		this.rows = rows;
+	}
+
+	/**
+	 * Get the amount of columns.
+	 *
+	 * @return the amount of columns.
+	 */
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	/**
+	 * Get the amount of rows.
+	 *
+	 * @return the amount of extracted instances.
+	 */
+	public int getRowCount() {
+		return rows;
+	}
+
+	/**
+	 * Get a column.
+	 *
+	 * @param column Column index.
+	 * @return the column array, primitive fields have primitive arrays.
+	 */
+	public Object getColumn(int column) {
+		// Preconditions
+		if (column < 0 || column >= columns.length) {
+			throw new IndexOutOfBoundsException("Column index out of range (columns: " + columns.length + ", index: " + column + ")");
+		}
+
+		return columns[column];
+	}
+
+	/**
+	 * Get a boolean column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public boolean[] getBooleans(int column) {
+		return (boolean[]) getColumn(column, boolean[].class);
+	}
+
+	/**
+	 * Get a byte column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public byte[] getBytes(int column) {
+		return (byte[]) getColumn(column, byte[].class);
+	}
+
+	/**
+	 * Get a char column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public char[] getChars(int column) {
+		return (char[]) getColumn(column, char[].class);
+	}
+
+	/**
+	 * Get a double column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public double[] getDoubles(int column) {
+		return (double[]) getColumn(column, double[].class);
+	}
+
+	/**
+	 * Get a float column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public float[] getFloats(int column) {
+		return (float[]) getColumn(column, float[].class);
+	}
+
+	/**
+	 * Get an int column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public int[] getInts(int column) {
+		return (int[]) getColumn(column, int[].class);
+	}
+
+	/**
+	 * Get a long column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public long[] getLongs(int column) {
+		return (long[]) getColumn(column, long[].class);
+	}
+
+	/**
+	 * Get a short column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public short[] getShorts(int column) {
+		return (short[]) getColumn(column, short[].class);
+	}
+
+	/**
+	 * Get a reference column.
+	 *
+	 * @param column Column index.
+	 * @return the column values.
+	 */
+	public Object[] getObjects(int column) {
+		return (Object[]) getColumn(column, Object[].class);
+	}
+
+	/**
+	 * Get a column of a given array type.
+	 *
+	 * @param column Column index.
+	 * @param type Array type.
+	 * @return the column.
+	 */
+	private Object getColumn(int column, Class<?> type) {
+		Object result = getColumn(column);
+		if (result.getClass() != type) {
+			throw new IllegalArgumentException("Column " + column + " is not of type " + type.getComponentType().getName());
+		}
+
+		return result;
+	}
+}
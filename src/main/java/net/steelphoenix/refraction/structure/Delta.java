@@ -0,0 +1,71 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * The changes between two snapshots.
+ * Only changed field values are stored, primitive values are stored unboxed.
+ *
+ * @author SteelPhoenix
+ *
+ * @see Snapshot#diff(Snapshot)
+ */
+public final class Delta {
+
+	private final SnapshotLayout layout;
+	private final int[] primitiveSlots;
+	private final long[] primitiveValues;
+	private final int[] objectSlots;
+	private final Object[] objectValues;
+
+	Delta(SnapshotLayout layout, int[] primitiveSlots, long[] primitiveValues, int[] objectSlots, Object[] objectValues) {
+		if (layout == null) {
+			throw new NullPointerException("Layout cannot be null");
+		}
+
+		this.layout = layout;
+		this.primitiveSlots = primitiveSlots;
+		this.primitiveValues = primitiveValues;
+		this.objectSlots = objectSlots;
+		this.objectValues = objectValues;
+	}
+
+	/**
+	 * Get the amount of changed fields.
+	 *
+	 * @return the amount of changed fields.
+	 */
+	public int size() {
+		return primitiveSlots.length + objectSlots.length;
+	}
+
+	/**
+	 * Get if no fields changed.
+	 *
+	 * @return if this delta is empty.
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Write all changed field values to an instance.
+	 *
+	 * @param target Instance to write to.
+	 */
+	void apply(Object target) {
+		for (int i = 0; i < primitiveSlots.length; i++) {
+			layout.writePrimitive(target, primitiveSlots[i], primitiveValues[i]);
+		}
+		for (int i = 0; i < objectSlots.length; i++) {
+			layout.writeObject(target, objectSlots[i], objectValues[i]);
+		}
+	}
+
+	/**
+	 * Get the layout of this delta.
+	 *
+	 * @return the layout.
+	 */
+	SnapshotLayout getLayout() {
+		return layout;
+	}
+}
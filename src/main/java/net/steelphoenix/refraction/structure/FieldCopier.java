@@ -0,0 +1,118 @@
+package net.steelphoenix.refraction.structure;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+
+/**
+ * A copier moving the values of a set of fields from one instance to another.
+ * The copy routine is composed from method handles into a single handle on first use.
+ * Static fields are ignored as they are shared between instances anyways.
+ *
+ * @author SteelPhoenix
+ */
+class FieldCopier {
+
+	private static final MethodType TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodHandle NOTHING;
+	private static final MethodHandle REFLECTIVE;
+	private final IField[] fields;
+	private volatile MethodHandle handle = null;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			NOTHING = MethodHandles.dropArguments(lookup.findStatic(FieldCopier.class, "nothing", MethodType.methodType(void.class)), 0, Object.class, Object.class);
+			REFLECTIVE = lookup.findStatic(FieldCopier.class, "reflective", MethodType.methodType(void.class, IField.class, Object.class, Object.class));
+		} catch (ReflectiveOperationException exception) {
+			throw new ExceptionInInitializerError(exception);
+		}
+	}
+
+	FieldCopier(IField[] fields) {
+		if (fields == null) {
+			throw new NullPointerException("Fields cannot be null");
+		}
+
+		this.fields = fields;
+	}
+
+	/**
+	 * Copy all field values.
+	 *
+	 * @param source Instance to read from.
+	 * @param destination Instance to write to.
+	 */
+	void copy(Object source, Object destination) {
+		MethodHandle handle = this.handle;
+
+		// Compose on first use, racing threads compose equal handles so we do not lock
+		if (handle == null) {
+			handle = compose();
+			this.handle = handle;
+		}
+
+		try {
+			handle.invokeExact(destination, source);
+		} catch (NullPointerException | ClassCastException | IllegalArgumentException | IllegalStateException exception) {
+			throw new FieldAccessException("Cannot copy fields", exception);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Field access does not throw checked exceptions
+			throw new FieldAccessException("Cannot copy fields", throwable);
+		}
+	}
+
+	/**
+	 * Compose the copy routine.
+	 * The composed handle has type (Object destination, Object source)void.
+	 *
+	 * @return the copy routine.
+	 */
+	private MethodHandle compose() {
+		MethodHandle handle = NOTHING;
+
+		// We go backwards as every step is folded in front of the previous ones
+		for (int i = fields.length - 1; i >= 0; i--) {
+			IField field = fields[i];
+			if (field.isStatic()) {
+				continue;
+			}
+
+			MethodHandle step;
+			try {
+				// No boxing, the getter result is passed straight to the setter
+				step = MethodHandles.filterArguments(Handles.setter(field.getField()), 1, Handles.getter(field.getField()));
+			} catch (IllegalStateException exception) {
+				// No handles available, we fall back on the field itself
+				step = MethodHandles.insertArguments(REFLECTIVE, 0, field);
+			}
+
+			handle = MethodHandles.foldArguments(handle, step.asType(TYPE));
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Do nothing.
+	 */
+	private static void nothing() {
+		// Nothing
+	}
+
+	/**
+	 * Copy a single field value using the field itself.
+	 *
+	 * @param field Field.
+	 * @param destination Instance to write to.
+	 * @param source Instance to read from.
+	 */
+	private static void reflective(IField field, Object destination, Object source) {
+		field.set(destination, field.get(source));
+	}
+}
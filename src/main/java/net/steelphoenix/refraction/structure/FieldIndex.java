@@ -0,0 +1,141 @@
+package net.steelphoenix.refraction.structure;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import net.steelphoenix.refraction.ClassCache;
+import net.steelphoenix.refraction.member.IField;
+import net.steelphoenix.refraction.primitives.IPrimitive;
+import net.steelphoenix.refraction.primitives.Primitives;
+import net.steelphoenix.refraction.reflection.ReflectionHelper;
+
+/**
+ * An index of all fields in a class hierarchy, partitioned by type.
+ * The hierarchy is only walked once, after which every type lookup is a single table lookup.
+ * All fields are direct.
+ *
+ * @author SteelPhoenix
+ */
+class FieldIndex {
+
+	private static final ClassCache<FieldIndex> CACHE = new ClassCache<>(FieldIndex::new);
+	private static final IField[] NONE = new IField[0];
+	private static final FieldTable EMPTY = new FieldTable(NONE);
+	private final Map<Class<?>, FieldTable> tables;
+
+	private FieldIndex(Class<?> type) {
+		// Single scan of the class hierarchy
+		IField[] fields = ReflectionHelper.fromClassFuzzy(type).getFields(null, true).stream().map(IField::asDirect).toArray(IField[]::new);
+
+		// Partition in field order so every bucket keeps the order of the full scan
+		Map<Class<?>, List<IField>> buckets = new HashMap<>();
+		Map<Class<?>, Set<Class<?>>> supertypes = new HashMap<>();
+		for (IField field : fields) {
+			for (Class<?> clazz : supertypes.computeIfAbsent(field.getField().getType(), FieldIndex::getBuckets)) {
+				buckets.computeIfAbsent(clazz, key -> new ArrayList<>()).add(field);
+			}
+		}
+
+		// Types that are not in the table do not match any field
+		Map<Class<?>, FieldTable> tables = new HashMap<>();
+		for (Entry<Class<?>, List<IField>> entry : buckets.entrySet()) {
+			tables.put(entry.getKey(), new FieldTable(entry.getValue().toArray(NONE)));
+		}
+
+		this.tables = tables;
+	}
+
+	/**
+	 * Get the table of all fields of a given type.
+	 * A field matches if it can be assigned to the given type, primitives match their boxed type, their own type and all supertypes of their boxed type.
+	 *
+	 * @param type Field type.
+	 * @return the table of matching fields.
+	 */
+	FieldTable getTable(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return tables.getOrDefault(type, EMPTY);
+	}
+
+	/**
+	 * Get the field index for a given class.
+	 *
+	 * @param type Class.
+	 * @return the field index.
+	 */
+	static FieldIndex of(Class<?> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		return CACHE.get(type);
+	}
+
+	/**
+	 * Get all buckets a field of the given type belongs to.
+	 *
+	 * @param type Field type.
+	 * @return the bucket types.
+	 */
+	private static Set<Class<?>> getBuckets(Class<?> type) {
+		Set<Class<?>> result = new LinkedHashSet<>();
+
+		// Primitives get their own bucket, the rest of the hierarchy is based on the boxed type
+		IPrimitive primitive = Primitives.getByType(type);
+		if (primitive != null && type.isPrimitive()) {
+			result.add(type);
+			type = primitive.getBoxedType();
+		}
+
+		addSupertypes(type, result);
+		return result;
+	}
+
+	/**
+	 * Add a type and all its supertypes.
+	 *
+	 * @param type Type.
+	 * @param result Result set.
+	 */
+	private static void addSupertypes(Class<?> type, Set<Class<?>> result) {
+		if (!result.add(type)) {
+			return;
+		}
+
+		// Arrays are covariant, every array of a supertype of our component type is a supertype as well
+		if (type.isArray()) {
+			result.add(Cloneable.class);
+			result.add(Serializable.class);
+
+			if (!type.getComponentType().isPrimitive()) {
+				Set<Class<?>> components = new LinkedHashSet<>();
+				addSupertypes(type.getComponentType(), components);
+				for (Class<?> component : components) {
+					result.add(Array.newInstance(component, 0).getClass());
+				}
+			}
+		}
+
+		if (type.getSuperclass() != null) {
+			addSupertypes(type.getSuperclass(), result);
+		}
+		for (Class<?> iface : type.getInterfaces()) {
+			addSupertypes(iface, result);
+		}
+
+		// Interfaces do not have a superclass but are still objects
+		result.add(Object.class);
+	}
+}
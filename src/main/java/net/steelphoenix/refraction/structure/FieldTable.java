@@ -0,0 +1,65 @@
+package net.steelphoenix.refraction.structure;
+
+import net.steelphoenix.refraction.member.IField;
+
+/**
+ * A set of fields with everything derived from it.
+ * Tables are shared between all modifiers using the same fields.
+ *
+ * @author SteelPhoenix
+ */
+class FieldTable {
+
+	private final IField[] fields;
+	private final FieldCopier copier;
+	private volatile SnapshotLayout layout = null;
+
+	FieldTable(IField[] fields) {
+		if (fields == null) {
+			throw new NullPointerException("Fields cannot be null");
+		}
+
+		this.fields = fields;
+		this.copier = new FieldCopier(fields);
+	}
+
+	/**
+	 * Get the fields.
+	 *
+	 * @return the fields, this array should not be modified.
+	 */
+	IField[] getFields() {
+		return fields;
+	}
+
+	/**
+	 * Get the copier for these fields.
+	 *
+	 * @return the copier.
+	 */
+	FieldCopier getCopier() {
+		return copier;
+	}
+
+	/**
+	 * Get the snapshot layout for these fields.
+	 *
+	 * @return the snapshot layout.
+	 */
+	SnapshotLayout getLayout() {
+		SnapshotLayout layout = this.layout;
+
+		// Shared so compatibility checks of snapshots usually only compare references
+		if (layout == null) {
+			synchronized (this) {
+				layout = this.layout;
+				if (layout == null) {
+					layout = new SnapshotLayout(fields);
+					this.layout = layout;
+				}
+			}
+		}
+
+		return layout;
+	}
+}
@@ -0,0 +1,47 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier for boolean fields.
+ *
+ * @author SteelPhoenix
+ *
+ * @see IStructureModifier#withBooleans()
+ */
+public interface IBooleanStructureModifier extends IPrimitiveStructureModifier {
+
+	/**
+	 * Read a field value.
+	 *
+	 * @param index Field index.
+	 * @return the field value.
+	 */
+	public boolean readBoolean(int index);
+
+	/**
+	 * Write a field value.
+	 *
+	 * @param index Field index.
+	 * @param value Field value.
+	 * @return this for chaining.
+	 */
+	public IBooleanStructureModifier writeBoolean(int index, boolean value);
+
+	/**
+	 * Read all field values.
+	 *
+	 * @param dest Array to read into, its length should at least be the size of this modifier.
+	 * @return the array.
+	 */
+	public boolean[] readBooleans(boolean[] dest);
+
+	/**
+	 * Write all field values.
+	 *
+	 * @param src Array to write from, its length should at least be the size of this modifier.
+	 * @return this for chaining.
+	 */
+	public IBooleanStructureModifier writeBooleans(boolean[] src);
+
+	@Override
+	public IBooleanStructureModifier withTarget(Object target);
+}
@@ -0,0 +1,47 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier for byte fields.
+ *
+ * @author SteelPhoenix
+ *
+ * @see IStructureModifier#withBytes()
+ */
+public interface IByteStructureModifier extends IPrimitiveStructureModifier {
+
+	/**
+	 * Read a field value.
+	 *
+	 * @param index Field index.
+	 * @return the field value.
+	 */
+	public byte readByte(int index);
+
+	/**
+	 * Write a field value.
+	 *
+	 * @param index Field index.
+	 * @param value Field value.
+	 * @return this for chaining.
+	 */
+	public IByteStructureModifier writeByte(int index, byte value);
+
+	/**
+	 * Read all field values.
+	 *
+	 * @param dest Array to read into, its length should at least be the size of this modifier.
+	 * @return the array.
+	 */
+	public byte[] readBytes(byte[] dest);
+
+	/**
+	 * Write all field values.
+	 *
+	 * @param src Array to write from, its length should at least be the size of this modifier.
+	 * @return this for chaining.
+	 */
+	public IByteStructureModifier writeBytes(byte[] src);
+
+	@Override
+	public IByteStructureModifier withTarget(Object target);
+}
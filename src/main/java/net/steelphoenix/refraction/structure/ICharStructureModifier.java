@@ -0,0 +1,47 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier for char fields.
+ *
+ * @author SteelPhoenix
+ *
+ * @see IStructureModifier#withChars()
+ */
+public interface ICharStructureModifier extends IPrimitiveStructureModifier {
+
+	/**
+	 * Read a field value.
+	 *
+	 * @param index Field index.
+	 * @return the field value.
+	 */
+	public char readChar(int index);
+
+	/**
+	 * Write a field value.
+	 *
+	 * @param index Field index.
+	 * @param value Field value.
+	 * @return this for chaining.
+	 */
+	public ICharStructureModifier writeChar(int index, char value);
+
+	/**
+	 * Read all field values.
+	 *
+	 * @param dest Array to read into, its length should at least be the size of this modifier.
+	 * @return the array.
+	 */
+	public char[] readChars(char[] dest);
+
+	/**
+	 * Write all field values.
+	 *
+	 * @param src Array to write from, its length should at least be the size of this modifier.
+	 * @return this for chaining.
+	 */
+	public ICharStructureModifier writeChars(char[] src);
+
+	@Override
+	public ICharStructureModifier withTarget(Object target);
+}
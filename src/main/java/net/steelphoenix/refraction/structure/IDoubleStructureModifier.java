@@ -0,0 +1,47 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier for double fields.
+ *
+ * @author SteelPhoenix
+ *
+ * @see IStructureModifier#withDoubles()
+ */
+public interface IDoubleStructureModifier extends IPrimitiveStructureModifier {
+
+	/**
+	 * Read a field value.
+	 *
+	 * @param index Field index.
+	 * @return the field value.
+	 */
+	public double readDouble(int index);
+
+	/**
+	 * Write a field value.
+	 *
+	 * @param index Field index.
+	 * @param value Field value.
+	 * @return this for chaining.
+	 */
+	public IDoubleStructureModifier writeDouble(int index, double value);
+
+	/**
+	 * Read all field values.
+	 *
+	 * @param dest Array to read into, its length should at least be the size of this modifier.
+	 * @return the array.
+	 */
+	public double[] readDoubles(double[] dest);
+
+	/**
+	 * Write all field values.
+	 *
+	 * @param src Array to write from, its length should at least be the size of this modifier.
+	 * @return this for chaining.
+	 */
+	public IDoubleStructureModifier writeDoubles(double[] src);
+
+	@Override
+	public IDoubleStructureModifier withTarget(Object target);
+}
@@ -0,0 +1,47 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier for float fields.
+ *
+ * @author SteelPhoenix
+ *
+ * @see IStructureModifier#withFloats()
+ */
+public interface IFloatStructureModifier extends IPrimitiveStructureModifier {
+
+	/**
+	 * Read a field value.
+	 *
+	 * @param index Field index.
+	 * @return the field value.
+	 */
+	public float readFloat(int index);
+
+	/**
+	 * Write a field value.
+	 *
+	 * @param index Field index.
+	 * @param value Field value.
+	 * @return this for chaining.
+	 */
+	public IFloatStructureModifier writeFloat(int index, float value);
+
+	/**
+	 * Read all field values.
+	 *
+	 * @param dest Array to read into, its length should at least be the size of this modifier.
+	 * @return the array.
+	 */
+	public float[] readFloats(float[] dest);
+
+	/**
+	 * Write all field values.
+	 *
+	 * @param src Array to write from, its length should at least be the size of this modifier.
+	 * @return this for chaining.
+	 */
+	public IFloatStructureModifier writeFloats(float[] src);
+
+	@Override
+	public IFloatStructureModifier withTarget(Object target);
+}
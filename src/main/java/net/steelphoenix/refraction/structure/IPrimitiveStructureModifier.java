@@ -0,0 +1,48 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier that reads and writes primitive fields without boxing.
+ * Primitive modifiers are views of the modifier they were created by and always use its working instance.
+ *
+ * @author SteelPhoenix
+ *
+ * @see IStructureModifier#withInts()
+ */
+public interface IPrimitiveStructureModifier {
+
+	/**
+	 * Get the target class.
+	 *
+	 * @return the target class.
+	 */
+	public Class<?> getTargetType();
+
+	/**
+	 * Get the primitive field type.
+	 *
+	 * @return the field type.
+	 */
+	public Class<?> getType();
+
+	/**
+	 * Get the working instance.
+	 *
+	 * @return the working instance.
+	 */
+	public Object getTarget();
+
+	/**
+	 * Get a primitive modifier with the given instance as target.
+	 *
+	 * @param target Target.
+	 * @return the created primitive modifier.
+	 */
+	public IPrimitiveStructureModifier withTarget(Object target);
+
+	/**
+	 * Get the size of this modifier.
+	 *
+	 * @return the amount of fields this modifier wraps.
+	 */
+	public int size();
+}
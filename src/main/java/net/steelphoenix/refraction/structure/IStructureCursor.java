@@ -0,0 +1,20 @@
+package net.steelphoenix.refraction.structure;
+
+/**
+ * A structure modifier that can be rebound to other targets without creating a new modifier.
+ * Note that cursors are mutable and should not be shared between threads.
+ *
+ * @param <T> Modifier type.
+ *
+ * @author SteelPhoenix
+ */
+public interface IStructureCursor<T> extends IStructureModifier<T> {
+
+	/**
+	 * Bind this cursor to the given instance.
+	 *
+	 * @param target Target or null to unbind.
+	 * @return this for chaining.
+	 */
+	public IStructureCursor<T> bind(Object target);
+}
@@ -1,9 +1,13 @@
 package net.steelphoenix.refraction.structure;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import net.steelphoenix.refraction.converter.IConverter;
 import net.steelphoenix.refraction.generator.IValueGenerator;
+import net.steelphoenix.refraction.member.IField;
 
 /**
  * A field access wrapper.
@@ -42,6 +46,14 @@ public interface IStructureModifier<T> {
 	 */
 	public Object getTarget();
 
+	/**
+	 * Get a field by index.
+	 *
+	 * @param index Field index.
+	 * @return the field.
+	 */
+	public IField getField(int index);
+
 	/**
 	 * Read a field value.
 	 *
@@ -104,6 +116,285 @@ public interface IStructureModifier<T> {
 	 */
 	public IStructureModifier<T> writeDefaults();
 
+	/**
+	 * Read all field values.
+	 *
+	 * @param dest Array to read into, its length should at least be the size of this modifier.
+	 * @return the array, values are converted if necessary.
+	 */
+	public default Object[] readAll(Object[] dest) {
+		// Preconditions
+		if (dest == null) {
+			throw new NullPointerException("Destination cannot be null");
+		}
+		if (dest.length < size()) {
+			throw new IllegalArgumentException("Destination is too small (fields: " + size() + ", length: " + dest.length + ")");
+		}
+
+		for (int i = 0; i < size(); i++) {
+			dest[i] = read(i);
+		}
+		return dest;
+	}
+
+	/**
+	 * Write all field values.
+	 *
+	 * @param src Array to write from, its length should at least be the size of this modifier.
+	 * @return this for chaining.
+	 */
+	@SuppressWarnings("unchecked")
+	public default IStructureModifier<T> writeAll(Object[] src) {
+		// Preconditions
+		if (src == null) {
+			throw new NullPointerException("Source cannot be null");
+		}
+		if (src.length < size()) {
+			throw new IllegalArgumentException("Source is too small (fields: " + size() + ", length: " + src.length + ")");
+		}
+
+		try {
+			for (int i = 0; i < size(); i++) {
+				write(i, (T) src[i]);
+			}
+		} catch (ClassCastException exception) {
+			throw new FieldAccessException("Cannot convert value to the correct type", exception);
+		}
+		return this;
+	}
+
+	/**
+	 * Copy all field values of the working instance to another instance.
+	 * Values are not converted and static fields are ignored.
+	 *
+	 * @param target Instance to copy to.
+	 * @return this for chaining.
+	 */
+	public default IStructureModifier<T> copyTo(Object target) {
+		// Preconditions
+		if (target == null) {
+			throw new NullPointerException("Target cannot be null");
+		}
+		if (!getTargetType().isInstance(target)) {
+			throw new IllegalArgumentException(target + " is not of type " + getTargetType());
+		}
+
+		for (int i = 0; i < size(); i++) {
+			IField field = getField(i);
+
+			// Shared between instances
+			if (!field.isStatic()) {
+				AbstractStructureModifier.write0(field, target, AbstractStructureModifier.read0(field, getTarget()));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Swap all field values of the working instance with another instance.
+	 * Values are not converted and static fields are ignored.
+	 *
+	 * @param target Instance to swap with.
+	 * @return this for chaining.
+	 */
+	public default IStructureModifier<T> swap(Object target) {
+		// Preconditions
+		if (target == null) {
+			throw new NullPointerException("Target cannot be null");
+		}
+		if (!getTargetType().isInstance(target)) {
+			throw new IllegalArgumentException(target + " is not of type " + getTargetType());
+		}
+
+		Object current = getTarget();
+		for (int i = 0; i < size(); i++) {
+			IField field = getField(i);
+
+			// Shared between instances
+			if (field.isStatic()) {
+				continue;
+			}
+
+			Object value = AbstractStructureModifier.read0(field, current);
+			AbstractStructureModifier.write0(field, current, AbstractStructureModifier.read0(field, target));
+			AbstractStructureModifier.write0(field, target, value);
+		}
+		return this;
+	}
+
+	/**
+	 * Capture all field values of the working instance.
+	 *
+	 * @return the snapshot.
+	 */
+	public default Snapshot snapshot() {
+		return new Snapshot(SnapshotLayout.of(this)).capture(getTarget());
+	}
+
+	/**
+	 * Capture all field values of the working instance into an existing snapshot.
+	 * This allows reusing snapshots instead of allocating new ones.
+	 *
+	 * @param snapshot Snapshot taken by a modifier with the same fields.
+	 * @return the snapshot.
+	 */
+	public default Snapshot snapshot(Snapshot snapshot) {
+		// Preconditions
+		if (snapshot == null) {
+			throw new NullPointerException("Snapshot cannot be null");
+		}
+		if (!snapshot.getLayout().hasFields(this)) {
+			throw new IllegalArgumentException("Snapshot does not have the same fields");
+		}
+
+		return snapshot.capture(getTarget());
+	}
+
+	/**
+	 * Write all changed field values of a delta to the working instance.
+	 *
+	 * @param delta Delta between snapshots taken by a modifier with the same fields.
+	 * @return this for chaining.
+	 */
+	public default IStructureModifier<T> apply(Delta delta) {
+		// Preconditions
+		if (delta == null) {
+			throw new NullPointerException("Delta cannot be null");
+		}
+		if (!delta.getLayout().hasFields(this)) {
+			throw new IllegalArgumentException("Delta does not have the same fields");
+		}
+
+		delta.apply(getTarget());
+		return this;
+	}
+
+	/**
+	 * Read a field value of every target.
+	 * Implementations may process large batches in parallel, in which case the consumer may be called concurrently and in any order.
+	 *
+	 * @param targets Targets.
+	 * @param index Field index.
+	 * @param consumer Field value consumer, values are converted if necessary.
+	 * @return this for chaining.
+	 *
+	 * @see AbstractStructureModifier#getParallelThreshold()
+	 */
+	public default IStructureModifier<T> readEach(Collection<?> targets, int index, Consumer<? super T> consumer) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (index < 0 || index >= size()) {
+			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+		if (consumer == null) {
+			throw new NullPointerException("Consumer cannot be null");
+		}
+
+		for (Object target : targets) {
+			if (target == null) {
+				throw new NullPointerException("Target cannot be null");
+			}
+
+			consumer.accept(withTarget(target).read(index));
+		}
+		return this;
+	}
+
+	/**
+	 * Write a field value for every target.
+	 * Implementations may process large batches in parallel.
+	 *
+	 * @param targets Targets.
+	 * @param index Field index.
+	 * @param value Field value.
+	 * @return this for chaining.
+	 *
+	 * @see AbstractStructureModifier#getParallelThreshold()
+	 */
+	public default IStructureModifier<T> writeEach(Collection<?> targets, int index, T value) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (index < 0 || index >= size()) {
+			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+
+		for (Object target : targets) {
+			if (target == null) {
+				throw new NullPointerException("Target cannot be null");
+			}
+
+			withTarget(target).write(index, value);
+		}
+		return this;
+	}
+
+	/**
+	 * Replace a field value of every target with a value computed from the current value.
+	 * Implementations may process large batches in parallel, in which case the function may be called concurrently and in any order.
+	 *
+	 * @param targets Targets.
+	 * @param index Field index.
+	 * @param function Field value function.
+	 * @return this for chaining.
+	 *
+	 * @see AbstractStructureModifier#getParallelThreshold()
+	 */
+	public default IStructureModifier<T> mapEach(Collection<?> targets, int index, UnaryOperator<T> function) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (index < 0 || index >= size()) {
+			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+		if (function == null) {
+			throw new NullPointerException("Function cannot be null");
+		}
+
+		for (Object target : targets) {
+			if (target == null) {
+				throw new NullPointerException("Target cannot be null");
+			}
+
+			IStructureModifier<T> modifier = withTarget(target);
+			modifier.write(index, function.apply(modifier.read(index)));
+		}
+		return this;
+	}
+
+	/**
+	 * Write values generated by the given generator for all fields of every target.
+	 * Implementations may process large batches in parallel, in which case the generator may be called concurrently.
+	 *
+	 * @param targets Targets.
+	 * @param generator Target generator.
+	 * @return this for chaining.
+	 *
+	 * @see AbstractStructureModifier#getParallelThreshold()
+	 */
+	public default IStructureModifier<T> write(Collection<?> targets, IValueGenerator generator) {
+		// Preconditions
+		if (targets == null) {
+			throw new NullPointerException("Targets cannot be null");
+		}
+		if (generator == null) {
+			throw new NullPointerException("Generator cannot be null");
+		}
+
+		for (Object target : targets) {
+			if (target == null) {
+				throw new NullPointerException("Target cannot be null");
+			}
+
+			withTarget(target).write(generator);
+		}
+		return this;
+	}
+
 	/**
 	 * Get a structure modifier with the given instance as target.
 	 *
@@ -112,6 +403,16 @@ public interface IStructureModifier<T> {
 	 */
 	public IStructureModifier<T> withTarget(Object target);
 
+	/**
+	 * Get a cursor with the same target, fields and converter as this modifier.
+	 * Unlike {@link #withTarget(Object)} a cursor is rebound in place.
+	 *
+	 * @return the created cursor.
+	 */
+	public default IStructureCursor<T> cursor() {
+		return new ModifierCursor<>(this);
+	}
+
 	/**
 	 * Get a structure modifier that only looks at fields of the given type.
 	 *
@@ -140,6 +441,86 @@ public interface IStructureModifier<T> {
 	 */
 	public <U> IStructureModifier<U> withConverter(IConverter<U> converter);
 
+	/**
+	 * Get a modifier for all boolean fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default IBooleanStructureModifier withBooleans() {
+		return new PrimitiveStructureModifier.OfBoolean(this, FieldIndex.of(getTargetType()).getTable(boolean.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all byte fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default IByteStructureModifier withBytes() {
+		return new PrimitiveStructureModifier.OfByte(this, FieldIndex.of(getTargetType()).getTable(byte.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all char fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default ICharStructureModifier withChars() {
+		return new PrimitiveStructureModifier.OfChar(this, FieldIndex.of(getTargetType()).getTable(char.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all double fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default IDoubleStructureModifier withDoubles() {
+		return new PrimitiveStructureModifier.OfDouble(this, FieldIndex.of(getTargetType()).getTable(double.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all float fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default IFloatStructureModifier withFloats() {
+		return new PrimitiveStructureModifier.OfFloat(this, FieldIndex.of(getTargetType()).getTable(float.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all int fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default IIntStructureModifier withInts() {
+		return new PrimitiveStructureModifier.OfInt(this, FieldIndex.of(getTargetType()).getTable(int.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all long fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default ILongStructureModifier withLongs() {
+		return new PrimitiveStructureModifier.OfLong(this, FieldIndex.of(getTargetType()).getTable(long.class).getFields());
+	}
+
+	/**
+	 * Get a modifier for all short fields of the target class.
+	 * The modifier does not box values and always uses the working instance of this modifier.
+	 *
+	 * @return the created modifier.
+	 */
+	public default IShortStructureModifier withShorts() {
+		return new PrimitiveStructureModifier.OfShort(this, FieldIndex.of(getTargetType()).getTable(short.class).getFields());
+	}
+
 	/**
 	 * Get the size of this modifier.
 	 *
@@ -0,0 +1,124 @@
+package net.steelphoenix.refraction.structure;
+
+import java.util.Optional;
+
+import net.steelphoenix.refraction.converter.IConverter;
+import net.steelphoenix.refraction.generator.IValueGenerator;
+import net.steelphoenix.refraction.member.IField;
+
+/**
+ * A cursor for structure modifiers that do not provide their own.
+ * Binding creates a modifier with the new target, so it does not avoid allocating.
+ *
+ * @param <T> Modifier type.
+ *
+ * @author SteelPhoenix
+ */
+class ModifierCursor<T> implements IStructureCursor<T> {
+
+	private IStructureModifier<T> modifier;
+
+	ModifierCursor(IStructureModifier<T> modifier) {
+		if (modifier == null) {
+			throw new NullPointerException("Modifier cannot be null");
+		}
+
+		this.modifier = modifier;
+	}
+
+	@Override
+	public IStructureCursor<T> bind(Object target) {
+		modifier = modifier.withTarget(target);
+		return this;
+	}
+
+	@Override
+	public Class<?> getTargetType() {
+		return modifier.getTargetType();
+	}
+
+	@Override
+	public Class<T> getType() {
+		return modifier.getType();
+	}
+
+	@Override
+	public Class<?> getFieldType() {
+		return modifier.getFieldType();
+	}
+
+	@Override
+	public Object getTarget() {
+		return modifier.getTarget();
+	}
+
+	@Override
+	public IField getField(int index) {
+		return modifier.getField(index);
+	}
+
+	@Override
+	public T read(int index) {
+		return modifier.read(index);
+	}
+
+	@Override
+	public T readSafely(int index) {
+		return modifier.readSafely(index);
+	}
+
+	@Override
+	public Optional<T> readOptional(int index) {
+		return modifier.readOptional(index);
+	}
+
+	@Override
+	public IStructureModifier<T> write(int index, T value) {
+		modifier.write(index, value);
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> writeSafely(int index, T value) {
+		modifier.writeSafely(index, value);
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> write(IValueGenerator generator) {
+		modifier.write(generator);
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> writeDefaults() {
+		modifier.writeDefaults();
+		return this;
+	}
+
+	@Override
+	public IStructureModifier<T> withTarget(Object target) {
+		// We can be rebound later so we always return the modifier itself
+		return modifier.withTarget(target);
+	}
+
+	@Override
+	public <U> IStructureModifier<U> withType(Class<U> type) {
+		return modifier.withType(type);
+	}
+
+	@Override
+	public <U> IStructureModifier<U> withType(Class<?> type, IConverter<U> converter) {
+		return modifier.withType(type, converter);
+	}
+
+	@Override
+	public <U> IStructureModifier<U> withConverter(IConverter<U> converter) {
+		return modifier.withConverter(converter);
+	}
+
+	@Override
+	public int size() {
+		return modifier.size();
+	}
+}
@@ -0,0 +1,679 @@
+package net.steelphoenix.refraction.structure;
+
+import net.steelphoenix.refraction.member.IField;
+
+/**
+ * Base for all primitive structure modifiers.
+ * Field values are read and written through the primitive accessors of the wrapped fields and are never boxed.
+ *
+ * @author SteelPhoenix
+ */
+abstract class PrimitiveStructureModifier implements IPrimitiveStructureModifier {
+
+	private final IStructureModifier<?> parent;
+	private final Class<?> type;
+	private final IField[] fields;
+
+	PrimitiveStructureModifier(IStructureModifier<?> parent, Class<?> type, IField[] fields) {
+		if (parent == null) {
+			throw new NullPointerException("Parent cannot be null");
+		}
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (fields == null) {
+			throw new NullPointerException("Fields cannot be null");
+		}
+
+		this.parent = parent;
+		this.type = type;
+		this.fields = fields;
+	}
+
+	@Override
+	public Class<?> getTargetType() {
+		return parent.getTargetType();
+	}
+
+	@Override
+	public Class<?> getType() {
+		return type;
+	}
+
+	@Override
+	public Object getTarget() {
+		// Always the parent's target so rebinding a cursor rebinds its views
+		return parent.getTarget();
+	}
+
+	@Override
+	public int size() {
+		return fields.length;
+	}
+
+	@Override
+	public String toString() {
+		return "PrimitiveStructureModifier[targetType=" + getTargetType().getName() + ",type=" + type.getName() + ",size=" + size() + "]";
+	}
+
+	/**
+	 * Get the modifier this is a view of.
+	 *
+	 * @return the parent modifier.
+	 */
+	protected IStructureModifier<?> getParent() {
+		return parent;
+	}
+
+	/**
+	 * Get all wrapped fields.
+	 *
+	 * @return the fields.
+	 */
+	protected IField[] getFields() {
+		return fields;
+	}
+
+	/**
+	 * Get a field by index.
+	 *
+	 * @param index Field index.
+	 * @return the field.
+	 */
+	protected IField getField(int index) {
+		// Preconditions
+		if (index < 0 || index >= fields.length) {
+			throw new FieldAccessException("Field index out of range (fields: " + fields.length + ", index: " + index + ")");
+		}
+
+		return fields[index];
+	}
+
+	/**
+	 * Check if an array is large enough for a bulk operation.
+	 *
+	 * @param length Array length.
+	 * @param name Array name.
+	 */
+	protected void checkLength(int length, String name) {
+		if (length < fields.length) {
+			throw new IllegalArgumentException(name + " is too small (fields: " + fields.length + ", length: " + length + ")");
+		}
+	}
+
+	/**
+	 * A boolean structure modifier.
+	 */
+	static final class OfBoolean extends PrimitiveStructureModifier implements IBooleanStructureModifier {
+
+		OfBoolean(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, boolean.class, fields);
+		}
+
+		@Override
+		public boolean readBoolean(int index) {
+			try {
+				return getField(index).getBoolean(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public IBooleanStructureModifier writeBoolean(int index, boolean value) {
+			try {
+				getField(index).setBoolean(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public boolean[] readBooleans(boolean[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getBoolean(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public IBooleanStructureModifier writeBooleans(boolean[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setBoolean(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public IBooleanStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfBoolean(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * A byte structure modifier.
+	 */
+	static final class OfByte extends PrimitiveStructureModifier implements IByteStructureModifier {
+
+		OfByte(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, byte.class, fields);
+		}
+
+		@Override
+		public byte readByte(int index) {
+			try {
+				return getField(index).getByte(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public IByteStructureModifier writeByte(int index, byte value) {
+			try {
+				getField(index).setByte(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public byte[] readBytes(byte[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getByte(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public IByteStructureModifier writeBytes(byte[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setByte(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public IByteStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfByte(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * A char structure modifier.
+	 */
+	static final class OfChar extends PrimitiveStructureModifier implements ICharStructureModifier {
+
+		OfChar(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, char.class, fields);
+		}
+
+		@Override
+		public char readChar(int index) {
+			try {
+				return getField(index).getChar(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public ICharStructureModifier writeChar(int index, char value) {
+			try {
+				getField(index).setChar(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public char[] readChars(char[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getChar(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public ICharStructureModifier writeChars(char[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setChar(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public ICharStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfChar(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * A double structure modifier.
+	 */
+	static final class OfDouble extends PrimitiveStructureModifier implements IDoubleStructureModifier {
+
+		OfDouble(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, double.class, fields);
+		}
+
+		@Override
+		public double readDouble(int index) {
+			try {
+				return getField(index).getDouble(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public IDoubleStructureModifier writeDouble(int index, double value) {
+			try {
+				getField(index).setDouble(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public double[] readDoubles(double[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getDouble(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public IDoubleStructureModifier writeDoubles(double[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setDouble(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public IDoubleStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfDouble(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * A float structure modifier.
+	 */
+	static final class OfFloat extends PrimitiveStructureModifier implements IFloatStructureModifier {
+
+		OfFloat(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, float.class, fields);
+		}
+
+		@Override
+		public float readFloat(int index) {
+			try {
+				return getField(index).getFloat(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public IFloatStructureModifier writeFloat(int index, float value) {
+			try {
+				getField(index).setFloat(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public float[] readFloats(float[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getFloat(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public IFloatStructureModifier writeFloats(float[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setFloat(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public IFloatStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfFloat(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * An int structure modifier.
+	 */
+	static final class OfInt extends PrimitiveStructureModifier implements IIntStructureModifier {
+
+		OfInt(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, int.class, fields);
+		}
+
+		@Override
+		public int readInt(int index) {
+			try {
+				return getField(index).getInt(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public IIntStructureModifier writeInt(int index, int value) {
+			try {
+				getField(index).setInt(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public int[] readInts(int[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getInt(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public IIntStructureModifier writeInts(int[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setInt(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public IIntStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfInt(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * A long structure modifier.
+	 */
+	static final class OfLong extends PrimitiveStructureModifier implements ILongStructureModifier {
+
+		OfLong(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, long.class, fields);
+		}
+
+		@Override
+		public long readLong(int index) {
+			try {
+				return getField(index).getLong(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public ILongStructureModifier writeLong(int index, long value) {
+			try {
+				getField(index).setLong(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public long[] readLongs(long[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getLong(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public ILongStructureModifier writeLongs(long[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setLong(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public ILongStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfLong(getParent().withTarget(target), getFields());
+		}
+	}
+
+	/**
+	 * A short structure modifier.
+	 */
+	static final class OfShort extends PrimitiveStructureModifier implements IShortStructureModifier {
+
+		OfShort(IStructureModifier<?> parent, IField[] fields) {
+			super(parent, short.class, fields);
+		}
+
+		@Override
+		public short readShort(int index) {
+			try {
+				return getField(index).getShort(getTarget());
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+		}
+
+		@Override
+		public IShortStructureModifier writeShort(int index, short value) {
+			try {
+				getField(index).setShort(getTarget(), value);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public short[] readShorts(short[] dest) {
+			// Preconditions
+			if (dest == null) {
+				throw new NullPointerException("Destination cannot be null");
+			}
+			checkLength(dest.length, "Destination");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					dest[i] = getField(i).getShort(target);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot read field", exception);
+			}
+			return dest;
+		}
+
+		@Override
+		public IShortStructureModifier writeShorts(short[] src) {
+			// Preconditions
+			if (src == null) {
+				throw new NullPointerException("Source cannot be null");
+			}
+			checkLength(src.length, "Source");
+
+			Object target = getTarget();
+			try {
+				for (int i = 0; i < size(); i++) {
+					getField(i).setShort(target, src[i]);
+				}
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				throw new FieldAccessException("Cannot write field", exception);
+			}
+			return this;
+		}
+
+		@Override
+		public IShortStructureModifier withTarget(Object target) {
+			return target == getTarget() ? this : new OfShort(getParent().withTarget(target), getFields());
+		}
+	}
+}
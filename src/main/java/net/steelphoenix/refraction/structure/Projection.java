@@ -0,0 +1,557 @@
+package net.steelphoenix.refraction.structure;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+
+/**
+ * A columnar projection of fields over many instances.
+ * Every column is read with an exact method handle so primitive values are never boxed.
+ * Large inputs are split over multiple threads, see {@link AbstractStructureModifier#getParallelThreshold()}.
+ *
+ * @param <T> Instance type.
+ *
+ * @author SteelPhoenix
+ */
+public final class Projection<T> {
+
+	private static final int CHUNK = 1024;
+	private final Class<T> type;
+	private final IField[] fields;
+	private final MethodHandle[] getters;
+
+	private Projection(Class<T> type, IField[] fields) {
+		this.type = type;
+		this.fields = fields;
+		this.getters = new MethodHandle[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			// Reference columns are read as objects
+			MethodHandle getter = Handles.getter(fields[i].getField());
+			this.getters[i] = fields[i].getField().getType().isPrimitive() ? getter : getter.asType(MethodType.methodType(Object.class, Object.class));
+		}
+	}
+
+	/**
+	 * Get the instance type.
+	 *
+	 * @return the instance type.
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Get the amount of columns.
+	 *
+	 * @return the amount of columns.
+	 */
+	public int size() {
+		return fields.length;
+	}
+
+	/**
+	 * Get the field of a column.
+	 *
+	 * @param column Column index.
+	 * @return the field.
+	 */
+	public IField getField(int column) {
+		// Preconditions
+		if (column < 0 || column >= fields.length) {
+			throw new IndexOutOfBoundsException("Column index out of range (columns: " + fields.length + ", index: " + column + ")");
+		}
+
+		return fields[column];
+	}
+
+	/**
+	 * Extract all columns.
+	 *
+	 * @param instances Instances to extract from.
+	 * @return the columns.
+	 */
+	public Columns extract(Collection<? extends T> instances) {
+		Object[] array = toArray(instances);
+		Object[] columns = new Object[fields.length];
+		for (int i = 0; i < columns.length; i++) {
+			Class<?> type = fields[i].getField().getType();
+			columns[i] = Array.newInstance(type.isPrimitive() ? type : Object.class, array.length);
+		}
+
+		run(array.length, (from, to) -> {
+			for (int i = 0; i < columns.length; i++) {
+				fill(getters[i], fields[i].getField().getType(), array, columns[i], from, to);
+			}
+		});
+		return new Columns(columns, array.length);
+	}
+
+	/**
+	 * Extract all columns.
+	 *
+	 * @param instances Instances to extract from.
+	 * @return the columns.
+	 */
+	public Columns extract(Stream<? extends T> instances) {
+		// Preconditions
+		if (instances == null) {
+			throw new NullPointerException("Instances cannot be null");
+		}
+
+		List<? extends T> list = instances.collect(Collectors.toList());
+		return extract(list);
+	}
+
+	/**
+	 * Extract all primitive columns into a buffer.
+	 * Columns are written one after another at the buffer's position in the buffer's byte order, booleans are written as a single byte.
+	 * The position of the buffer is moved past the written values.
+	 *
+	 * @param instances Instances to extract from.
+	 * @param buffer Buffer to write to, may be direct.
+	 * @return the buffer.
+	 */
+	public ByteBuffer extract(Collection<? extends T> instances, ByteBuffer buffer) {
+		// Preconditions
+		if (buffer == null) {
+			throw new NullPointerException("Buffer cannot be null");
+		}
+
+		Object[] array = toArray(instances);
+		int[] offsets = new int[fields.length];
+		long offset = buffer.position();
+		for (int i = 0; i < fields.length; i++) {
+			Class<?> type = fields[i].getField().getType();
+			if (!type.isPrimitive()) {
+				throw new IllegalArgumentException("Column " + i + " is not primitive");
+			}
+
+			// Offsets are computed as longs so large inputs cannot overflow into earlier columns
+			offsets[i] = (int) Math.min(offset, Integer.MAX_VALUE);
+			offset += (long) getSize(type) * array.length;
+		}
+
+		// Buffer limits are ints, every offset fits if the end does
+		if (offset > buffer.limit()) {
+			throw new IllegalArgumentException("Buffer is too small (required: " + (offset - buffer.position()) + ", remaining: " + buffer.remaining() + ")");
+		}
+
+		run(array.length, (from, to) -> {
+			// Absolute writes on a duplicate so threads do not share buffer state
+			ByteBuffer duplicate = buffer.duplicate().order(buffer.order());
+			for (int i = 0; i < offsets.length; i++) {
+				fill(getters[i], fields[i].getField().getType(), array, duplicate, offsets[i], from, to);
+			}
+		});
+
+		buffer.position((int) offset);
+		return buffer;
+	}
+
+	/**
+	 * Extract a single column as int values.
+	 * Primitive fields that widen to int are supported.
+	 *
+	 * @param column Column index.
+	 * @param instances Instances to extract from.
+	 * @return the column values.
+	 */
+	public int[] extractInts(int column, Collection<? extends T> instances) {
+		Object[] array = toArray(instances);
+		MethodHandle getter = widen(column, int.class);
+		int[] result = new int[array.length];
+		run(array.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result[i] = (int) getter.invokeExact(array[i]);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Extract a single column as long values.
+	 * Primitive fields that widen to long are supported.
+	 *
+	 * @param column Column index.
+	 * @param instances Instances to extract from.
+	 * @return the column values.
+	 */
+	public long[] extractLongs(int column, Collection<? extends T> instances) {
+		Object[] array = toArray(instances);
+		MethodHandle getter = widen(column, long.class);
+		long[] result = new long[array.length];
+		run(array.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result[i] = (long) getter.invokeExact(array[i]);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Extract a single column as double values.
+	 * Primitive fields that widen to double are supported.
+	 *
+	 * @param column Column index.
+	 * @param instances Instances to extract from.
+	 * @return the column values.
+	 */
+	public double[] extractDoubles(int column, Collection<? extends T> instances) {
+		Object[] array = toArray(instances);
+		MethodHandle getter = widen(column, double.class);
+		double[] result = new double[array.length];
+		run(array.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result[i] = (double) getter.invokeExact(array[i]);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Get a getter that widens a column to the given type.
+	 *
+	 * @param column Column index.
+	 * @param type Primitive type.
+	 * @return the getter.
+	 */
+	private MethodHandle widen(int column, Class<?> type) {
+		Class<?> from = getField(column).getField().getType();
+		if (!from.isPrimitive() || from == boolean.class) {
+			throw new IllegalArgumentException("Column " + column + " cannot be read as " + type.getName());
+		}
+
+		try {
+			return getters[column].asType(MethodType.methodType(type, Object.class));
+		} catch (WrongMethodTypeException exception) {
+			// Narrowing conversion
+			throw new IllegalArgumentException("Column " + column + " cannot be read as " + type.getName(), exception);
+		}
+	}
+
+	/**
+	 * Get the instances as an array.
+	 *
+	 * @param instances Instances.
+	 * @return the instance array.
+	 */
+	private Object[] toArray(Collection<? extends T> instances) {
+		// Preconditions
+		if (instances == null) {
+			throw new NullPointerException("Instances cannot be null");
+		}
+
+		Object[] array = instances.toArray();
+		for (Object instance : array) {
+			if (!type.isInstance(instance)) {
+				throw new IllegalArgumentException("Instance is not of type " + type.getName() + ": " + instance);
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * Create a new builder instance.
+	 *
+	 * @param <T> Instance type.
+	 * @param type Instance type class.
+	 * @return a builder to use.
+	 */
+	public static <T> Builder<T> newBuilder(Class<T> type) {
+		return new Builder<>(type);
+	}
+
+	/**
+	 * Run a task over a range of rows, in parallel if the range is large enough.
+	 *
+	 * @param rows Amount of rows.
+	 * @param task Task.
+	 */
+	private static void run(int rows, IRangeTask task) {
+		try {
+			if (rows < AbstractStructureModifier.getParallelThreshold()) {
+				task.run(0, rows);
+				return;
+			}
+
+			IntStream.range(0, (rows + CHUNK - 1) / CHUNK).parallel().forEach(chunk -> {
+				try {
+					task.run(chunk * CHUNK, Math.min(rows, (chunk + 1) * CHUNK));
+				} catch (Throwable throwable) {
+					throw new ChunkException(throwable);
+				}
+			});
+		} catch (ChunkException exception) {
+			rethrow(exception.getCause());
+		} catch (Throwable throwable) {
+			rethrow(throwable);
+		}
+	}
+
+	/**
+	 * Rethrow an exception thrown while reading fields.
+	 *
+	 * @param throwable Thrown exception.
+	 */
+	private static void rethrow(Throwable throwable) {
+		if (throwable instanceof NullPointerException || throwable instanceof ClassCastException) {
+			throw new FieldAccessException("Cannot read field", throwable);
+		}
+		if (throwable instanceof RuntimeException) {
+			throw (RuntimeException) throwable;
+		}
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+
+		// Getters do not throw checked exceptions
+		throw new FieldAccessException("Cannot read field", throwable);
+	}
+
+	/**
+	 * Fill a range of a column array.
+	 *
+	 * @param getter Column getter.
+	 * @param type Field type.
+	 * @param instances Instances.
+	 * @param column Column array.
+	 * @param from First row, inclusive.
+	 * @param to Last row, exclusive.
+	 * @throws Throwable if reading fails.
+	 */
+	private static void fill(MethodHandle getter, Class<?> type, Object[] instances, Object column, int from, int to) throws Throwable {
+		if (type == boolean.class) {
+			boolean[] array = (boolean[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (boolean) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == byte.class) {
+			byte[] array = (byte[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (byte) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == char.class) {
+			char[] array = (char[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (char) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == double.class) {
+			double[] array = (double[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (double) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == float.class) {
+			float[] array = (float[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (float) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == int.class) {
+			int[] array = (int[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (int) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == long.class) {
+			long[] array = (long[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (long) getter.invokeExact(instances[i]);
+			}
+		}
+		else if (type == short.class) {
+			short[] array = (short[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (short) getter.invokeExact(instances[i]);
+			}
+		}
+		else {
+			Object[] array = (Object[]) column;
+			for (int i = from; i < to; i++) {
+				array[i] = (Object) getter.invokeExact(instances[i]);
+			}
+		}
+	}
+
+	/**
+	 * Fill a range of a column in a buffer.
+	 *
+	 * @param getter Column getter.
+	 * @param type Primitive field type.
+	 * @param instances Instances.
+	 * @param buffer Buffer.
+	 * @param offset Column offset.
+	 * @param from First row, inclusive.
+	 * @param to Last row, exclusive.
+	 * @throws Throwable if reading fails.
+	 */
+	private static void fill(MethodHandle getter, Class<?> type, Object[] instances, ByteBuffer buffer, int offset, int from, int to) throws Throwable {
+		if (type == boolean.class) {
+			for (int i = from; i < to; i++) {
+				buffer.put(offset + i, (boolean) getter.invokeExact(instances[i]) ? (byte) 1 : (byte) 0);
+			}
+		}
+		else if (type == byte.class) {
+			for (int i = from; i < to; i++) {
+				buffer.put(offset + i * 1, (byte) getter.invokeExact(instances[i]));
+			}
+		}
+		else if (type == char.class) {
+			for (int i = from; i < to; i++) {
+				buffer.putChar(offset + i * 2, (char) getter.invokeExact(instances[i]));
+			}
+		}
+		else if (type == double.class) {
+			for (int i = from; i < to; i++) {
+				buffer.putDouble(offset + i * 8, (double) getter.invokeExact(instances[i]));
+			}
+		}
+		else if (type == float.class) {
+			for (int i = from; i < to; i++) {
+				buffer.putFloat(offset + i * 4, (float) getter.invokeExact(instances[i]));
+			}
+		}
+		else if (type == int.class) {
+			for (int i = from; i < to; i++) {
+				buffer.putInt(offset + i * 4, (int) getter.invokeExact(instances[i]));
+			}
+		}
+		else if (type == long.class) {
+			for (int i = from; i < to; i++) {
+				buffer.putLong(offset + i * 8, (long) getter.invokeExact(instances[i]));
+			}
+		}
+		else if (type == short.class) {
+			for (int i = from; i < to; i++) {
+				buffer.putShort(offset + i * 2, (short) getter.invokeExact(instances[i]));
+			}
+		}
+	}
+
+	/**
+	 * Get the encoded size of a primitive type.
+	 *
+	 * @param type Primitive type.
+	 * @return the size in bytes.
+	 */
+	private static int getSize(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		else if (type == int.class || type == float.class) {
+			return 4;
+		}
+		else if (type == char.class || type == short.class) {
+			return 2;
+		}
+		return 1;
+	}
+
+	/**
+	 * A task over a range of rows.
+	 */
+	@FunctionalInterface
+	private static interface IRangeTask {
+
+		public void run(int from, int to) throws Throwable;
+	}
+
+	/**
+	 * Carrier for exceptions thrown in parallel chunks.
+	 */
+	private static class ChunkException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private ChunkException(Throwable cause) {
+			super(cause);
+		}
+	}
+
+	/**
+	 * A projection builder.
+	 *
+	 * @param <T> Instance type.
+	 *
+	 * @author SteelPhoenix
+	 */
+	public static class Builder<T> {
+
+		private final Class<T> type;
+		private final List<IField> fields = new ArrayList<>();
+
+		private Builder(Class<T> type) {
+			if (type == null) {
+				throw new NullPointerException("Type cannot be null");
+			}
+
+			this.type = type;
+		}
+
+		/**
+		 * Add a column for a field by name.
+		 * Fields of the class itself take precedence over fields of superclasses.
+		 *
+		 * @param name Field name.
+		 * @return this for chaining.
+		 */
+		public Builder<T> withField(String name) {
+			// Preconditions
+			if (name == null) {
+				throw new NullPointerException("Name cannot be null");
+			}
+
+			for (IField field : FieldIndex.of(type).getTable(Object.class).getFields()) {
+				if (!field.isStatic() && field.getField().getName().equals(name)) {
+					fields.add(field);
+					return this;
+				}
+			}
+
+			throw new IllegalArgumentException("No such field in " + type.getName() + ": " + name);
+		}
+
+		/**
+		 * Add a column for a field.
+		 *
+		 * @param field Field.
+		 * @return this for chaining.
+		 */
+		public Builder<T> withField(IField field) {
+			// Preconditions
+			if (field == null) {
+				throw new NullPointerException("Field cannot be null");
+			}
+			if (field.isStatic() || !field.getDeclarer().isAssignableFrom(type)) {
+				throw new IllegalArgumentException("Field is not an instance field of " + type.getName());
+			}
+
+			fields.add(field);
+			return this;
+		}
+
+		/**
+		 * Build the projection.
+		 *
+		 * @return the built projection.
+		 * @throws IllegalStateException If a field cannot be accessed.
+		 */
+		public Projection<T> build() {
+			return new Projection<>(type, fields.toArray(new IField[fields.size()]));
+		}
+	}
+}
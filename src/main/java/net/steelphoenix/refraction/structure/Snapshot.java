@@ -0,0 +1,134 @@
+package net.steelphoenix.refraction.structure;
+
+import java.util.Objects;
+
+/**
+ * A snapshot of all field values of a structure modifier's working instance.
+ * Primitive values are stored unboxed, field values are not converted.
+ * Snapshots can be compared to each other if they were taken by modifiers with the same fields.
+ *
+ * @author SteelPhoenix
+ */
+public final class Snapshot {
+
+	private final SnapshotLayout layout;
+	private final long[] primitives;
+	private final Object[] objects;
+
+	Snapshot(SnapshotLayout layout) {
+		if (layout == null) {
+			throw new NullPointerException("Layout cannot be null");
+		}
+
+		this.layout = layout;
+		this.primitives = new long[layout.getPrimitiveCount()];
+		this.objects = new Object[layout.getObjectCount()];
+	}
+
+	/**
+	 * Get the amount of captured fields.
+	 *
+	 * @return the amount of fields.
+	 */
+	public int size() {
+		return layout.size();
+	}
+
+	/**
+	 * Get a captured field value.
+	 * Note that primitive values are boxed.
+	 *
+	 * @param index Field index.
+	 * @return the captured value.
+	 */
+	public Object get(int index) {
+		// Preconditions
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		}
+
+		int slot = layout.getSlot(index);
+		return slot >= 0 ? layout.box(index, primitives[slot]) : objects[~slot];
+	}
+
+	/**
+	 * Get if this snapshot can be compared to another snapshot.
+	 *
+	 * @param snapshot Other snapshot.
+	 * @return if both snapshots have the same fields.
+	 */
+	public boolean isCompatible(Snapshot snapshot) {
+		return snapshot != null && layout.isCompatible(snapshot.layout);
+	}
+
+	/**
+	 * Get the changes from this snapshot to a newer snapshot.
+	 * Object values are compared using {@link Object#equals(Object)}.
+	 *
+	 * @param snapshot Newer snapshot.
+	 * @return the changes.
+	 */
+	public Delta diff(Snapshot snapshot) {
+		// Preconditions
+		if (snapshot == null) {
+			throw new NullPointerException("Snapshot cannot be null");
+		}
+		if (!isCompatible(snapshot)) {
+			throw new IllegalArgumentException("Snapshots do not have the same fields");
+		}
+
+		// Count first so the delta is allocated with the exact size
+		int primitiveCount = 0;
+		for (int i = 0; i < primitives.length; i++) {
+			if (primitives[i] != snapshot.primitives[i]) {
+				primitiveCount++;
+			}
+		}
+		int objectCount = 0;
+		for (int i = 0; i < objects.length; i++) {
+			if (!Objects.equals(objects[i], snapshot.objects[i])) {
+				objectCount++;
+			}
+		}
+
+		int[] primitiveSlots = new int[primitiveCount];
+		long[] primitiveValues = new long[primitiveCount];
+		for (int i = 0, j = 0; j < primitiveCount; i++) {
+			if (primitives[i] != snapshot.primitives[i]) {
+				primitiveSlots[j] = i;
+				primitiveValues[j++] = snapshot.primitives[i];
+			}
+		}
+
+		int[] objectSlots = new int[objectCount];
+		Object[] objectValues = new Object[objectCount];
+		for (int i = 0, j = 0; j < objectCount; i++) {
+			if (!Objects.equals(objects[i], snapshot.objects[i])) {
+				objectSlots[j] = i;
+				objectValues[j++] = snapshot.objects[i];
+			}
+		}
+
+		return new Delta(layout, primitiveSlots, primitiveValues, objectSlots, objectValues);
+	}
+
+	/**
+	 * Capture all field values of an instance.
+	 *
+	 * @param target Instance to read from.
+	 * @return this for chaining.
+	 */
+	Snapshot capture(Object target) {
+		layout.capture(target, primitives, objects);
+		return this;
+	}
+
+	/**
+	 * Get the layout of this snapshot.
+	 *
+	 * @return the layout.
+	 */
+	SnapshotLayout getLayout() {
+		return layout;
+	}
+}
@@ -0,0 +1,392 @@
+package net.steelphoenix.refraction.structure;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+
+/**
+ * The layout of a snapshot.
+ * Primitive field values are stored unboxed in a long array, all other values in an object array.
+ *
+ * @author SteelPhoenix
+ */
+class SnapshotLayout {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+	private final IField[] fields;
+	private final int[] slots;
+	private final MethodHandle[] getters;
+	private final MethodHandle[] setters;
+	private final IField[] objects;
+
+	SnapshotLayout(IField[] fields) {
+		if (fields == null) {
+			throw new NullPointerException("Fields cannot be null");
+		}
+
+		int primitives = 0;
+		int objects = 0;
+		MethodHandle[] getters = new MethodHandle[fields.length];
+		MethodHandle[] setters = new MethodHandle[fields.length];
+		IField[] references = new IField[fields.length];
+		int[] slots = new int[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			MethodHandle getter = fields[i].getField().getType().isPrimitive() ? getter(fields[i]) : null;
+
+			// Objects and primitives we cannot get a handle for are stored as objects
+			if (getter == null) {
+				references[objects] = fields[i];
+				slots[i] = ~objects++;
+				continue;
+			}
+
+			getters[primitives] = getter;
+			setters[primitives] = setter(fields[i]);
+			slots[i] = primitives++;
+		}
+
+		this.fields = fields;
+		this.slots = slots;
+		this.getters = Arrays.copyOf(getters, primitives);
+		this.setters = Arrays.copyOf(setters, primitives);
+		this.objects = Arrays.copyOf(references, objects);
+	}
+
+	/**
+	 * Get if this layout has the same fields as another layout.
+	 *
+	 * @param layout Other layout.
+	 * @return if both layouts have the same fields.
+	 */
+	boolean isCompatible(SnapshotLayout layout) {
+		// Layouts of the same field table are shared
+		if (layout == this) {
+			return true;
+		}
+		if (layout == null || layout.fields.length != fields.length) {
+			return false;
+		}
+
+		for (int i = 0; i < fields.length; i++) {
+			if (!fields[i].getField().equals(layout.fields[i].getField())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get if this layout has the same fields as a structure modifier.
+	 *
+	 * @param modifier Structure modifier.
+	 * @return if the modifier has the same fields.
+	 */
+	boolean hasFields(IStructureModifier<?> modifier) {
+		if (modifier.size() != fields.length) {
+			return false;
+		}
+
+		for (int i = 0; i < fields.length; i++) {
+			if (!fields[i].getField().equals(modifier.getField(i).getField())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the amount of fields.
+	 *
+	 * @return the amount of fields.
+	 */
+	int size() {
+		return fields.length;
+	}
+
+	/**
+	 * Get the amount of primitive slots.
+	 *
+	 * @return the amount of primitive slots.
+	 */
+	int getPrimitiveCount() {
+		return getters.length;
+	}
+
+	/**
+	 * Get the amount of object slots.
+	 *
+	 * @return the amount of object slots.
+	 */
+	int getObjectCount() {
+		return objects.length;
+	}
+
+	/**
+	 * Get the slot of a field.
+	 * Primitive slots are positive, object slots are stored as their bitwise complement.
+	 *
+	 * @param index Field index.
+	 * @return the slot.
+	 */
+	int getSlot(int index) {
+		return slots[index];
+	}
+
+	/**
+	 * Capture all field values.
+	 *
+	 * @param target Instance to read from.
+	 * @param primitives Primitive values.
+	 * @param values Object values.
+	 */
+	void capture(Object target, long[] primitives, Object[] values) {
+		try {
+			for (int i = 0; i < getters.length; i++) {
+				primitives[i] = (long) getters[i].invokeExact(target);
+			}
+		} catch (NullPointerException | ClassCastException exception) {
+			throw new FieldAccessException("Cannot read field", exception);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Getters do not throw checked exceptions
+			throw new FieldAccessException("Cannot read field", throwable);
+		}
+
+		for (int i = 0; i < objects.length; i++) {
+			values[i] = AbstractStructureModifier.read0(objects[i], target);
+		}
+	}
+
+	/**
+	 * Write a primitive value.
+	 *
+	 * @param target Instance to write to.
+	 * @param slot Primitive slot.
+	 * @param value Encoded value.
+	 */
+	void writePrimitive(Object target, int slot, long value) {
+		MethodHandle setter = setters[slot];
+		if (setter == null) {
+			throw new FieldAccessException("Cannot write field");
+		}
+
+		try {
+			setter.invokeExact(target, value);
+		} catch (NullPointerException | ClassCastException exception) {
+			throw new FieldAccessException("Cannot write field", exception);
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Setters do not throw checked exceptions
+			throw new FieldAccessException("Cannot write field", throwable);
+		}
+	}
+
+	/**
+	 * Write an object value.
+	 *
+	 * @param target Instance to write to.
+	 * @param slot Object slot.
+	 * @param value Value.
+	 */
+	void writeObject(Object target, int slot, Object value) {
+		AbstractStructureModifier.write0(objects[slot], target, value);
+	}
+
+	/**
+	 * Box an encoded primitive value.
+	 *
+	 * @param index Field index.
+	 * @param value Encoded value.
+	 * @return the boxed value.
+	 */
+	Object box(int index, long value) {
+		Class<?> type = fields[index].getField().getType();
+		if (type == boolean.class) {
+			return decodeBoolean(value);
+		}
+		else if (type == byte.class) {
+			return decodeByte(value);
+		}
+		else if (type == char.class) {
+			return decodeChar(value);
+		}
+		else if (type == double.class) {
+			return decodeDouble(value);
+		}
+		else if (type == float.class) {
+			return decodeFloat(value);
+		}
+		else if (type == int.class) {
+			return decodeInt(value);
+		}
+		else if (type == short.class) {
+			return decodeShort(value);
+		}
+		return value;
+	}
+
+	/**
+	 * Create a layout for the fields of a structure modifier.
+	 *
+	 * @param modifier Structure modifier.
+	 * @return the created layout.
+	 */
+	static SnapshotLayout of(IStructureModifier<?> modifier) {
+		IField[] fields = new IField[modifier.size()];
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = modifier.getField(i);
+		}
+		return new SnapshotLayout(fields);
+	}
+
+	/**
+	 * Get an encoding getter for a primitive field.
+	 *
+	 * @param field Field.
+	 * @return the getter or null if the field cannot be accessed.
+	 */
+	private static MethodHandle getter(IField field) {
+		try {
+			Class<?> type = field.getField().getType();
+			MethodHandle getter = Handles.getter(field.getField());
+
+			// Everything but these widens to a long
+			if (type == boolean.class || type == double.class || type == float.class) {
+				getter = MethodHandles.filterReturnValue(getter, MethodHandles.lookup().findStatic(SnapshotLayout.class, "encode", MethodType.methodType(long.class, type)));
+			}
+
+			return getter.asType(GETTER_TYPE);
+		} catch (IllegalStateException | ReflectiveOperationException exception) {
+			return null;
+		}
+	}
+
+	/**
+	 * Get a decoding setter for a primitive field.
+	 *
+	 * @param field Field.
+	 * @return the setter or null if the field cannot be written.
+	 */
+	private static MethodHandle setter(IField field) {
+		try {
+			Class<?> type = field.getField().getType();
+			MethodHandle setter = Handles.setter(field.getField());
+			String name = "decode" + Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+
+			if (type != long.class) {
+				setter = MethodHandles.filterArguments(setter, 1, MethodHandles.lookup().findStatic(SnapshotLayout.class, name, MethodType.methodType(type, long.class)));
+			}
+
+			return setter.asType(SETTER_TYPE);
+		} catch (IllegalStateException | ReflectiveOperationException exception) {
+			return null;
+		}
+	}
+
+	/**
+	 * Encode a value.
+	 *
+	 * @param value Value.
+	 * @return the encoded value.
+	 */
+	private static long encode(boolean value) {
+		return value ? 1L : 0L;
+	}
+
+	/**
+	 * Encode a value.
+	 *
+	 * @param value Value.
+	 * @return the encoded value.
+	 */
+	private static long encode(double value) {
+		return Double.doubleToRawLongBits(value);
+	}
+
+	/**
+	 * Encode a value.
+	 *
+	 * @param value Value.
+	 * @return the encoded value.
+	 */
+	private static long encode(float value) {
+		return Float.floatToRawIntBits(value);
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static boolean decodeBoolean(long value) {
+		return value != 0L;
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static byte decodeByte(long value) {
+		return (byte) value;
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static char decodeChar(long value) {
+		return (char) value;
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static double decodeDouble(long value) {
+		return Double.longBitsToDouble(value);
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static float decodeFloat(long value) {
+		return Float.intBitsToFloat((int) value);
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static int decodeInt(long value) {
+		return (int) value;
+	}
+
+	/**
+	 * Decode a value.
+	 *
+	 * @param value Encoded value.
+	 * @return the value.
+	 */
+	private static short decodeShort(long value) {
+		return (short) value;
+	}
+}
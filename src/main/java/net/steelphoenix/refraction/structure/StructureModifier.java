@@ -1,14 +1,11 @@
 package net.steelphoenix.refraction.structure;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import net.steelphoenix.refraction.ClassCache;
+import net.steelphoenix.refraction.converter.Converters;
 import net.steelphoenix.refraction.converter.IConverter;
 import net.steelphoenix.refraction.member.IField;
-import net.steelphoenix.refraction.reflection.ReflectionHelper;
-import net.steelphoenix.refraction.reflection.predicate.Matchers;
+import net.steelphoenix.refraction.primitives.IPrimitive;
+import net.steelphoenix.refraction.primitives.Primitives;
 
 /**
  * A structure modifier.
@@ -20,13 +17,21 @@ import net.steelphoenix.refraction.reflection.predicate.Matchers;
  */
 public class StructureModifier<T> extends AbstractStructureModifier<T> {
 
-	private static final Map<Class<?>, IStructureModifier<?>> CACHE = new ConcurrentHashMap<>();
-	private List<IField> fields;
+	private static final ClassCache<IStructureModifier<?>> CACHE = new ClassCache<>(type -> {
+		StructureModifier<?> modifier = new StructureModifier<>(type, Object.class, Object.class, Object.class);
+		modifier.init();
+		return modifier;
+	});
+	private final Class<T> castType;
+	private FieldTable table;
+	private IField[] fields;
 	private IConverter<T> converter;
-	private Map<Class<?>, IStructureModifier<?>> cache;
+	private ClassCache<IStructureModifier<?>> cache;
 
-	private StructureModifier(Class<?> targetType, Class<T> objectType, Class<?> fieldType) {
+	private StructureModifier(Class<?> targetType, Class<T> objectType, Class<?> fieldType, Class<T> castType) {
 		super(targetType, objectType, fieldType);
+
+		this.castType = castType;
 	}
 
 	@Override
@@ -38,11 +43,19 @@ public class StructureModifier<T> extends AbstractStructureModifier<T> {
 
 		// Same fields, converter and cache
 		// Different target
-		StructureModifier<T> copy = new StructureModifier<>(getTargetType(), getType(), getFieldType());
-		copy.init(target, fields, converter, cache);
+		StructureModifier<T> copy = new StructureModifier<>(getTargetType(), getType(), getFieldType(), castType);
+		copy.init(target, table, converter, cache);
 		return copy;
 	}
 
+	@Override
+	public IStructureCursor<T> cursor() {
+		// Same target, fields, converter and cache
+		Cursor<T> cursor = new Cursor<>(getTargetType(), getType(), getFieldType(), castType);
+		cursor.init(getTarget(), table, converter, cache);
+		return cursor;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <U> IStructureModifier<U> withType(Class<U> type) {
@@ -56,11 +69,7 @@ public class StructureModifier<T> extends AbstractStructureModifier<T> {
 			return (IStructureModifier<U>) this;
 		}
 
-		return (IStructureModifier<U>) cache.computeIfAbsent(type, clazz -> {
-			StructureModifier<U> modifier = new StructureModifier<>(getTargetType(), type, type);
-			modifier.init();
-			return modifier;
-		}).withTarget(getTarget());
+		return (IStructureModifier<U>) cache.get(type).withTarget(getTarget());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -77,20 +86,53 @@ public class StructureModifier<T> extends AbstractStructureModifier<T> {
 		}
 
 		// Same target, fields and cache
-		// Different converter
-		StructureModifier<U> copy = new StructureModifier<>(getTargetType(), converter.getSpecificType(), getFieldType());
-		copy.init(getTarget(), fields, converter, cache);
+		// Different converter, identity conversions are the same as not converting at all
+		IConverter<U> fused = Converters.fuse(converter);
+		StructureModifier<U> copy = new StructureModifier<>(getTargetType(), converter.getSpecificType(), getFieldType(), getCastType(converter.getSpecificType()));
+		copy.init(getTarget(), table, Converters.isIdentity(fused) ? null : fused, cache);
 		return copy;
 	}
 
+	@Override
+	public Snapshot snapshot() {
+		return new Snapshot(table.getLayout()).capture(getTarget());
+	}
+
+	@Override
+	public Snapshot snapshot(Snapshot snapshot) {
+		// Preconditions
+		if (snapshot == null) {
+			throw new NullPointerException("Snapshot cannot be null");
+		}
+		if (!table.getLayout().isCompatible(snapshot.getLayout())) {
+			throw new IllegalArgumentException("Snapshot does not have the same fields");
+		}
+
+		return snapshot.capture(getTarget());
+	}
+
+	@Override
+	public IStructureModifier<T> apply(Delta delta) {
+		// Preconditions
+		if (delta == null) {
+			throw new NullPointerException("Delta cannot be null");
+		}
+		if (!table.getLayout().isCompatible(delta.getLayout())) {
+			throw new IllegalArgumentException("Delta does not have the same fields");
+		}
+
+		delta.apply(getTarget());
+		return this;
+	}
+
 	@Override
 	public int size() {
-		return fields.size();
+		return fields.length;
 	}
 
 	@Override
 	public T getSpecific(Object generic) {
-		return converter == null ? getType().cast(generic) : converter.getSpecific(generic);
+		return converter == null ? castType.cast(generic) : converter.getSpecific(generic);
 	}
 
 	@Override
@@ -99,49 +141,76 @@ public class StructureModifier<T> extends AbstractStructureModifier<T> {
 	}
 
 	@Override
-	protected IField getField(int index) {
+	public IField getField(int index) {
 		// Preconditions
-		if (index < 0 || index >= size()) {
-			throw new FieldAccessException("Field index out of range (fields: " + size() + ", index: " + index + ")");
+		if (index < 0 || index >= fields.length) {
+			throw new FieldAccessException("Field index out of range (fields: " + fields.length + ", index: " + index + ")");
 		}
 
-		IField field = fields.get(index);
-
-		// Access
-		if (!field.getField().isAccessible()) {
-			try {
-				field.getField().setAccessible(true);
-			} catch (SecurityException exception) {
-				// Nothing
-			}
-		}
+		return fields[index];
+	}
 
-		return field;
+	@Override
+	protected void copy(Object source, Object destination) {
+		table.getCopier().copy(source, destination);
 	}
 
 	/**
 	 * Initialize this modifier with default values.
 	 * Note that a structure modifier needs to be initialized once before use.
+	 * Fields are taken from the field index of the target type, so the class hierarchy is only scanned once.
+	 * All fields are resolved to direct accessors so reads and writes do not need any access checks.
 	 */
 	protected void init() {
-		init(null, Collections.unmodifiableList(ReflectionHelper.fromClassFuzzy(getTargetType()).getFields(Matchers.FieldMatcher.newBuilder().withType(Matchers.ClassMatcher.newBuilder().withSuperClass(getFieldType()).build()).build(), true)), null, new ConcurrentHashMap<>());
+		// Subtype modifiers are stored with their field type so they do not keep its class loader from being unloaded
+		Class<?> targetType = getTargetType();
+		init(null, FieldIndex.of(targetType).getTable(getFieldType()), null, new ClassCache<>(type -> create(targetType, type)));
 	}
 
 	/**
 	 * Initialize this modifier with given values.
 	 *
 	 * @param target Modifier target.
-	 * @param fields Modifier fields.
+	 * @param table Modifier fields.
 	 * @param converter Modifier converter.
 	 * @param cache Subtype cache.
 	 */
-	protected void init(Object target, List<IField> fields, IConverter<T> converter, Map<Class<?>, IStructureModifier<?>> cache) {
+	void init(Object target, FieldTable table, IConverter<T> converter, ClassCache<IStructureModifier<?>> cache) {
 		setTarget(target);
-		this.fields = fields;
+		this.table = table;
+		this.fields = table.getFields();
 		this.converter = converter;
 		this.cache = cache;
 	}
 
+	/**
+	 * Create an initialized subtype modifier.
+	 *
+	 * @param <U> Field type.
+	 * @param targetType Target type class.
+	 * @param type Field type class.
+	 * @return the created structure modifier.
+	 */
+	private static <U> StructureModifier<U> create(Class<?> targetType, Class<U> type) {
+		StructureModifier<U> modifier = new StructureModifier<>(targetType, type, type, getCastType(type));
+		modifier.init();
+		return modifier;
+	}
+
+	/**
+	 * Get the type values are cast to when they are not converted.
+	 * Primitive values are always boxed when read.
+	 *
+	 * @param <T> Object type.
+	 * @param type Object type class.
+	 * @return the cast type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Class<T> getCastType(Class<T> type) {
+		IPrimitive primitive = Primitives.getByType(type);
+		return primitive == null ? type : (Class<T>) primitive.getBoxedType();
+	}
+
 	/**
 	 * Get a structure modifier for a given class.
 	 *
@@ -155,10 +224,34 @@ public class StructureModifier<T> extends AbstractStructureModifier<T> {
 			throw new NullPointerException("Class cannot be null");
 		}
 
-		return (IStructureModifier<Object>) CACHE.computeIfAbsent(clazz, type -> {
-			StructureModifier<?> modifier = new StructureModifier<>(type, Object.class, Object.class);
-			modifier.init();
-			return modifier;
-		});
+		return (IStructureModifier<Object>) CACHE.get(clazz);
+	}
+
+	/**
+	 * A structure modifier that is rebound in place.
+	 *
+	 * @param <T> Modifier type.
+	 *
+	 * @author SteelPhoenix
+	 */
+	private static class Cursor<T> extends StructureModifier<T> implements IStructureCursor<T> {
+
+		private Cursor(Class<?> targetType, Class<T> objectType, Class<?> fieldType, Class<T> castType) {
+			super(targetType, objectType, fieldType, castType);
+		}
+
+		@Override
+		public IStructureCursor<T> bind(Object target) {
+			setTarget(target);
+			return this;
+		}
+
+		@Override
+		public IStructureModifier<T> withTarget(Object target) {
+			// We can be rebound later so we always return a regular copy
+			StructureModifier<T> copy = new StructureModifier<>(getTargetType(), getType(), getFieldType(), super.castType);
+			copy.init(target, super.table, super.converter, super.cache);
+			return copy;
+		}
 	}
 }
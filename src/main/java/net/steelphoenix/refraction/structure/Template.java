@@ -0,0 +1,421 @@
+package net.steelphoenix.refraction.structure;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import net.steelphoenix.refraction.generator.CollectionGenerator;
+import net.steelphoenix.refraction.generator.Generators;
+import net.steelphoenix.refraction.generator.IValueGenerator;
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+import net.steelphoenix.refraction.primitives.Primitives;
+
+/**
+ * A template to reset instances to or create instances from.
+ * All fields of the reference instance are copied with a single composed copy routine.
+ * With a depth above 0 arrays, collections, maps and other mutable objects are copied as well instead of shared, up to the given depth.
+ * The copies of these values are planned once when the template is created, including any nested templates.
+ * Objects of which the fields cannot all be accessed (for example most JDK classes) and sorted collections of unknown types are shared instead.
+ * Note that the reference instance should not be modified after the template is created.
+ *
+ * @param <T> Instance type.
+ *
+ * @author SteelPhoenix
+ */
+public final class Template<T> {
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+	private static final ClassValue<Optional<MethodHandle>> CONSTRUCTORS = new ClassValue<Optional<MethodHandle>>() {
+
+		@Override
+		protected Optional<MethodHandle> computeValue(Class<?> type) {
+			try {
+				return Optional.of(Handles.constructor(type.getDeclaredConstructor()).asType(CONSTRUCTOR_TYPE));
+			} catch (IllegalStateException | ReflectiveOperationException | SecurityException exception) {
+				// Abstract classes, interfaces and classes without a no-args constructor
+				return Optional.empty();
+			}
+		}
+	};
+	private static final ClassValue<Boolean> COPYABLE = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (IField field : FieldIndex.of(type).getTable(Object.class).getFields()) {
+				if (field.isStatic()) {
+					continue;
+				}
+
+				try {
+					Handles.getter(field.getField());
+					Handles.setter(field.getField());
+				} catch (IllegalStateException exception) {
+					// Nested templates could not copy this field
+					return Boolean.FALSE;
+				}
+			}
+			return Boolean.TRUE;
+		}
+	};
+	private final Class<T> type;
+	private final T reference;
+	private final int depth;
+	private final FieldTable table;
+	private final IField[] mutable;
+	private final Supplier<?>[] copies;
+
+	private Template(Class<T> type, T reference, int depth) {
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (reference == null) {
+			throw new NullPointerException("Reference cannot be null");
+		}
+		if (depth < 0) {
+			throw new IllegalArgumentException("Depth cannot be negative");
+		}
+
+		this.type = type;
+		this.reference = reference;
+		this.depth = depth;
+		this.table = FieldIndex.of(type).getTable(Object.class);
+		this.mutable = depth == 0 ? new IField[0] : getMutableFields(table.getFields(), reference);
+		this.copies = new Supplier<?>[mutable.length];
+		for (int i = 0; i < mutable.length; i++) {
+			copies[i] = plan(AbstractStructureModifier.read0(mutable[i], reference), depth);
+		}
+	}
+
+	/**
+	 * Get the instance type.
+	 *
+	 * @return the instance type.
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Get the reference instance.
+	 *
+	 * @return the reference instance.
+	 */
+	public T getReference() {
+		return reference;
+	}
+
+	/**
+	 * Get the copy depth.
+	 *
+	 * @return the copy depth, 0 if field values are shared.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Get a template with the same reference instance and the given copy depth.
+	 *
+	 * @param depth Copy depth, 0 to share field values.
+	 * @return the template.
+	 */
+	public Template<T> withDepth(int depth) {
+		return depth == this.depth ? this : new Template<>(type, reference, depth);
+	}
+
+	/**
+	 * Reset an instance to this template.
+	 * Static fields are ignored.
+	 *
+	 * @param target Instance to reset.
+	 * @return the instance.
+	 */
+	public T reset(T target) {
+		// Preconditions
+		if (target == null) {
+			throw new NullPointerException("Target cannot be null");
+		}
+		if (!type.isInstance(target)) {
+			throw new IllegalArgumentException("Target is not of type " + type.getName());
+		}
+
+		// Straight copy first, mutable values are replaced by copies afterwards
+		table.getCopier().copy(reference, target);
+		for (int i = 0; i < mutable.length; i++) {
+			AbstractStructureModifier.write0(mutable[i], target, copies[i].get());
+		}
+
+		return target;
+	}
+
+	/**
+	 * Create a new instance from this template.
+	 * The instance is created with the no-args constructor of the template type, which does not need to be accessible.
+	 *
+	 * @return the created instance.
+	 */
+	public T newInstance() {
+		return reset(type.cast(instantiate(type)));
+	}
+
+	/**
+	 * Create a template from a reference instance.
+	 * Field values are shared between the reference and all reset instances.
+	 *
+	 * @param <T> Instance type.
+	 * @param reference Reference instance.
+	 * @return the template.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Template<T> capture(T reference) {
+		// Preconditions
+		if (reference == null) {
+			throw new NullPointerException("Reference cannot be null");
+		}
+
+		return new Template<>((Class<T>) reference.getClass(), reference, 0);
+	}
+
+	/**
+	 * Create a template for a type.
+	 * The reference instance is created with the no-args constructor and its instance fields are filled using the default generator.
+	 * Static fields are left untouched.
+	 * As generated collections and maps would otherwise be shared the template has depth 1.
+	 *
+	 * @param <T> Instance type.
+	 * @param type Instance type class.
+	 * @return the template.
+	 *
+	 * @see Generators#getDefaultGenerator()
+	 */
+	public static <T> Template<T> of(Class<T> type) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+
+		T reference = type.cast(instantiate(type));
+		IValueGenerator generator = Generators.getDefaultGenerator();
+		for (IField field : FieldIndex.of(type).getTable(Object.class).getFields()) {
+			// Static fields are shared, writing them would reset live state or fail for constants
+			if (!field.isStatic()) {
+				AbstractStructureModifier.write0(field, reference, generator.generate(field.getField().getType()));
+			}
+		}
+
+		return new Template<>(type, reference, 1);
+	}
+
+	/**
+	 * Get all fields of which the reference value needs to be copied.
+	 *
+	 * @param fields All fields.
+	 * @param reference Reference instance.
+	 * @return the fields with mutable values.
+	 */
+	private static IField[] getMutableFields(IField[] fields, Object reference) {
+		return Arrays.stream(fields).filter(field -> !field.isStatic() && !field.getField().getType().isPrimitive() && !isImmutable(AbstractStructureModifier.read0(field, reference))).toArray(IField[]::new);
+	}
+
+	/**
+	 * Plan the copy of a value.
+	 * Nested templates and element plans are created once, every copy afterwards only runs the plan.
+	 *
+	 * @param value Value to copy.
+	 * @param depth Copy depth.
+	 * @return the copy plan, supplying the value itself if it cannot or should not be copied.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Supplier<?> plan(Object value, int depth) {
+		if (depth <= 0 || isImmutable(value)) {
+			return () -> value;
+		}
+
+		Class<?> type = value.getClass();
+
+		// Arrays
+		if (type.isArray()) {
+			int length = Array.getLength(value);
+			if (type.getComponentType().isPrimitive()) {
+				return () -> {
+					Object result = Array.newInstance(type.getComponentType(), length);
+					System.arraycopy(value, 0, result, 0, length);
+					return result;
+				};
+			}
+
+			Supplier<?>[] elements = plan((Object[]) value, depth - 1);
+			return () -> {
+				Object[] result = (Object[]) Array.newInstance(type.getComponentType(), length);
+				for (int i = 0; i < length; i++) {
+					result[i] = elements[i].get();
+				}
+				return result;
+			};
+		}
+
+		// Collections
+		if (value instanceof Collection) {
+			IntFunction<Object> factory = getFactory(value);
+			if (factory == null) {
+				return () -> value;
+			}
+
+			Supplier<?>[] elements = plan(((Collection<?>) value).toArray(), depth - 1);
+			return () -> {
+				Collection<Object> result = (Collection<Object>) factory.apply(elements.length);
+				for (Supplier<?> element : elements) {
+					result.add(element.get());
+				}
+				return result;
+			};
+		}
+
+		// Maps
+		if (value instanceof Map) {
+			IntFunction<Object> factory = getFactory(value);
+			if (factory == null) {
+				return () -> value;
+			}
+
+			Map<?, ?> source = (Map<?, ?>) value;
+			Supplier<?>[] keys = plan(source.keySet().toArray(), depth - 1);
+			Supplier<?>[] values = plan(source.values().toArray(), depth - 1);
+			return () -> {
+				Map<Object, Object> result = (Map<Object, Object>) factory.apply(keys.length);
+				for (int i = 0; i < keys.length; i++) {
+					result.put(keys[i].get(), values[i].get());
+				}
+				return result;
+			};
+		}
+
+		// Other objects are shared if we cannot create a new instance or copy its fields
+		if (!CONSTRUCTORS.get(type).isPresent() || !COPYABLE.get(type).booleanValue()) {
+			return () -> value;
+		}
+
+		return new Template<>((Class<Object>) type, value, depth - 1)::newInstance;
+	}
+
+	/**
+	 * Get the factory for empty copies of a collection or map.
+	 * Sorted collections and maps keep their comparator.
+	 *
+	 * @param value Collection or map.
+	 * @return the factory taking the expected size or null if the value should be shared.
+	 */
+	@SuppressWarnings("unchecked")
+	private static IntFunction<Object> getFactory(Object value) {
+		Class<?> type = value.getClass();
+		Comparator<Object> comparator = (Comparator<Object>) getComparator(value);
+		if (comparator == null) {
+			CollectionGenerator generator = Generators.getSizedCollectionGenerator();
+			return generator.canGenerate(type) ? size -> generator.generate(type, size) : null;
+		}
+
+		if (type == TreeMap.class) {
+			return size -> new TreeMap<>(comparator);
+		}
+		if (type == TreeSet.class) {
+			return size -> new TreeSet<>(comparator);
+		}
+		if (type == ConcurrentSkipListMap.class) {
+			return size -> new ConcurrentSkipListMap<>(comparator);
+		}
+		if (type == ConcurrentSkipListSet.class) {
+			return size -> new ConcurrentSkipListSet<>(comparator);
+		}
+		if (type == PriorityQueue.class) {
+			return size -> new PriorityQueue<>(Math.max(size, 1), comparator);
+		}
+		if (type == PriorityBlockingQueue.class) {
+			return size -> new PriorityBlockingQueue<>(Math.max(size, 1), comparator);
+		}
+
+		// We do not know how to keep the order of other types
+		return null;
+	}
+
+	/**
+	 * Get the comparator of a sorted collection or map.
+	 *
+	 * @param value Collection or map.
+	 * @return the comparator or null if the value is not sorted or uses natural ordering.
+	 */
+	private static Comparator<?> getComparator(Object value) {
+		if (value instanceof SortedMap) {
+			return ((SortedMap<?, ?>) value).comparator();
+		}
+		if (value instanceof SortedSet) {
+			return ((SortedSet<?>) value).comparator();
+		}
+		if (value instanceof PriorityQueue) {
+			return ((PriorityQueue<?>) value).comparator();
+		}
+		if (value instanceof PriorityBlockingQueue) {
+			return ((PriorityBlockingQueue<?>) value).comparator();
+		}
+		return null;
+	}
+
+	/**
+	 * Plan the copies of multiple values.
+	 *
+	 * @param values Values to copy.
+	 * @param depth Copy depth.
+	 * @return the copy plans in the same order.
+	 */
+	private static Supplier<?>[] plan(Object[] values, int depth) {
+		Supplier<?>[] result = new Supplier<?>[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = plan(values[i], depth);
+		}
+		return result;
+	}
+
+	/**
+	 * Get if a value can be shared without copying.
+	 *
+	 * @param value Value.
+	 * @return if the value is immutable.
+	 */
+	private static boolean isImmutable(Object value) {
+		return value == null || value instanceof String || value instanceof Enum || value instanceof Class || Primitives.getByType(value.getClass()) != null;
+	}
+
+	/**
+	 * Create a new instance of a type.
+	 *
+	 * @param type Type.
+	 * @return the created instance.
+	 */
+	private static Object instantiate(Class<?> type) {
+		MethodHandle constructor = CONSTRUCTORS.get(type).orElseThrow(() -> new IllegalStateException("Cannot instantiate " + type.getName()));
+
+		try {
+			return (Object) constructor.invokeExact();
+		} catch (RuntimeException | Error exception) {
+			throw exception;
+		} catch (Throwable throwable) {
+			// Constructor threw a checked exception
+			throw new RuntimeException("An internal error occured", throwable);
+		}
+	}
+}
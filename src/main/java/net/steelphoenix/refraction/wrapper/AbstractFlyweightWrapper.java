@@ -0,0 +1,56 @@
+package net.steelphoenix.refraction.wrapper;
+
+/**
+ * A base class for rebindable wrappers.
+ * A single instance can wrap any number of handles one after another, so processing many handles does not allocate a wrapper for each.
+ * Flyweight wrappers are meant to be confined to a single thread and should not be stored, use a {@link WrapperCache} for identity semantics instead.
+ *
+ * @author SteelPhoenix
+ */
+public abstract class AbstractFlyweightWrapper extends AbstractWrapper {
+
+	protected AbstractFlyweightWrapper(Class<?> type) {
+		super(type);
+	}
+
+	/**
+	 * Bind this wrapper to an instance, replacing the current handle.
+	 *
+	 * @param handle New handle.
+	 * @return this for chaining.
+	 */
+	public AbstractFlyweightWrapper bind(Object handle) {
+		// Preconditions
+		if (handle == null) {
+			throw new NullPointerException("Handle cannot be null");
+		}
+
+		replaceHandle(handle);
+		return this;
+	}
+
+	/**
+	 * Release the current handle.
+	 *
+	 * @return this for chaining.
+	 */
+	public AbstractFlyweightWrapper unbind() {
+		replaceHandle(null);
+		return this;
+	}
+
+	/**
+	 * Get if this wrapper is bound to an instance.
+	 *
+	 * @return if a handle is set.
+	 */
+	public boolean isBound() {
+		return hasHandle();
+	}
+
+	@Override
+	protected void setHandle(Object handle) {
+		// Flyweights can always be rebound
+		bind(handle);
+	}
+}
@@ -7,10 +7,11 @@ import java.util.Objects;
  *
  * @author SteelPhoenix
  */
-public abstract class AbstractWrapper {
+public abstract class AbstractWrapper implements IWrapper {
 
 	private final Class<?> type;
 	private Object handle;
+	private Class<?> accepted;
 
 	protected AbstractWrapper(Class<?> type) {
 		if (type == null) {
@@ -26,20 +27,12 @@ public abstract class AbstractWrapper {
 		setHandle(handle);
 	}
 
-	/**
-	 * Get the wrapped type.
-	 *
-	 * @return the type.
-	 */
+	@Override
 	public Class<?> getHandleType() {
 		return type;
 	}
 
-	/**
-	 * Get the wrapped instance.
-	 *
-	 * @return the handle.
-	 */
+	@Override
 	public Object getHandle() {
 		// Preconditions
 		if (handle == null) {
@@ -63,11 +56,46 @@ public abstract class AbstractWrapper {
 		if (handle == null) {
 			throw new NullPointerException("Handle cannot be null");
 		}
-		if (!type.isAssignableFrom(handle.getClass())) {
+
+		this.handle = check(handle);
+	}
+
+	/**
+	 * Get if the wrapped instance is set.
+	 *
+	 * @return if a handle is set.
+	 */
+	boolean hasHandle() {
+		return handle != null;
+	}
+
+	/**
+	 * Replace the wrapped instance.
+	 *
+	 * @param handle New handle or null to clear it.
+	 */
+	void replaceHandle(Object handle) {
+		this.handle = handle == null ? null : check(handle);
+	}
+
+	/**
+	 * Check if an instance can be wrapped.
+	 * The last accepted class is remembered so the hierarchy is only checked when the concrete class changes.
+	 *
+	 * @param handle Handle.
+	 * @return the handle.
+	 */
+	private Object check(Object handle) {
+		Class<?> clazz = handle.getClass();
+		if (clazz == accepted) {
+			return handle;
+		}
+		if (!type.isAssignableFrom(clazz)) {
 			throw new UnwrappableTypeException(handle + " is not of type " + type);
 		}
 
-		this.handle = handle;
+		accepted = clazz;
+		return handle;
 	}
 
 	@Override
@@ -0,0 +1,23 @@
+package net.steelphoenix.refraction.wrapper;
+
+/**
+ * Represents a wrapper.
+ *
+ * @author SteelPhoenix
+ */
+public interface IWrapper {
+
+	/**
+	 * Get the wrapped type.
+	 *
+	 * @return the type.
+	 */
+	public Class<?> getHandleType();
+
+	/**
+	 * Get the wrapped instance.
+	 *
+	 * @return the handle.
+	 */
+	public Object getHandle();
+}
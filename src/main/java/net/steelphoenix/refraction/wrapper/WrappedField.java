@@ -0,0 +1,36 @@
+package net.steelphoenix.refraction.wrapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a wrapper interface method as a field accessor.
+ * Methods without parameters read the field, methods with a single parameter and no return value write it.
+ * The field is either selected by name or by index among all fields of the accessor type, as a structure modifier would.
+ *
+ * @author SteelPhoenix
+ *
+ * @see WrapperFactory
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface WrappedField {
+
+	/**
+	 * Get the field name.
+	 *
+	 * @return the field name or an empty string to select the field by index.
+	 */
+	public String value() default "";
+
+	/**
+	 * Get the field index.
+	 *
+	 * @return the index among all fields of the accessor type or -1 to select the field by name.
+	 */
+	public int index() default -1;
+}
@@ -0,0 +1,35 @@
+package net.steelphoenix.refraction.wrapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a wrapper interface method as a method invoker.
+ * Arguments and return values are converted to the types of the wrapped method.
+ *
+ * @author SteelPhoenix
+ *
+ * @see WrapperFactory
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface WrappedMethod {
+
+	/**
+	 * Get the method name.
+	 *
+	 * @return the method name or an empty string to use the name of the interface method.
+	 */
+	public String value() default "";
+
+	/**
+	 * Get the method parameter types.
+	 *
+	 * @return the parameter types or an empty array to use the parameter types of the interface method.
+	 */
+	public Class<?>[] parameters() default {};
+}
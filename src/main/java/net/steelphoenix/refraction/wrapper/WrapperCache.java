@@ -0,0 +1,137 @@
+package net.steelphoenix.refraction.wrapper;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A cache returning the same wrapper for the same handle.
+ * Handles are compared by identity. Wrappers are weakly referenced, an entry is dropped once its wrapper is no longer used.
+ * As long as a wrapper is reachable any lookup of its handle returns that wrapper.
+ * This class is thread safe.
+ *
+ * @param <W> Wrapper type.
+ *
+ * @author SteelPhoenix
+ */
+public class WrapperCache<W> {
+
+	private final Function<Object, ? extends W> factory;
+	private final Map<Identity, Entry<W>> entries = new ConcurrentHashMap<>();
+	private final ReferenceQueue<W> queue = new ReferenceQueue<>();
+
+	public WrapperCache(Function<Object, ? extends W> factory) {
+		if (factory == null) {
+			throw new NullPointerException("Factory cannot be null");
+		}
+
+		this.factory = factory;
+	}
+
+	/**
+	 * Get the wrapper of a handle, creating it if there is none.
+	 *
+	 * @param handle Handle.
+	 * @return the wrapper.
+	 */
+	public W get(Object handle) {
+		// Preconditions
+		if (handle == null) {
+			throw new NullPointerException("Handle cannot be null");
+		}
+
+		expunge();
+
+		Identity key = new Identity(handle);
+		while (true) {
+			Entry<W> entry = entries.get(key);
+			W wrapper = entry == null ? null : entry.get();
+			if (wrapper != null) {
+				return wrapper;
+			}
+
+			W created = factory.apply(handle);
+			if (created == null) {
+				throw new NullPointerException("Wrapper cannot be null");
+			}
+
+			// Someone else may have been faster
+			Entry<W> replacement = new Entry<>(created, key, queue);
+			if (entry == null ? entries.putIfAbsent(key, replacement) == null : entries.replace(key, entry, replacement)) {
+				return created;
+			}
+		}
+	}
+
+	/**
+	 * Get the amount of cached wrappers.
+	 * Note that this may include wrappers that are no longer used.
+	 *
+	 * @return the cache size.
+	 */
+	public int size() {
+		expunge();
+		return entries.size();
+	}
+
+	/**
+	 * Remove all cached wrappers.
+	 */
+	public void clear() {
+		entries.clear();
+		expunge();
+	}
+
+	/**
+	 * Remove all entries of which the wrapper was collected.
+	 */
+	private void expunge() {
+		Reference<? extends W> reference;
+		while ((reference = queue.poll()) != null) {
+			Entry<?> entry = (Entry<?>) reference;
+			entries.remove(entry.key, entry);
+		}
+	}
+
+	/**
+	 * A weakly referenced wrapper.
+	 * The key references the handle strongly, which is fine as the wrapper references the handle as well.
+	 *
+	 * @param <W> Wrapper type.
+	 */
+	private static class Entry<W> extends WeakReference<W> {
+
+		private final Identity key;
+
+		private Entry(W wrapper, Identity key, ReferenceQueue<W> queue) {
+			super(wrapper, queue);
+
+			this.key = key;
+		}
+	}
+
+	/**
+	 * An identity based key.
+	 */
+	private static class Identity {
+
+		private final Object object;
+
+		private Identity(Object object) {
+			this.object = object;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(object);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof Identity && ((Identity) object).object == this.object;
+		}
+	}
+}
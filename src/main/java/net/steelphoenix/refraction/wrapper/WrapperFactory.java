@@ -0,0 +1,363 @@
+package net.steelphoenix.refraction.wrapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import net.steelphoenix.refraction.ClassCache;
+import net.steelphoenix.refraction.member.Handles;
+import net.steelphoenix.refraction.member.IField;
+import net.steelphoenix.refraction.primitives.IPrimitive;
+import net.steelphoenix.refraction.primitives.Primitives;
+import net.steelphoenix.refraction.reflection.ReflectionHelper;
+
+/**
+ * A factory for wrappers declared as interfaces.
+ * Every abstract method of the interface is annotated with {@link WrappedField} or {@link WrappedMethod}, or is declared by {@link IWrapper}.
+ * Default methods without annotation run their own body on the wrapper, static methods are ignored.
+ * All members are resolved once when the factory is created, so wrappers never look members up by name.
+ * Wrappers are {@link Proxy} instances, every call still looks up the handle of the interface method, spreads an argument array and boxes primitives.
+ * This makes wrapper calls about as fast as reflection, hot paths should bind the wrapped member with {@link IField#bindTo(Class)} or {@link net.steelphoenix.refraction.member.IMethod#bindTo(Class)} instead.
+ *
+ * @param <W> Wrapper type.
+ *
+ * @author SteelPhoenix
+ */
+public final class WrapperFactory<W> {
+
+	private static final ClassCache<Map<Class<?>, WrapperFactory<?>>> CACHE = new ClassCache<>(type -> new ConcurrentHashMap<>());
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	private static final MethodHandle INVOKE_DEFAULT = getInvokeDefault();
+	private static final Method GET_HANDLE;
+	private static final Method GET_HANDLE_TYPE;
+	private static final Method HASH_CODE;
+	private static final Method EQUALS;
+	private static final Method TO_STRING;
+	private final Class<W> type;
+	private final Class<?> handleType;
+	private final Map<Method, MethodHandle> invokers;
+	private final Map<Method, MethodHandle> defaults;
+
+	static {
+		try {
+			GET_HANDLE = IWrapper.class.getMethod("getHandle");
+			GET_HANDLE_TYPE = IWrapper.class.getMethod("getHandleType");
+			HASH_CODE = Object.class.getMethod("hashCode");
+			EQUALS = Object.class.getMethod("equals", Object.class);
+			TO_STRING = Object.class.getMethod("toString");
+		} catch (NoSuchMethodException exception) {
+			throw new ExceptionInInitializerError(exception);
+		}
+	}
+
+	private WrapperFactory(Class<W> type, Class<?> handleType) {
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (handleType == null) {
+			throw new NullPointerException("Handle type cannot be null");
+		}
+		if (!type.isInterface()) {
+			throw new IllegalArgumentException("Type is not an interface");
+		}
+
+		// Resolve everything now so wrappers never look anything up
+		Map<Method, MethodHandle> invokers = new HashMap<>();
+		Map<Method, MethodHandle> defaults = new HashMap<>();
+		for (Method method : type.getMethods()) {
+			if (method.getDeclaringClass() == IWrapper.class || Modifier.isStatic(method.getModifiers())) {
+				continue;
+			}
+
+			// Helpers implemented by the interface itself
+			if (method.isDefault() && !method.isAnnotationPresent(WrappedField.class) && !method.isAnnotationPresent(WrappedMethod.class)) {
+				defaults.put(method, resolveDefault(method));
+				continue;
+			}
+
+			invokers.put(method, resolve(method, handleType));
+		}
+
+		this.type = type;
+		this.handleType = handleType;
+		this.invokers = invokers;
+		this.defaults = defaults;
+	}
+
+	/**
+	 * Get the wrapper type.
+	 *
+	 * @return the wrapper type.
+	 */
+	public Class<W> getType() {
+		return type;
+	}
+
+	/**
+	 * Get the wrapped type.
+	 *
+	 * @return the wrapped type.
+	 */
+	public Class<?> getHandleType() {
+		return handleType;
+	}
+
+	/**
+	 * Wrap an instance.
+	 *
+	 * @param handle Instance to wrap.
+	 * @return the wrapper.
+	 * @throws UnwrappableTypeException If the instance is not of the wrapped type.
+	 */
+	public W wrap(Object handle) {
+		// Preconditions
+		if (handle == null) {
+			throw new NullPointerException("Handle cannot be null");
+		}
+		if (!handleType.isInstance(handle)) {
+			throw new UnwrappableTypeException(handle + " is not of type " + handleType);
+		}
+
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new Handler(handle)));
+	}
+
+	@Override
+	public String toString() {
+		return "WrapperFactory[type=" + type.getName() + ",handleType=" + handleType.getName() + "]";
+	}
+
+	/**
+	 * Get the wrapper factory for an interface.
+	 *
+	 * @param <W> Wrapper type.
+	 * @param type Wrapper interface.
+	 * @param handleType Wrapped type.
+	 * @return the wrapper factory.
+	 * @throws IllegalArgumentException If the interface has a method that cannot be resolved.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <W> WrapperFactory<W> of(Class<W> type, Class<?> handleType) {
+		// Preconditions
+		if (type == null) {
+			throw new NullPointerException("Type cannot be null");
+		}
+		if (handleType == null) {
+			throw new NullPointerException("Handle type cannot be null");
+		}
+
+		// Wrapper interfaces usually live in the same or a child class loader of the wrapped type
+		return (WrapperFactory<W>) CACHE.get(type).computeIfAbsent(handleType, key -> new WrapperFactory<>(type, handleType));
+	}
+
+	/**
+	 * Resolve the invoker for an interface method.
+	 *
+	 * @param method Interface method.
+	 * @param handleType Wrapped type.
+	 * @return an invoker of type (Object, Object[])Object.
+	 */
+	private static MethodHandle resolve(Method method, Class<?> handleType) {
+		// Object methods are handled by the wrapper itself
+		if (method.equals(HASH_CODE) || method.equals(EQUALS) || method.equals(TO_STRING)) {
+			return null;
+		}
+
+		WrappedField field = method.getAnnotation(WrappedField.class);
+		WrappedMethod target = method.getAnnotation(WrappedMethod.class);
+		if (field != null && target != null) {
+			throw new IllegalArgumentException("Method " + method + " cannot wrap both a field and a method");
+		}
+
+		MethodHandle handle;
+		if (field != null) {
+			handle = resolveField(method, field, handleType);
+		}
+		else if (target != null) {
+			handle = resolveMethod(method, target, handleType);
+		}
+		else {
+			throw new IllegalArgumentException("Method " + method + " is not wrapped");
+		}
+
+		// Adapt to the signature of the interface method first, then spread into a single shape
+		MethodType type = MethodType.methodType(method.getReturnType(), Object.class, method.getParameterTypes());
+		try {
+			handle = handle.asType(type);
+		} catch (IllegalArgumentException | ClassCastException exception) {
+			throw new IllegalArgumentException("Method " + method + " does not match " + handle.type(), exception);
+		}
+
+		return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+	}
+
+	/**
+	 * Resolve the invoker for a default method, running its own body.
+	 *
+	 * @param method Default method.
+	 * @return an invoker of type (Object, Object[])Object taking the wrapper itself.
+	 */
+	private static MethodHandle resolveDefault(Method method) {
+		// Proxies can invoke default methods themselves since Java 16
+		if (INVOKE_DEFAULT != null) {
+			return MethodHandles.insertArguments(INVOKE_DEFAULT, 1, method);
+		}
+
+		Class<?> type = method.getDeclaringClass();
+		MethodHandle handle;
+		try {
+			handle = Handles.privateLookup(type).unreflectSpecial(method, type);
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			throw new IllegalArgumentException("Cannot invoke default method " + method, exception);
+		}
+
+		return handle.asType(MethodType.genericMethodType(method.getParameterCount() + 1)).asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+	}
+
+	/**
+	 * Get {@code InvocationHandler.invokeDefault} if it is available.
+	 *
+	 * @return the handle of type (Object, Method, Object[])Object or null if this runtime does not have it.
+	 */
+	private static MethodHandle getInvokeDefault() {
+		try {
+			return MethodHandles.publicLookup().findStatic(InvocationHandler.class, "invokeDefault", MethodType.methodType(Object.class, Object.class, Method.class, Object[].class)).asFixedArity();
+		} catch (ReflectiveOperationException exception) {
+			// Java 15 and older
+			return null;
+		}
+	}
+
+	/**
+	 * Resolve a field accessor.
+	 *
+	 * @param method Interface method.
+	 * @param annotation Field annotation.
+	 * @param handleType Wrapped type.
+	 * @return the getter or setter.
+	 */
+	private static MethodHandle resolveField(Method method, WrappedField annotation, Class<?> handleType) {
+		boolean getter = method.getParameterCount() == 0 && method.getReturnType() != void.class;
+		boolean setter = method.getParameterCount() == 1 && method.getReturnType() == void.class;
+		if (!getter && !setter) {
+			throw new IllegalArgumentException("Method " + method + " is not a getter or setter");
+		}
+
+		Field field;
+		if (annotation.value().isEmpty()) {
+			Class<?> type = getter ? method.getReturnType() : method.getParameterTypes()[0];
+			List<Field> fields = ReflectionHelper.fromClassFuzzy(handleType, true).getFields(null, true).stream().map(IField::getField).filter(candidate -> matches(type, candidate.getType())).collect(Collectors.toList());
+			if (annotation.index() < 0 || annotation.index() >= fields.size()) {
+				throw new IllegalArgumentException("Method " + method + " has no field name or a field index that is out of bounds");
+			}
+			field = fields.get(annotation.index());
+		}
+		else {
+			if (annotation.index() != -1) {
+				throw new IllegalArgumentException("Method " + method + " has both a field name and index");
+			}
+			field = ReflectionHelper.fromClassExact(handleType, true).getField(annotation.value()).getField();
+		}
+
+		return getter ? Handles.getter(field) : Handles.setter(field);
+	}
+
+	/**
+	 * Resolve a method invoker.
+	 *
+	 * @param method Interface method.
+	 * @param annotation Method annotation.
+	 * @param handleType Wrapped type.
+	 * @return the method handle.
+	 */
+	private static MethodHandle resolveMethod(Method method, WrappedMethod annotation, Class<?> handleType) {
+		String name = annotation.value().isEmpty() ? method.getName() : annotation.value();
+		Class<?>[] params = annotation.parameters().length == 0 ? method.getParameterTypes() : annotation.parameters();
+		if (params.length != method.getParameterCount()) {
+			throw new IllegalArgumentException("Method " + method + " does not match parameters " + Arrays.toString(params));
+		}
+
+		return Handles.method(ReflectionHelper.fromClassExact(handleType, true).getMethod(name, params).getMethod());
+	}
+
+	/**
+	 * Get if a field matches an accessor type.
+	 * Primitives match their own type and all supertypes of their boxed type.
+	 *
+	 * @param type Accessor type.
+	 * @param fieldType Field type.
+	 * @return if the field matches.
+	 */
+	private static boolean matches(Class<?> type, Class<?> fieldType) {
+		if (type == fieldType) {
+			return true;
+		}
+
+		IPrimitive primitive = Primitives.getByType(fieldType);
+		if (primitive != null && fieldType.isPrimitive()) {
+			fieldType = primitive.getBoxedType();
+		}
+		return type.isAssignableFrom(fieldType);
+	}
+
+	/**
+	 * The invocation handler of a wrapper.
+	 */
+	private class Handler implements InvocationHandler {
+
+		private final Object handle;
+
+		private Handler(Object handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			MethodHandle invoker = invokers.get(method);
+			if (invoker != null) {
+				return (Object) invoker.invokeExact(handle, args);
+			}
+			invoker = defaults.get(method);
+			if (invoker != null) {
+				return (Object) invoker.invokeExact(proxy, args);
+			}
+
+			// Wrapper methods
+			if (method.equals(GET_HANDLE)) {
+				return handle;
+			}
+			if (method.equals(GET_HANDLE_TYPE)) {
+				return handleType;
+			}
+			if (method.equals(HASH_CODE)) {
+				return Integer.valueOf(handle.hashCode());
+			}
+			if (method.equals(EQUALS)) {
+				Object object = args[0];
+				if (object == null || !Proxy.isProxyClass(object.getClass())) {
+					return Boolean.FALSE;
+				}
+
+				InvocationHandler handler = Proxy.getInvocationHandler(object);
+				return Boolean.valueOf(handler instanceof WrapperFactory.Handler && Objects.equals(handle, ((WrapperFactory<?>.Handler) handler).handle));
+			}
+			if (method.equals(TO_STRING)) {
+				return type.getName() + "[handle=" + handle + "]";
+			}
+
+			// Cannot happen, every instance method of the interface is resolved
+			throw new IllegalStateException("Unknown method " + method);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package net.steelphoenix.refraction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class MemoryEstimatorTest {
+
+	@Test
+	void countsStringContents() {
+		String string = String.join("", Collections.nCopies(10_000, "a"));
+
+		// At least one byte per character on any VM
+		assertTrue(MemoryEstimator.getRetainedSize(string) >= 10_000L);
+	}
+
+	@Test
+	void countsMapTablesAndNodes() {
+		Map<String, String> map = new HashMap<>();
+		for (int i = 0; i < 500; i++) {
+			map.put("key" + i, "value" + i);
+		}
+
+		// Every entry has a node and two strings with their own backing arrays
+		long entry = MemoryEstimator.getHeaderSize() * 5L + MemoryEstimator.getReferenceSize() * 5L;
+		assertTrue(MemoryEstimator.getRetainedSize(map) >= map.size() * entry);
+	}
+
+	@Test
+	void countsListBackingArrays() {
+		List<Object> list = new ArrayList<>(Collections.nCopies(1000, "shared"));
+
+		assertTrue(MemoryEstimator.getRetainedSize(list) >= 1000L * MemoryEstimator.getReferenceSize());
+	}
+}
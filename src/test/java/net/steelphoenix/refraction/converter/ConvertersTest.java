@@ -0,0 +1,87 @@
+package net.steelphoenix.refraction.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConvertersTest {
+
+	private static final IConverter<Integer> PARSER = Converters.of(generic -> Integer.valueOf((String) generic), String::valueOf, Integer.class);
+	private static final IConverter<Integer> DOUBLER = Converters.of(generic -> (Integer) generic * 2, specific -> specific / 2, Integer.class);
+
+	@Test
+	void fusedChainsConvertLikeTheSourceChain() {
+		IConverter<Integer> chain = Converters.chain(Converters.identity(Object.class), Converters.chain(PARSER, DOUBLER));
+
+		assertEquals(42, chain.getSpecific("21"));
+		assertEquals("21", chain.getGeneric(42));
+
+		// Outer wrappers are applied once for the whole chain
+		IConverter<Integer> fused = Converters.fuse(Converters.convertSafe(Converters.convertNull(Converters.convertSafe(chain))));
+		assertNull(fused.getSpecific(null));
+		assertEquals(42, fused.getSpecific("21"));
+		assertThrows(InconvertibleTypeException.class, () -> fused.getSpecific("not a number"));
+	}
+
+	@Test
+	void fusingAnIdentityKeepsTheIdentity() {
+		IConverter<String> identity = Converters.identity(String.class);
+
+		assertSame(identity, Converters.fuse(identity));
+		assertTrue(Converters.isIdentity(Converters.fuse(identity)));
+		assertThrows(ClassCastException.class, () -> Converters.fuse(identity).getSpecific(1));
+	}
+
+	@Test
+	void listViewsAreLiveAndUnwrapWithoutCopying() {
+		IConverter<List<Integer>> converter = Converters.viewList(PARSER, true);
+		List<Object> backing = new ArrayList<>(Arrays.asList("1", "2"));
+		List<Integer> view = converter.getSpecific(backing);
+
+		assertEquals(Arrays.asList(1, 2), view);
+		view.set(0, 5);
+		backing.add("7");
+		assertEquals("5", backing.get(0));
+		assertEquals(Arrays.asList(5, 2, 7), view);
+		assertSame(backing, converter.getGeneric(view));
+
+		// Foreign lists are still copied
+		assertEquals(Arrays.asList("3"), converter.getGeneric(new ArrayList<>(Arrays.asList(3))));
+	}
+
+	@Test
+	void readOnlyViewsRejectWrites() {
+		List<Integer> list = Converters.viewList(PARSER, false).getSpecific(new ArrayList<>(Arrays.asList("1")));
+		List<Integer> array = Converters.viewArray(PARSER, false).getSpecific(new Object[] { "1" });
+		Map<Integer, Integer> map = Converters.viewMap(PARSER, PARSER, false).getSpecific(new HashMap<>());
+
+		assertThrows(UnsupportedOperationException.class, () -> list.set(0, 2));
+		assertThrows(UnsupportedOperationException.class, () -> array.set(0, 2));
+		assertThrows(UnsupportedOperationException.class, () -> map.put(1, 2));
+	}
+
+	@Test
+	void arrayAndMapViewsWriteThrough() {
+		Object[] backingArray = { "1", "2" };
+		List<Integer> array = Converters.viewArray(PARSER, true).getSpecific(backingArray);
+		Map<Object, Object> backingMap = new HashMap<>();
+		Map<Integer, Integer> map = Converters.viewMap(PARSER, PARSER, true).getSpecific(backingMap);
+
+		array.set(1, 9);
+		map.put(1, 2);
+		assertEquals("9", backingArray[1]);
+		assertEquals("2", backingMap.get("1"));
+		assertEquals(2, map.get(1));
+		assertThrows(UnsupportedOperationException.class, () -> array.add(3));
+	}
+}
@@ -0,0 +1,95 @@
+package net.steelphoenix.refraction.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class GeneratorsTest {
+
+	@Test
+	void generatesDefaults() {
+		IValueGenerator generator = Generators.getDefaultGenerator();
+
+		assertEquals(0, generator.generate(int.class));
+		assertEquals(false, generator.generate(boolean.class));
+		assertEquals(0L, generator.generate(Long.class));
+		assertNull(generator.generate(String.class));
+		assertEquals(0, ((int[]) generator.generate(int[].class)).length);
+		assertTrue(generator.generate(List.class) instanceof ArrayList);
+		assertTrue(generator.generate(Map.class) instanceof HashMap);
+		assertNotSame(generator.generate(List.class), generator.generate(List.class));
+	}
+
+	@Test
+	void generatesConstantsOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		IValueGenerator constant = new IValueGenerator() {
+
+			@Override
+			public Object generate(Class<?> type) {
+				return calls.incrementAndGet();
+			}
+
+			@Override
+			public boolean canGenerate(Class<?> type) {
+				return true;
+			}
+
+			@Override
+			public boolean isConstant(Class<?> type) {
+				return true;
+			}
+		};
+		IValueGenerator generator = Generators.of(constant);
+
+		assertEquals(1, generator.generate(Object.class));
+		assertEquals(1, generator.generate(Object.class));
+		assertTrue(generator.isConstant(Object.class));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void fallsBackWhenPlannedGeneratorFails() {
+		AtomicInteger calls = new AtomicInteger();
+		IValueGenerator flaky = new IValueGenerator() {
+
+			@Override
+			public Object generate(Class<?> type) {
+				if (calls.incrementAndGet() % 2 == 0) {
+					throw new UngeneratableTypeException("Not this time");
+				}
+				return "flaky";
+			}
+
+			@Override
+			public boolean canGenerate(Class<?> type) {
+				return true;
+			}
+		};
+		IValueGenerator generator = Generators.of(null, flaky, type -> "fallback");
+
+		assertEquals("flaky", generator.generate(Object.class));
+		assertEquals("fallback", generator.generate(Object.class));
+		assertEquals("flaky", generator.generate(Object.class));
+	}
+
+	@Test
+	void rejectsUngeneratableTypes() {
+		IValueGenerator generator = Generators.of(Generators.getPrimitiveGenerator());
+
+		assertFalse(generator.canGenerate(Object.class));
+		assertThrows(UngeneratableTypeException.class, () -> generator.generate(Object.class));
+		assertEquals(0, generator.generate(int.class));
+	}
+}
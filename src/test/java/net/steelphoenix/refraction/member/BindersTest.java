@@ -0,0 +1,162 @@
+package net.steelphoenix.refraction.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.function.IntUnaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+
+class BindersTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void bindsMethodsToPrimitiveInterfaces() throws ReflectiveOperationException {
+		ToIntFunction<String> length = Members.wrap(String.class.getMethod("length")).bindTo(ToIntFunction.class);
+		IntBinaryOperator max = Members.wrap(Math.class.getMethod("max", int.class, int.class)).bindTo(IntBinaryOperator.class);
+		ToLongFunction<Holder> widened = Members.wrap(Holder.class.getDeclaredMethod("twice")).bindTo(ToLongFunction.class);
+
+		assertEquals(5, length.applyAsInt("hello"));
+		assertEquals(7, max.applyAsInt(3, 7));
+		assertEquals(84L, widened.applyAsLong(new Holder()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void bindsFieldsAndConstructors() throws ReflectiveOperationException {
+		IField field = Members.wrap(Holder.class.getDeclaredField("value"));
+		ToIntFunction<Holder> getter = field.bindTo(ToIntFunction.class);
+		ObjIntConsumer<Holder> setter = field.bindTo(ObjIntConsumer.class);
+		IntSupplier constant = Members.wrap(Holder.class.getDeclaredField("CONSTANT")).bindTo(IntSupplier.class);
+		Supplier<Holder> constructor = Members.wrap(Holder.class.getDeclaredConstructor()).bindTo(Supplier.class);
+
+		Holder holder = constructor.get();
+		setter.accept(holder, 11);
+		assertEquals(11, getter.applyAsInt(holder));
+		assertEquals(3, constant.getAsInt());
+		assertThrows(UnsupportedOperationException.class, () -> field.asReadOnly().bindTo(ObjIntConsumer.class));
+	}
+
+	@Test
+	void rejectsMismatchedInterfaces() throws ReflectiveOperationException {
+		IMethod method = Members.wrap(String.class.getMethod("length"));
+
+		assertThrows(IllegalArgumentException.class, () -> method.bindTo(IntBinaryOperator.class));
+		assertThrows(IllegalArgumentException.class, () -> method.bindTo(Object.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void reusesCallSites() throws ReflectiveOperationException {
+		IMethod method = Members.wrap(String.class.getMethod("length"));
+		ToIntFunction<String> first = method.bindTo(ToIntFunction.class);
+
+		ClassLoadingMXBean bean = ManagementFactory.getClassLoadingMXBean();
+		long loaded = bean.getTotalLoadedClassCount();
+		for (int i = 0; i < 2000; i++) {
+			assertSame(first, method.bindTo(ToIntFunction.class));
+		}
+		assertTrue(bean.getTotalLoadedClassCount() - loaded < 100);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void bindsPrivateMembersWithoutProxies() throws ReflectiveOperationException {
+		ToIntFunction<Holder> field = Members.wrap(Holder.class.getDeclaredField("secret")).bindTo(ToIntFunction.class);
+		ToIntFunction<Holder> method = Members.wrap(Holder.class.getDeclaredMethod("secret")).bindTo(ToIntFunction.class);
+		Holder holder = new Holder();
+
+		assertEquals(5, field.applyAsInt(holder));
+		assertEquals(5, method.applyAsInt(holder));
+		assertFalse(Proxy.isProxyClass(field.getClass()));
+		assertFalse(Proxy.isProxyClass(method.getClass()));
+
+		// Spun with the lookup of the declaring class
+		assertSame(Holder.class.getClassLoader(), method.getClass().getClassLoader());
+	}
+
+	@Test
+	void bindsMembersOfOtherLoadersWithoutProxies() throws ReflectiveOperationException {
+		Class<?> foreign = new IsolatingLoader(Holder.class).loadClass(Holder.class.getName());
+		IntUnaryOperator triple = Members.wrap(foreign.getDeclaredMethod("triple", int.class)).bindTo(IntUnaryOperator.class);
+
+		assertEquals(12, triple.applyAsInt(4));
+		assertFalse(Proxy.isProxyClass(triple.getClass()));
+	}
+
+	static class Holder {
+
+		static final int CONSTANT = 3;
+		int value = 42;
+		private int secret = 5;
+
+		Holder() {
+			// Nothing
+		}
+
+		int twice() {
+			return value * 2;
+		}
+
+		private int secret() {
+			return secret;
+		}
+
+		private static int triple(int value) {
+			return value * 3;
+		}
+	}
+
+	/**
+	 * A class loader defining its own copy of a class, like a plugin loader would.
+	 */
+	private static class IsolatingLoader extends ClassLoader {
+
+		private final Class<?> type;
+
+		private IsolatingLoader(Class<?> type) {
+			super(type.getClassLoader());
+			this.type = type;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(type.getName())) {
+				return super.loadClass(name, resolve);
+			}
+
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded != null) {
+					return loaded;
+				}
+
+				try (InputStream input = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+					ByteArrayOutputStream output = new ByteArrayOutputStream();
+					byte[] buffer = new byte[4096];
+					for (int read; (read = input.read(buffer)) != -1;) {
+						output.write(buffer, 0, read);
+					}
+					return defineClass(name, output.toByteArray(), 0, output.size());
+				} catch (IOException exception) {
+					throw new ClassNotFoundException(name, exception);
+				}
+			}
+		}
+	}
+}
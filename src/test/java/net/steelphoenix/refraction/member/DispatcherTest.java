@@ -0,0 +1,70 @@
+package net.steelphoenix.refraction.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import net.steelphoenix.refraction.structure.IStructureModifier;
+import net.steelphoenix.refraction.structure.StructureModifier;
+
+class DispatcherTest {
+
+	@Test
+	void getsSetsAndInvokesBySlot() throws ReflectiveOperationException {
+		Dispatcher dispatcher = Dispatcher.of(Holder.class);
+		int count = dispatcher.indexOf(Holder.class.getDeclaredField("count"));
+		int name = dispatcher.indexOf(Holder.class.getDeclaredField("name"));
+		int twice = dispatcher.indexOf(Holder.class.getDeclaredMethod("twice", int.class));
+		Holder holder = new Holder();
+
+		dispatcher.set(count, holder, 21);
+		dispatcher.set(name, holder, "holder");
+		assertEquals(21, dispatcher.get(count, holder));
+		assertEquals("holder", dispatcher.get(name, holder));
+		assertEquals(42, dispatcher.invoke(twice, holder, 21));
+		assertEquals(-1, dispatcher.indexOf(Object.class.getDeclaredMethod("hashCode")));
+	}
+
+	@Test
+	void rejectsBadInstancesAndValues() throws ReflectiveOperationException {
+		Dispatcher dispatcher = Dispatcher.of(Holder.class);
+		int count = dispatcher.indexOf(Holder.class.getDeclaredField("count"));
+		int name = dispatcher.indexOf(Holder.class.getDeclaredField("name"));
+		Holder holder = new Holder();
+
+		assertThrows(IllegalArgumentException.class, () -> dispatcher.get(count, null));
+		assertThrows(IllegalArgumentException.class, () -> dispatcher.get(count, "not a holder"));
+		assertThrows(IllegalArgumentException.class, () -> dispatcher.set(count, holder, null));
+		assertThrows(IllegalArgumentException.class, () -> dispatcher.set(count, holder, "21"));
+		assertThrows(IllegalArgumentException.class, () -> dispatcher.set(name, holder, 21));
+
+		// Null is fine for reference fields
+		dispatcher.set(name, holder, null);
+		assertEquals(null, holder.name);
+	}
+
+	@Test
+	void mapsStructureModifierIndicesToSlots() throws ReflectiveOperationException {
+		Dispatcher dispatcher = Dispatcher.of(Holder.class);
+		IStructureModifier<String> names = StructureModifier.of(Holder.class).withType(String.class);
+		int slot = dispatcher.indexOf(names, 0);
+		Holder holder = new Holder();
+
+		assertEquals(dispatcher.indexOf(Holder.class.getDeclaredField("name")), slot);
+		assertNotEquals(-1, slot);
+		dispatcher.set(slot, holder, "written");
+		assertEquals("written", names.withTarget(holder).read(0));
+	}
+
+	static class Holder {
+
+		int count;
+		String name;
+
+		int twice(int value) {
+			return value * 2;
+		}
+	}
+}
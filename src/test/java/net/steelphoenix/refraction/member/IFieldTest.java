@@ -0,0 +1,113 @@
+package net.steelphoenix.refraction.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+
+class IFieldTest {
+
+	@Test
+	void defaultsFallBackToBoxedAccess() throws ReflectiveOperationException {
+		IField field = new PlainField(Holder.class.getDeclaredField("value"));
+		Holder holder = new Holder();
+
+		field.setInt(holder, 42);
+		assertEquals(42, holder.value);
+		assertEquals(42, field.getInt(holder));
+		assertSame(field, field.asDirect());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void defaultBindToUsesTheUnderlyingField() throws ReflectiveOperationException {
+		IField field = new PlainField(Holder.class.getDeclaredField("value"));
+		Holder holder = new Holder();
+		holder.value = 7;
+
+		ToIntFunction<Holder> getter = field.bindTo(ToIntFunction.class);
+		assertEquals(7, getter.applyAsInt(holder));
+	}
+
+	static class Holder {
+
+		int value;
+	}
+
+	/**
+	 * A field wrapper implementing only what the interface required before the primitive accessors were added.
+	 */
+	private static class PlainField implements IField {
+
+		private final Field field;
+
+		private PlainField(Field field) {
+			this.field = field;
+			field.setAccessible(true);
+		}
+
+		@Override
+		public Object get(Object instance) {
+			try {
+				return field.get(instance);
+			} catch (IllegalAccessException exception) {
+				throw new IllegalStateException(exception);
+			}
+		}
+
+		@Override
+		public void set(Object instance, Object value) {
+			try {
+				field.set(instance, value);
+			} catch (IllegalAccessException exception) {
+				throw new IllegalStateException(exception);
+			}
+		}
+
+		@Override
+		public Field getField() {
+			return field;
+		}
+
+		@Override
+		public IField asReadOnly() {
+			return this;
+		}
+
+		@Override
+		public Class<?> getDeclarer() {
+			return field.getDeclaringClass();
+		}
+
+		@Override
+		public String getName() {
+			return field.getName();
+		}
+
+		@Override
+		public int getModifiers() {
+			return field.getModifiers();
+		}
+
+		@Override
+		public Collection<Annotation> getAnnotations() {
+			return Arrays.asList(field.getAnnotations());
+		}
+
+		@Override
+		public <T extends Annotation> T getAnnotation(Class<T> clazz) {
+			return field.getAnnotation(clazz);
+		}
+
+		@Override
+		public boolean isSynthetic() {
+			return field.isSynthetic();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package net.steelphoenix.refraction.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+class SimpleTypeTest {
+
+	@Test
+	void returnsModifiableCopies() {
+		IType type = Members.wrap(Holder.class);
+		Collection<IField> fields = type.getFields();
+		Collection<IMethod> methods = type.getMethods();
+
+		assertEquals(2, fields.size());
+		assertTrue(fields.removeIf(IField::isStatic));
+		methods.clear();
+
+		// The cached wrappers are not affected
+		assertEquals(2, type.getFields().size());
+		assertEquals(1, type.getMethods().size());
+		assertEquals(2, Members.getFields(Holder.class).size());
+	}
+
+	static class Holder {
+
+		static int counter;
+		int value;
+
+		int value() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package net.steelphoenix.refraction.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DynamicInvokerTest {
+
+	@Test
+	void selectsMostSpecificOverload() {
+		DynamicInvoker invoker = new DynamicInvoker("describe");
+		Overloads target = new Overloads();
+
+		assertEquals("string", invoker.invoke(target, "text"));
+		assertEquals("object", invoker.invoke(target, new Object()));
+		assertEquals("Integer", invoker.invoke(target, 1));
+		assertEquals("long", invoker.invoke(target, (short) 1, 2L));
+		assertEquals("varargs 3", invoker.invoke(target, "a", "b", "c"));
+	}
+
+	@Test
+	void prefersSubtypingOverUnboxing() {
+		DynamicInvoker invoker = new DynamicInvoker("box");
+		assertEquals("Integer", invoker.invoke(new Overloads(), 1));
+	}
+
+	@Test
+	void rejectsAmbiguousAndUnknownCalls() {
+		DynamicInvoker invoker = new DynamicInvoker("describe");
+		Overloads target = new Overloads();
+
+		assertThrows(IllegalArgumentException.class, () -> invoker.invoke(target, (Object) null));
+		assertThrows(UnknownElementException.class, () -> invoker.invoke(target, 1, 2, 3.0D));
+	}
+
+	@Test
+	void invokesStaticMethods() {
+		assertEquals(3, new DynamicInvoker("max").invokeStatic(Math.class, 2, 3));
+		assertEquals(3L, new DynamicInvoker("max").invokeStatic(Math.class, 2, 3L));
+	}
+
+	@Test
+	void invokesThroughPublicSupertypes() {
+		List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+
+		assertEquals(2, new DynamicInvoker("size").invoke(Collections.unmodifiableList(list)));
+		assertEquals(true, new DynamicInvoker("hasNext").invoke(list.iterator()));
+		assertEquals(1, new DynamicInvoker("length").invoke(new StringBuilder("a")));
+	}
+
+	@Test
+	void cachesPerReceiverClass() {
+		DynamicInvoker invoker = new DynamicInvoker("size");
+		assertEquals(0, invoker.invoke(new ArrayList<>()));
+		assertEquals(0, invoker.invoke(Collections.emptyList()));
+		assertEquals(1, invoker.invoke(Collections.singletonList("a")));
+		assertEquals(0, invoker.invoke(new ArrayList<>()));
+	}
+
+	@Test
+	void forcedAccessReachesPrivateMethods() {
+		assertThrows(UnknownElementException.class, () -> new DynamicInvoker("hidden").invoke(new Overloads()));
+		assertEquals("hidden", new DynamicInvoker("hidden", true).invoke(new Overloads()));
+		assertTrue(new DynamicInvoker("hidden", true).isForceAccess());
+	}
+
+	public static class Overloads {
+
+		public String describe(Object value) {
+			return "object";
+		}
+
+		public String describe(String value) {
+			return "string";
+		}
+
+		public String describe(Integer value) {
+			return "Integer";
+		}
+
+		public String describe(int left, int right) {
+			return "int";
+		}
+
+		public String describe(int left, long right) {
+			return "long";
+		}
+
+		public String describe(String first, String... rest) {
+			return "varargs " + (rest.length + 1);
+		}
+
+		public String box(int value) {
+			return "int";
+		}
+
+		public String box(Integer value) {
+			return "Integer";
+		}
+
+		private String hidden() {
+			return "hidden";
+		}
+	}
+}
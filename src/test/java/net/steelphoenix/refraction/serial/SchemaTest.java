@@ -0,0 +1,131 @@
+package net.steelphoenix.refraction.serial;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaTest {
+
+	@Test
+	void roundTrips() {
+		Record record = new Record();
+		record.flag = true;
+		record.number = 42;
+		record.big = Long.MAX_VALUE;
+		record.ratio = 0.5D;
+		record.name = "name";
+		record.color = Color.BLUE;
+		record.boxed = 7;
+		record.bytes = new byte[] { 1, 2, 3 };
+		record.ints = new int[] { 4, 5 };
+		record.floats = new float[] { 0.25F };
+		record.chars = new char[] { 'x', 'y' };
+		record.names = new String[] { "a", null };
+		record.child = new Record();
+		record.child.name = "child";
+
+		Schema<Record> schema = Schema.of(Record.class);
+		ByteBuffer buffer = schema.encode(record, ByteBuffer.allocate(1024));
+		buffer.flip();
+		Record result = schema.decode(buffer);
+
+		assertEquals(true, result.flag);
+		assertEquals(42, result.number);
+		assertEquals(Long.MAX_VALUE, result.big);
+		assertEquals(0.5D, result.ratio);
+		assertEquals("name", result.name);
+		assertSame(Color.BLUE, result.color);
+		assertEquals(7, result.boxed);
+		assertArrayEquals(new byte[] { 1, 2, 3 }, result.bytes);
+		assertArrayEquals(new int[] { 4, 5 }, result.ints);
+		assertArrayEquals(new float[] { 0.25F }, result.floats);
+		assertArrayEquals(new char[] { 'x', 'y' }, result.chars);
+		assertArrayEquals(new String[] { "a", null }, result.names);
+		assertEquals("child", result.child.name);
+		assertNull(result.child.child);
+		assertEquals(0, buffer.remaining());
+	}
+
+	@Test
+	void rejectsOtherSchemas() {
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		buffer.putLong(Schema.of(Record.class).getHash() + 1).flip();
+
+		assertThrows(IncompatibleSchemaException.class, () -> Schema.of(Record.class).decode(buffer));
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	void rejectsTruncatedInput() {
+		Schema<Record> schema = Schema.of(Record.class);
+		Record record = new Record();
+		record.name = "name";
+		ByteBuffer buffer = schema.encode(record, ByteBuffer.allocate(1024));
+		buffer.flip();
+		buffer.limit(buffer.limit() - 3);
+
+		assertThrows(IncompatibleSchemaException.class, () -> schema.decode(buffer));
+	}
+
+	@Test
+	void rejectsCorruptLengths() {
+		assertThrows(IncompatibleSchemaException.class, () -> Schema.of(Text.class).decode(text(-1)));
+		assertThrows(IncompatibleSchemaException.class, () -> Schema.of(Text.class).decode(text(Integer.MAX_VALUE)));
+		assertThrows(IncompatibleSchemaException.class, () -> Schema.of(Ordinal.class).decode(ordinal(Color.values().length)));
+		assertThrows(IncompatibleSchemaException.class, () -> Schema.of(Ordinal.class).decode(ordinal(-1)));
+	}
+
+	private static ByteBuffer text(int length) {
+		ByteBuffer buffer = header(Text.class).put((byte) 1).putInt(length).put(new byte[8]);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static ByteBuffer ordinal(int ordinal) {
+		ByteBuffer buffer = header(Ordinal.class).put((byte) 1).putInt(ordinal);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static ByteBuffer header(Class<?> type) {
+		return ByteBuffer.allocate(64).putLong(Schema.of(type).getHash());
+	}
+
+	enum Color {
+		RED,
+		BLUE;
+	}
+
+	static class Record {
+
+		boolean flag;
+		int number;
+		long big;
+		double ratio;
+		String name;
+		Color color;
+		Integer boxed;
+		byte[] bytes;
+		int[] ints;
+		float[] floats;
+		char[] chars;
+		String[] names;
+		Record child;
+	}
+
+	static class Text {
+
+		String value;
+	}
+
+	static class Ordinal {
+
+		Color value;
+	}
+}
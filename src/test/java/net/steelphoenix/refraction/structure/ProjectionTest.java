@@ -0,0 +1,89 @@
+package net.steelphoenix.refraction.structure;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ProjectionTest {
+
+	@Test
+	void extractsColumns() {
+		Projection<Row> projection = Projection.newBuilder(Row.class).withField("id").withField("name").withField("score").build();
+		Columns columns = projection.extract(rows(3));
+
+		assertEquals(3, projection.size());
+		assertArrayEquals(new int[] { 0, 1, 2 }, (int[]) columns.getColumn(0));
+		assertArrayEquals(new Object[] { "row0", "row1", "row2" }, (Object[]) columns.getColumn(1));
+		assertArrayEquals(new long[] { 0, 1, 2 }, projection.extractLongs(0, rows(3)));
+	}
+
+	@Test
+	void writesColumnsAfterEachOther() {
+		Projection<Row> projection = Projection.newBuilder(Row.class).withField("flag").withField("id").withField("score").build();
+		ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(2);
+		projection.extract(rows(3), buffer);
+
+		// 3 flags, then 3 ints, then 3 doubles
+		assertEquals(2 + 3 + 3 * 4 + 3 * 8, buffer.position());
+		assertEquals(1, buffer.get(2 + 1));
+		assertEquals(2, buffer.getInt(2 + 3 + 2 * 4));
+		assertEquals(1.5D, buffer.getDouble(2 + 3 + 3 * 4 + 1 * 8));
+	}
+
+	@Test
+	void rejectsSmallBuffersAndReferenceColumns() {
+		Projection<Row> ints = Projection.newBuilder(Row.class).withField("id").build();
+		Projection<Row> names = Projection.newBuilder(Row.class).withField("name").build();
+
+		assertThrows(IllegalArgumentException.class, () -> ints.extract(rows(3), ByteBuffer.allocate(11)));
+		assertThrows(IllegalArgumentException.class, () -> names.extract(rows(3), ByteBuffer.allocate(64)));
+		assertThrows(IllegalArgumentException.class, () -> names.extractInts(0, rows(1)));
+	}
+
+	@Test
+	void extractsInParallel() {
+		int threshold = AbstractStructureModifier.getParallelThreshold();
+		AbstractStructureModifier.setParallelThreshold(1);
+		try {
+			Projection<Row> projection = Projection.newBuilder(Row.class).withField("id").build();
+			int[] ids = projection.extractInts(0, rows(5000));
+			ByteBuffer buffer = projection.extract(rows(5000), ByteBuffer.allocate(5000 * 4));
+
+			for (int i = 0; i < ids.length; i++) {
+				assertEquals(i, ids[i]);
+				assertEquals(i, buffer.getInt(i * 4));
+			}
+		} finally {
+			AbstractStructureModifier.setParallelThreshold(threshold);
+		}
+	}
+
+	private static List<Row> rows(int count) {
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Row row = new Row();
+			row.id = i;
+			row.name = "row" + i;
+			row.score = i * 1.5D;
+			row.flag = i % 2 == 1;
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	static class Row {
+
+		int id;
+		String name;
+		double score;
+		boolean flag;
+	}
+}
@@ -0,0 +1,158 @@
+package net.steelphoenix.refraction.structure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.steelphoenix.refraction.ClassCache;
+
+class StructureModifierTest {
+
+	@Test
+	void cursorsRebindWithoutAllocating() {
+		IStructureCursor<String> cursor = StructureModifier.of(Holder.class).withType(String.class).cursor();
+		Holder first = new Holder(1, "first");
+		Holder second = new Holder(2, "second");
+
+		assertSame(cursor, cursor.bind(first));
+		assertEquals("first", cursor.read(0));
+		assertSame(cursor, cursor.bind(second));
+		assertEquals("second", cursor.read(0));
+		cursor.write(0, "written");
+		assertEquals("written", second.name);
+		assertEquals("first", first.name);
+	}
+
+	@Test
+	void copiesAndSwapsAllFields() {
+		IStructureModifier<Object> modifier = StructureModifier.of(Holder.class);
+		Holder first = new Holder(1, "first");
+		Holder second = new Holder(2, "second");
+		Holder third = new Holder(0, null);
+
+		modifier.withTarget(first).swap(second);
+		assertEquals(2, first.count);
+		assertEquals("second", first.name);
+		assertEquals(1, second.count);
+		assertEquals("first", second.name);
+
+		modifier.withTarget(first).copyTo(third);
+		assertEquals(2, third.count);
+		assertEquals("second", third.name);
+	}
+
+	@Test
+	void bulkReadsAndWritesUseModifierIndices() {
+		IStructureModifier<Object> modifier = StructureModifier.of(Holder.class).withTarget(new Holder(1, "first"));
+		Object[] values = modifier.readAll(new Object[modifier.size()]);
+		Holder copy = new Holder(0, null);
+
+		StructureModifier.of(Holder.class).withTarget(copy).writeAll(values);
+		assertEquals(1, copy.count);
+		assertEquals("first", copy.name);
+		assertThrows(FieldAccessException.class, () -> modifier.read(modifier.size()));
+	}
+
+	@Test
+	void deltasReplayChanges() {
+		IStructureModifier<Object> modifier = StructureModifier.of(Holder.class);
+		Holder holder = new Holder(1, "first");
+		Holder replica = new Holder(1, "first");
+
+		Snapshot before = modifier.withTarget(holder).snapshot();
+		holder.count = 5;
+		Snapshot after = modifier.withTarget(holder).snapshot();
+		Delta delta = before.diff(after);
+
+		assertEquals(1, delta.size());
+		assertTrue(before.diff(before).isEmpty());
+		modifier.withTarget(replica).apply(delta);
+		assertEquals(5, replica.count);
+		assertEquals("first", replica.name);
+
+		// Snapshots of other fields cannot be compared
+		Snapshot names = StructureModifier.of(Holder.class).withType(String.class).withTarget(holder).snapshot();
+		assertThrows(IllegalArgumentException.class, () -> before.diff(names));
+	}
+
+	@Test
+	void batchesCoverEveryTarget() {
+		IStructureModifier<String> names = StructureModifier.of(Holder.class).withType(String.class);
+		List<Holder> targets = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			targets.add(new Holder(i, null));
+		}
+
+		// Force the parallel path as well
+		int threshold = AbstractStructureModifier.getParallelThreshold();
+		try {
+			for (int parallel : new int[] { threshold, 1 }) {
+				AbstractStructureModifier.setParallelThreshold(parallel);
+				names.writeEach(targets, 0, "batch" + parallel);
+
+				List<String> read = Collections.synchronizedList(new ArrayList<>());
+				names.readEach(targets, 0, read::add);
+				assertEquals(Collections.nCopies(targets.size(), "batch" + parallel), read);
+			}
+		} finally {
+			AbstractStructureModifier.setParallelThreshold(threshold);
+		}
+	}
+
+	@Test
+	void defaultMethodsOnlyNeedTheBaseMethods() {
+		// The fallback cursor only implements the abstract methods
+		IStructureCursor<Object> modifier = new ModifierCursor<>(StructureModifier.of(Holder.class));
+		Holder first = new Holder(1, "first");
+		Holder second = new Holder(2, "second");
+
+		modifier.bind(first).swap(second);
+		assertEquals(2, first.count);
+		assertEquals("first", second.name);
+		modifier.copyTo(second);
+		assertEquals("second", second.name);
+		assertEquals(Arrays.asList(2, "second"), Arrays.asList(modifier.readAll(new Object[modifier.size()])));
+
+		// Snapshots of the fallback are compatible with regular snapshots
+		Snapshot before = modifier.snapshot();
+		first.count = 7;
+		Delta delta = before.diff(StructureModifier.of(Holder.class).withTarget(first).snapshot());
+		modifier.bind(second).apply(delta);
+		assertEquals(7, second.count);
+
+		modifier.withInts().writeInt(0, 9);
+		assertEquals(9, second.count);
+		modifier.withType(String.class).writeEach(Arrays.asList(first, second), 0, "each");
+		assertEquals("each", first.name);
+	}
+
+	@Test
+	void subtypeModifiersAreInvalidatedWithTheirClassLoader() {
+		IStructureModifier<Object> modifier = StructureModifier.of(Holder.class);
+		IStructureModifier<String> names = modifier.withType(String.class);
+
+		assertSame(names, modifier.withType(String.class));
+		ClassCache.invalidateAll(String.class.getClassLoader());
+		assertNotSame(names, modifier.withType(String.class));
+	}
+
+	static class Holder {
+
+		int count;
+		String name;
+
+		Holder(int count, String name) {
+			this.count = count;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package net.steelphoenix.refraction.structure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TemplateTest {
+
+	@Test
+	void ofLeavesStaticFieldsAlone() {
+		Stateful.counter = 42;
+		Stateful.REGISTRY.put("key", "value");
+
+		Template<Stateful> template = Template.of(Stateful.class);
+		Stateful instance = template.newInstance();
+
+		assertEquals(5, Stateful.K);
+		assertEquals(42, Stateful.counter);
+		assertEquals("value", Stateful.REGISTRY.get("key"));
+		assertEquals(0, instance.value);
+		assertNotNull(instance.list);
+		assertTrue(instance.list.isEmpty());
+	}
+
+	@Test
+	void ofDoesNotShareCollections() {
+		Template<Stateful> template = Template.of(Stateful.class);
+		Stateful first = template.newInstance();
+		Stateful second = template.newInstance();
+
+		assertNotSame(first.list, second.list);
+		first.list.add("element");
+		assertTrue(second.list.isEmpty());
+	}
+
+	@Test
+	void captureSharesValues() {
+		Stateful reference = new Stateful();
+		reference.value = 7;
+		reference.list = new ArrayList<>();
+
+		Stateful instance = Template.capture(reference).newInstance();
+		assertEquals(7, instance.value);
+		assertSame(reference.list, instance.list);
+	}
+
+	@Test
+	void resetCopiesNestedValues() {
+		Outer reference = new Outer();
+		reference.inner = new Stateful();
+		reference.inner.value = 3;
+		reference.inner.list = new ArrayList<>();
+		reference.inner.list.add("element");
+		reference.values = new int[] { 1, 2, 3 };
+
+		Template<Outer> template = Template.capture(reference).withDepth(2);
+		Outer first = template.newInstance();
+		Outer second = template.reset(new Outer());
+
+		assertNotSame(reference.inner, first.inner);
+		assertNotSame(first.inner, second.inner);
+		assertNotSame(first.inner.list, second.inner.list);
+		assertNotSame(reference.values, first.values);
+		assertEquals(3, second.inner.value);
+		assertEquals(reference.inner.list, second.inner.list);
+
+		first.inner.list.add("other");
+		first.values[0] = 0;
+		assertEquals(1, reference.inner.list.size());
+		assertEquals(1, template.newInstance().values[0]);
+	}
+
+	@Test
+	void sharesObjectsWithInaccessibleFields() {
+		Opaque reference = new Opaque();
+		reference.builder = new StringBuilder("text");
+		reference.counter = new AtomicInteger(3);
+
+		Opaque instance = Template.capture(reference).withDepth(1).newInstance();
+		assertSame(reference.builder, instance.builder);
+		assertSame(reference.counter, instance.counter);
+	}
+
+	@Test
+	void sortedCopiesKeepTheirComparator() {
+		Opaque reference = new Opaque();
+		reference.sorted = new TreeMap<>(Comparator.reverseOrder());
+		reference.sorted.put("a", 1);
+		reference.sorted.put("b", 2);
+
+		Opaque instance = Template.capture(reference).withDepth(1).newInstance();
+		assertNotSame(reference.sorted, instance.sorted);
+		assertSame(reference.sorted.comparator(), instance.sorted.comparator());
+		assertEquals(Arrays.asList("b", "a"), new ArrayList<>(instance.sorted.keySet()));
+	}
+
+	static class Stateful {
+
+		static final int K = 5;
+		static final Map<String, String> REGISTRY = new HashMap<>();
+		static int counter = 42;
+		int value = 1;
+		List<String> list;
+	}
+
+	static class Opaque {
+
+		StringBuilder builder;
+		AtomicInteger counter;
+		TreeMap<String, Integer> sorted;
+	}
+
+	static class Outer {
+
+		Stateful inner;
+		int[] values;
+	}
+}
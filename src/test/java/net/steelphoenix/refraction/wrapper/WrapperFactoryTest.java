@@ -0,0 +1,92 @@
+package net.steelphoenix.refraction.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class WrapperFactoryTest {
+
+	@Test
+	void wrapsFieldsAndMethods() {
+		Target target = new Target();
+		WrappedTarget wrapper = WrapperFactory.of(WrappedTarget.class, Target.class).wrap(target);
+
+		wrapper.setCount(4);
+		assertEquals(4, wrapper.getCount());
+		assertEquals("name", wrapper.getName());
+		assertEquals(9, wrapper.add(5));
+		assertSame(target, wrapper.getHandle());
+		assertSame(Target.class, wrapper.getHandleType());
+	}
+
+	@Test
+	void runsDefaultMethodsAndIgnoresStaticMethods() {
+		WrappedTarget wrapper = WrapperFactory.of(WrappedTarget.class, Target.class).wrap(new Target());
+
+		wrapper.setCount(2);
+		assertEquals(4, wrapper.doubled());
+		assertEquals("helper", WrappedTarget.helper());
+	}
+
+	@Test
+	void cachesFactories() {
+		assertSame(WrapperFactory.of(WrappedTarget.class, Target.class), WrapperFactory.of(WrappedTarget.class, Target.class));
+	}
+
+	@Test
+	void comparesByHandle() {
+		WrapperFactory<WrappedTarget> factory = WrapperFactory.of(WrappedTarget.class, Target.class);
+		Target target = new Target();
+
+		assertEquals(factory.wrap(target), factory.wrap(target));
+		assertEquals(factory.wrap(target).hashCode(), target.hashCode());
+		assertNotEquals(factory.wrap(target), factory.wrap(new Target()));
+	}
+
+	@Test
+	void rejectsUnwrappedMethods() {
+		assertThrows(IllegalArgumentException.class, () -> WrapperFactory.of(Unwrapped.class, Target.class));
+		assertThrows(UnwrappableTypeException.class, () -> WrapperFactory.of(WrappedTarget.class, Target.class).wrap("text"));
+	}
+
+	static class Target {
+
+		private int count;
+		private final String name = "name";
+
+		private int add(int value) {
+			return count + value;
+		}
+	}
+
+	public interface WrappedTarget extends IWrapper {
+
+		@WrappedField("count")
+		public int getCount();
+
+		@WrappedField("count")
+		public void setCount(int count);
+
+		@WrappedField(index = 0)
+		public String getName();
+
+		@WrappedMethod
+		public int add(int value);
+
+		public default int doubled() {
+			return getCount() * 2;
+		}
+
+		public static String helper() {
+			return "helper";
+		}
+	}
+
+	public interface Unwrapped {
+
+		public int count();
+	}
+}